@@ -0,0 +1,74 @@
+package de.uni_mannheim.minie.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.uni_mannheim.clausie.ClausIE;
+import de.uni_mannheim.clausie.clause.Clause;
+import de.uni_mannheim.clausie.proposition.Proposition;
+
+import edu.stanford.nlp.semgraph.SemanticGraph;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/**
+ * ClausIE over the whole fixture corpus: clause detection, and proposition generation from already detected clauses.
+ * The scores are per corpus pass.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClausIEBenchmark {
+    private ObjectArrayList<SemanticGraph> graphs;
+    /** ClausIE objects with the clauses of each sentence already detected **/
+    private ObjectArrayList<ClausIE> detected;
+
+    @Setup
+    public void setup() throws IOException {
+        this.graphs = Fixtures.load().getGraphs();
+        this.detected = new ObjectArrayList<>(this.graphs.size());
+        for (SemanticGraph sg: this.graphs) {
+            ClausIE clausIE = new ClausIE();
+            clausIE.setSemanticGraph(sg);
+            clausIE.detectClauses();
+            this.detected.add(clausIE);
+        }
+    }
+
+    @Benchmark
+    public void detectClauses(Blackhole bh) {
+        for (SemanticGraph sg: this.graphs) {
+            ClausIE clausIE = new ClausIE();
+            clausIE.setSemanticGraph(sg);
+            clausIE.detectClauses();
+            bh.consume(clausIE.getClauses());
+        }
+    }
+
+    @Benchmark
+    public void generatePropositions(Blackhole bh) {
+        for (ClausIE clausIE: this.detected) {
+            // The propositions are appended to the clauses, so start from empty ones
+            for (Clause clause: clausIE.getClauses()) {
+                clause.setPropositions(new ObjectArrayList<Proposition>());
+            }
+            clausIE.generatePropositions(clausIE.getSemanticGraph());
+            bh.consume(clausIE.getClauses());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package de.uni_mannheim.minie.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import edu.stanford.nlp.semgraph.SemanticGraph;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/**
+ * Parses a text corpus (one sentence per line) with the default MinIE pipeline and writes it as a benchmark fixture
+ * (see {@link Fixtures}). E.g., to regenerate the checked-in corpus:
+ * <pre>
+ * java -cp target/benchmarks.jar de.uni_mannheim.minie.benchmarks.FixtureGenerator \
+ *     src/main/resources/fixtures/corpus.txt src/main/resources/fixtures/corpus.ser.gz
+ * </pre>
+ */
+public class FixtureGenerator {
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: FixtureGenerator <corpus.txt> <fixture.ser.gz>");
+            return;
+        }
+
+        ObjectArrayList<String> sentences = new ObjectArrayList<>();
+        for (String line: Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            if (!line.trim().isEmpty()) {
+                sentences.add(line.trim());
+            }
+        }
+
+        StanfordCoreNLP parser = CoreNLPUtils.StanfordDepNNParser();
+        ObjectArrayList<SemanticGraph> graphs = CoreNLPUtils.parse(parser, sentences);
+        Fixtures.write(sentences, graphs, Files.newOutputStream(Paths.get(args[1])));
+        System.out.println("Wrote " + sentences.size() + " parsed sentences to " + args[1]);
+    }
+}
@@ -0,0 +1,96 @@
+package de.uni_mannheim.minie.benchmarks;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import edu.stanford.nlp.semgraph.SemanticGraph;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/**
+ * The benchmark corpus: sentences together with their (pre-computed) dependency parses, so that the benchmarks do not
+ * depend on CoreNLP's speed or nondeterminism. The fixture is a gzipped Java serialization stream of:
+ * <pre>
+ * int number of sentences, then for each sentence: String sentence, SemanticGraph dependency parse
+ * </pre>
+ * and is generated from a text corpus (one sentence per line) with {@link FixtureGenerator}.
+ */
+public class Fixtures {
+    /** Class path of the checked-in fixture **/
+    public static final String CORPUS = "/fixtures/corpus.ser.gz";
+
+    private final ObjectArrayList<String> sentences;
+    private final ObjectArrayList<SemanticGraph> graphs;
+
+    private Fixtures(ObjectArrayList<String> sentences, ObjectArrayList<SemanticGraph> graphs) {
+        this.sentences = sentences;
+        this.graphs = graphs;
+    }
+
+    /** Load the checked-in corpus **/
+    public static Fixtures load() throws IOException {
+        InputStream in = Fixtures.class.getResourceAsStream(CORPUS);
+        if (in == null) {
+            throw new IOException("Fixture not found on the class path: " + CORPUS);
+        }
+        return read(in);
+    }
+
+    /**
+     * Read a fixture
+     * @param in: the fixture (closed afterwards)
+     * @return the sentences and their parses
+     * @throws IOException
+     */
+    public static Fixtures read(InputStream in) throws IOException {
+        try (ObjectInputStream oin = new ObjectInputStream(new GZIPInputStream(new BufferedInputStream(in)))) {
+            int n = oin.readInt();
+            ObjectArrayList<String> sentences = new ObjectArrayList<>(n);
+            ObjectArrayList<SemanticGraph> graphs = new ObjectArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                sentences.add((String) oin.readObject());
+                graphs.add((SemanticGraph) oin.readObject());
+            }
+            return new Fixtures(sentences, graphs);
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Write a fixture
+     * @param sentences: the sentences
+     * @param graphs: the dependency parse of each sentence
+     * @param out: where to write (closed afterwards)
+     * @throws IOException
+     */
+    public static void write(List<String> sentences, List<SemanticGraph> graphs, OutputStream out) throws IOException {
+        try (ObjectOutputStream oout = new ObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(out)))) {
+            oout.writeInt(sentences.size());
+            for (int i = 0; i < sentences.size(); i++) {
+                oout.writeObject(sentences.get(i));
+                oout.writeObject(graphs.get(i));
+            }
+        }
+    }
+
+    public ObjectArrayList<String> getSentences() {
+        return this.sentences;
+    }
+
+    public ObjectArrayList<SemanticGraph> getGraphs() {
+        return this.graphs;
+    }
+
+    public int size() {
+        return this.sentences.size();
+    }
+}
@@ -0,0 +1,57 @@
+package de.uni_mannheim.minie.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.uni_mannheim.minie.MinIE;
+import de.uni_mannheim.utils.Dictionary;
+
+/**
+ * MinIE (ClausIE, implicit extractions, attribution, polarity, modality, minimization and duplicate removal) over the
+ * whole fixture corpus, in each mode. COMPLETE does not minimize, so the cost of the minimization in a mode is its
+ * score minus the score of COMPLETE. The scores are per corpus pass.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinIEBenchmark {
+    /** Dictionary used in dictionary mode **/
+    public static final String DICTIONARY = "/minie-resources/wn-mwe.txt";
+
+    @Param({"SAFE", "DICTIONARY", "AGGRESSIVE", "COMPLETE"})
+    public MinIE.Mode mode;
+
+    private Fixtures fixtures;
+    private Dictionary dictionary;
+
+    @Setup
+    public void setup() throws IOException {
+        this.fixtures = Fixtures.load();
+        this.dictionary = new Dictionary(DICTIONARY);
+    }
+
+    @Benchmark
+    public void minimize(Blackhole bh) {
+        for (int i = 0; i < this.fixtures.size(); i++) {
+            MinIE minie = new MinIE(this.fixtures.getSentences().get(i), this.fixtures.getGraphs().get(i), this.mode,
+                    this.dictionary);
+            bh.consume(minie.getPropositions());
+        }
+    }
+}
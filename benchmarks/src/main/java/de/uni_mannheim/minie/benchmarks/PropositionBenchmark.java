@@ -0,0 +1,121 @@
+package de.uni_mannheim.minie.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.uni_mannheim.clausie.ClausIE;
+import de.uni_mannheim.minie.MinIE;
+import de.uni_mannheim.minie.annotation.AnnotatedPhrase;
+import de.uni_mannheim.minie.annotation.AnnotatedProposition;
+import de.uni_mannheim.minie.proposition.ImplicitExtractions;
+import de.uni_mannheim.minie.subconstituent.SubConstituent;
+import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+import de.uni_mannheim.utils.minie.Utils;
+
+import edu.stanford.nlp.ling.IndexedWord;
+import edu.stanford.nlp.semgraph.SemanticGraph;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/**
+ * The proposition-level hot paths over the fixture corpus: implicit extractions, sub-constituent generation (as done
+ * by the minimization for each multi-word subject and object), duplicate removal and proposition formatting. The
+ * scores are per corpus pass.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropositionBenchmark {
+    private ObjectArrayList<SemanticGraph> graphs;
+    /** The propositions of each sentence, annotated and minimized (safe mode), before the duplicates are removed **/
+    private ObjectArrayList<ObjectArrayList<AnnotatedProposition>> propositions;
+    /** The multi-word subjects and objects of the propositions, with the graph of their sentence **/
+    private ObjectArrayList<SemanticGraph> phraseGraphs;
+    private ObjectArrayList<ObjectArrayList<IndexedWord>> phraseWords;
+
+    @Setup
+    public void setup() throws IOException {
+        this.graphs = Fixtures.load().getGraphs();
+        this.propositions = new ObjectArrayList<>(this.graphs.size());
+        this.phraseGraphs = new ObjectArrayList<>();
+        this.phraseWords = new ObjectArrayList<>();
+        for (SemanticGraph sg: this.graphs) {
+            ClausIE clausIE = new ClausIE();
+            clausIE.setSemanticGraph(sg);
+            clausIE.detectClauses();
+            clausIE.generatePropositions(sg);
+
+            MinIE minie = new MinIE();
+            minie.setSemanticGraph(sg);
+            minie.setPropositions(clausIE);
+            minie.setPolarity();
+            minie.setModality();
+            minie.minimizeSafeMode();
+            this.propositions.add(minie.getPropositions());
+
+            for (AnnotatedProposition proposition: minie.getPropositions()) {
+                for (AnnotatedPhrase phrase: new AnnotatedPhrase[] {proposition.getSubject(), proposition.getObject()}) {
+                    if (phrase != null && phrase.getWordList().size() > 1) {
+                        this.phraseGraphs.add(sg);
+                        this.phraseWords.add(phrase.getWordList().clone());
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void implicitExtractions(Blackhole bh) {
+        for (SemanticGraph sg: this.graphs) {
+            ImplicitExtractions extractions = new ImplicitExtractions(
+                    new ObjectArrayList<IndexedWord>(sg.vertexListSorted()), sg);
+            extractions.generateImplicitExtractions();
+            bh.consume(extractions.getImplicitExtractions());
+        }
+    }
+
+    @Benchmark
+    public void generateSubConstituentsFromLeft(Blackhole bh) {
+        for (int i = 0; i < this.phraseWords.size(); i++) {
+            SemanticGraph sg = this.phraseGraphs.get(i);
+            ObjectArrayList<IndexedWord> words = this.phraseWords.get(i);
+            SubConstituent sc = new SubConstituent(sg, CoreNLPUtils.getRootFromWordList(sg, words), words);
+            sc.generateSubConstituentsFromLeft();
+            bh.consume(sc.getStringSubConstituents());
+        }
+    }
+
+    @Benchmark
+    public void removeDuplicates(Blackhole bh) {
+        for (ObjectArrayList<AnnotatedProposition> props: this.propositions) {
+            // removeDuplicates() compacts the list in place, so work on a copy
+            MinIE minie = new MinIE(props.clone());
+            minie.removeDuplicates();
+            bh.consume(minie.getPropositions());
+        }
+    }
+
+    @Benchmark
+    public void formatProposition(Blackhole bh) {
+        for (ObjectArrayList<AnnotatedProposition> props: this.propositions) {
+            for (AnnotatedProposition proposition: props) {
+                bh.consume(Utils.formatProposition(proposition));
+            }
+        }
+    }
+}
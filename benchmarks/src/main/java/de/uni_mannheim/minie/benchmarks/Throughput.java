@@ -0,0 +1,354 @@
+package de.uni_mannheim.minie.benchmarks;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import de.uni_mannheim.minie.MinIE;
+import de.uni_mannheim.minie.annotation.AnnotatedProposition;
+import de.uni_mannheim.minie.metrics.Histogram;
+import de.uni_mannheim.utils.Dictionary;
+import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+import de.uni_mannheim.utils.minie.Utils;
+
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import edu.stanford.nlp.semgraph.SemanticGraph;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+
+/**
+ * End-to-end throughput benchmark and output regression check. Runs MinIE over the fixture corpus (see
+ * {@link Fixtures}) in each mode and reports, per mode: sentences per second, the p50/p99/max latency per sentence,
+ * the bytes allocated per sentence and the peak heap. The latency covers everything from the dependency parse to the
+ * deduplicated propositions: by default the parses are the pre-computed ones of the fixture; with --parse each sentence
+ * is parsed again with the default MinIE pipeline, and the parse is timed as well.
+ *
+ * The propositions of each mode are compared with the golden outputs (one file per mode, see --golden), so that an
+ * optimization which changes the extractions fails the run. The report is written as JSON (see --report), and the
+ * process exits with status 1 if any output differs from its golden. To accept intended changes of the extractions,
+ * rewrite the goldens with --update-golden. From Maven: "mvn -P throughput verify" in the benchmarks directory.
+ */
+public class Throughput {
+    /** Differences printed per mode (the report holds the total) **/
+    private static final int MAX_PRINTED_DIFFS = 5;
+
+    private final Fixtures fixtures;
+    private final Dictionary dictionary;
+    /** If not null, the sentences are parsed again with it **/
+    private final StanfordCoreNLP parser;
+    private final int warmup;
+    private final int iterations;
+
+    public Throughput(Fixtures fixtures, Dictionary dictionary, StanfordCoreNLP parser, int warmup, int iterations) {
+        this.fixtures = fixtures;
+        this.dictionary = dictionary;
+        this.parser = parser;
+        this.warmup = warmup;
+        this.iterations = iterations;
+    }
+
+    /** The result of one mode **/
+    public static class Result {
+        public final MinIE.Mode mode;
+        public final Histogram latency = new Histogram();
+        public long elapsedNanos;
+        public long allocatedBytes;
+        public long peakHeapBytes;
+        /** The output of one corpus pass: the formatted propositions of each sentence **/
+        public ObjectArrayList<String> output;
+        public int propositions;
+        public int mismatches = -1;
+
+        public Result(MinIE.Mode mode) {
+            this.mode = mode;
+        }
+
+        public double getSentencesPerSecond() {
+            return this.elapsedNanos == 0 ? 0 : this.latency.getCount() * 1e9 / this.elapsedNanos;
+        }
+
+        public long getAllocatedBytesPerSentence() {
+            return this.allocatedBytes < 0 || this.latency.getCount() == 0
+                    ? -1 : this.allocatedBytes / this.latency.getCount();
+        }
+    }
+
+    /**
+     * Run the corpus in a mode: the warm-up passes, then the measured ones
+     * @param mode: the minimization mode
+     * @return the measurements and the output of the last pass
+     */
+    public Result run(MinIE.Mode mode) {
+        Result result = new Result(mode);
+        for (int i = 0; i < this.warmup; i++) {
+            this.pass(mode, null);
+        }
+
+        System.gc();
+        List<MemoryPoolMXBean> heap = heapPools();
+        for (MemoryPoolMXBean pool: heap) {
+            pool.resetPeakUsage();
+        }
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < this.iterations; i++) {
+            result.output = this.pass(mode, result.latency);
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        result.allocatedBytes = allocated < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocated;
+        for (MemoryPoolMXBean pool: heap) {
+            result.peakHeapBytes += pool.getPeakUsage().getUsed();
+        }
+
+        if (result.output != null) {
+            for (String sentence: result.output) {
+                result.propositions += countPropositions(sentence);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * One pass over the corpus
+     * @param mode: the minimization mode
+     * @param latency: where to record the latency of each sentence (null for none)
+     * @return the output of each sentence (see {@link #format(String, MinIE)})
+     */
+    private ObjectArrayList<String> pass(MinIE.Mode mode, Histogram latency) {
+        ObjectArrayList<String> output = new ObjectArrayList<>(this.fixtures.size());
+        for (int i = 0; i < this.fixtures.size(); i++) {
+            String sentence = this.fixtures.getSentences().get(i);
+            long start = System.nanoTime();
+            SemanticGraph sg = this.parser == null
+                    ? this.fixtures.getGraphs().get(i) : CoreNLPUtils.parse(this.parser, sentence);
+            MinIE minie = new MinIE(sentence, sg, mode, this.dictionary);
+            if (latency != null) {
+                latency.record(System.nanoTime() - start);
+            }
+            output.add(format(sentence, minie));
+        }
+        return output;
+    }
+
+    /** The golden form of a sentence: the sentence, then one indented line per proposition **/
+    private static String format(String sentence, MinIE minie) {
+        StringBuilder sb = new StringBuilder(sentence).append('\n');
+        for (AnnotatedProposition ap: minie.getPropositions()) {
+            sb.append("  ").append(Utils.formatProposition(ap)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static int countPropositions(String sentence) {
+        int n = 0;
+        for (int i = sentence.indexOf("\n  "); i >= 0; i = sentence.indexOf("\n  ", i + 1)) {
+            n++;
+        }
+        return n;
+    }
+
+    /** The golden file of a mode **/
+    public static Path goldenFile(Path dir, MinIE.Mode mode) {
+        return dir.resolve(mode.name().toLowerCase(Locale.ROOT) + ".txt");
+    }
+
+    /**
+     * Compare the output of a mode with its golden; the differing sentences are printed to stderr
+     * @param result: the result of the mode (its mismatches are set)
+     * @param golden: the golden file
+     * @throws IOException
+     */
+    public static void compare(Result result, Path golden) throws IOException {
+        if (!Files.exists(golden)) {
+            System.err.println(result.mode + ": no golden output " + golden + " (create it with --update-golden)");
+            result.mismatches = result.output.size();
+            return;
+        }
+        ObjectArrayList<String> expected = readGolden(golden);
+        result.mismatches = Math.abs(expected.size() - result.output.size());
+        for (int i = 0; i < Math.min(expected.size(), result.output.size()); i++) {
+            if (expected.get(i).equals(result.output.get(i)))
+                continue;
+            if (result.mismatches < MAX_PRINTED_DIFFS) {
+                System.err.print(result.mode + ": output differs from " + golden + "\n--- expected\n"
+                        + expected.get(i) + "+++ actual\n" + result.output.get(i));
+            }
+            result.mismatches++;
+        }
+        if (expected.size() != result.output.size()) {
+            System.err.println(result.mode + ": " + expected.size() + " sentences in " + golden + ", "
+                    + result.output.size() + " in the corpus");
+        }
+    }
+
+    /** The golden file holds the outputs of the sentences one after the other (see {@link #format(String, MinIE)}) **/
+    private static ObjectArrayList<String> readGolden(Path golden) throws IOException {
+        ObjectArrayList<String> sentences = new ObjectArrayList<>();
+        StringBuilder sb = null;
+        for (String line: Files.readAllLines(golden, StandardCharsets.UTF_8)) {
+            if (!line.startsWith("  ")) {
+                if (sb != null)
+                    sentences.add(sb.toString());
+                sb = new StringBuilder();
+            }
+            sb.append(line).append('\n');
+        }
+        if (sb != null)
+            sentences.add(sb.toString());
+        return sentences;
+    }
+
+    private static void writeGolden(Result result, Path golden) throws IOException {
+        Files.createDirectories(golden.toAbsolutePath().getParent());
+        Files.write(golden, String.join("", result.output).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> heap = new ObjectArrayList<>();
+        for (MemoryPoolMXBean pool: ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP)
+                heap.add(pool);
+        }
+        return heap;
+    }
+
+    /** Bytes allocated so far by the current thread, or -1 if the JVM does not tell **/
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /** The machine-readable report of a run **/
+    private static Map<String, Object> report(List<Result> results, boolean parse, int corpus, int iterations) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("java", System.getProperty("java.version"));
+        report.put("processors", Runtime.getRuntime().availableProcessors());
+        report.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        report.put("sentences", corpus);
+        report.put("iterations", iterations);
+        report.put("parse", parse);
+        boolean passed = true;
+        Map<String, Object> modes = new LinkedHashMap<>();
+        for (Result result: results) {
+            Map<String, Object> mode = new LinkedHashMap<>();
+            mode.put("sentencesPerSecond", Math.round(result.getSentencesPerSecond() * 100) / 100.0);
+            mode.put("latencyMeanMillis", result.latency.getMean() / 1e6);
+            mode.put("latencyP50Millis", result.latency.getQuantile(0.5) / 1e6);
+            mode.put("latencyP99Millis", result.latency.getQuantile(0.99) / 1e6);
+            mode.put("latencyMaxMillis", result.latency.getMax() / 1e6);
+            mode.put("allocatedBytesPerSentence", result.getAllocatedBytesPerSentence());
+            mode.put("peakHeapBytes", result.peakHeapBytes);
+            mode.put("propositions", result.propositions);
+            mode.put("goldenMismatches", result.mismatches);
+            modes.put(result.mode.name(), mode);
+            passed &= result.mismatches == 0;
+        }
+        report.put("modes", modes);
+        report.put("passed", passed);
+        return report;
+    }
+
+    public static void main(String[] args) throws IOException {
+        OptionParser optionParser = initOptionParser();
+        OptionSet options = optionParser.parse(args);
+        if (options.has("h")) {
+            optionParser.printHelpOn(System.out);
+            return;
+        }
+
+        Fixtures fixtures = Fixtures.load();
+        Dictionary dictionary = new Dictionary(MinIEBenchmark.DICTIONARY);
+        boolean parse = options.has("parse");
+        StanfordCoreNLP parser = parse ? CoreNLPUtils.StanfordDepNNParser() : null;
+        int iterations = (Integer) options.valueOf("iterations");
+        Throughput throughput = new Throughput(fixtures, dictionary, parser, (Integer) options.valueOf("warmup"),
+                iterations);
+        Path goldenDir = Paths.get((String) options.valueOf("golden"));
+
+        ObjectArrayList<Result> results = new ObjectArrayList<>();
+        for (MinIE.Mode mode: MinIE.Mode.values()) {
+            Result result = throughput.run(mode);
+            if (options.has("update-golden")) {
+                writeGolden(result, goldenFile(goldenDir, mode));
+                result.mismatches = 0;
+            } else {
+                compare(result, goldenFile(goldenDir, mode));
+            }
+            results.add(result);
+            System.out.println(String.format(Locale.ROOT, "%-10s %8.1f sentences/s  p50 %8.3f ms  p99 %8.3f ms  "
+                    + "max %8.3f ms  %9d B/sentence  peak heap %5d MB  %4d propositions  %s", mode,
+                    result.getSentencesPerSecond(), result.latency.getQuantile(0.5) / 1e6,
+                    result.latency.getQuantile(0.99) / 1e6, result.latency.getMax() / 1e6,
+                    result.getAllocatedBytesPerSentence(), result.peakHeapBytes >> 20, result.propositions,
+                    result.mismatches == 0 ? "OK" : result.mismatches + " sentences differ from the golden output"));
+        }
+
+        Map<String, Object> report = report(results, parse, fixtures.size(), iterations);
+        if (options.has("report")) {
+            Path path = Paths.get((String) options.valueOf("report"));
+            if (path.toAbsolutePath().getParent() != null)
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+            System.out.println("Report written to " + path);
+        }
+        if (!(Boolean) report.get("passed")) {
+            System.err.println("The extractions differ from the golden outputs in " + goldenDir);
+            System.exit(1);
+        }
+    }
+
+    private static OptionParser initOptionParser() {
+        OptionParser optionParser = new OptionParser();
+        optionParser
+                .accepts("golden", "directory of the golden outputs (one file per mode); defaults to \"src/main/resources/golden\"")
+                .withRequiredArg()
+                .describedAs("directory")
+                .ofType(String.class)
+                .defaultsTo("src/main/resources/golden");
+        optionParser
+                .accepts("update-golden", "if set, the outputs are written as the new golden outputs instead of being compared");
+        optionParser
+                .accepts("report", "file where the JSON report is written")
+                .withRequiredArg()
+                .describedAs("file")
+                .ofType(String.class);
+        optionParser
+                .accepts("parse", "if set, each sentence is parsed again (and the parse is timed) instead of using the pre-computed parses");
+        optionParser
+                .accepts("warmup", "number of unmeasured passes over the corpus per mode; defaults to 3")
+                .withRequiredArg()
+                .describedAs("passes")
+                .ofType(Integer.class)
+                .defaultsTo(3);
+        optionParser
+                .accepts("iterations", "number of measured passes over the corpus per mode; defaults to 5")
+                .withRequiredArg()
+                .describedAs("passes")
+                .ofType(Integer.class)
+                .defaultsTo(5);
+        optionParser
+                .accepts("h", "show help");
+        return optionParser;
+    }
+}
@@ -42,8 +42,10 @@ public class ClausIE {
         this.options = options;
     }
 
+    /** Uses a copy of the shared default options (see {@link Options#getDefault()}), which can be modified through
+     *  {@link #getOptions()} without affecting other instances */
     public ClausIE() {
-        this(new Options());
+        this(new Options(Options.getDefault()));
     }
 
     // -- misc method
@@ -63,6 +63,14 @@ public class Options {
 	
 	//helpds
 	
+	/** Set for the shared default options; frozen options are never modified */
+	private boolean frozen = false;
+	
+	/** Lazily loaded default options (clausie.conf), shared by all ClausIE instances */
+	private static class DefaultOptionsHolder {
+		private static final Options DEFAULT = new Options().freeze();
+	}
+	
 	/**Constructs the set of options out of a conf file (clausie.conf)*/
 	public Options() {
 		try {
@@ -74,6 +82,59 @@ public class Options {
 			throw new RuntimeException(e);
 		}
 	}
+	
+	/**Constructs a (non-frozen) copy of the given options. The dictionaries are shared with the original, so they 
+	 * should be replaced rather than modified in place.*/
+	public Options(Options other) {
+		dictCopular = other.dictCopular;
+		dictExtCopular = other.dictExtCopular;
+		dictNotExtCopular = other.dictNotExtCopular;
+		dictComplexTransitive = other.dictComplexTransitive;
+		dictAdverbsConj = other.dictAdverbsConj;
+		dictAdverbsIgnore = other.dictAdverbsIgnore;
+		dictAdverbsInclude = other.dictAdverbsInclude;
+		conservativeSVA = other.conservativeSVA;
+		conservativeSVOA = other.conservativeSVOA;
+		processCcAllVerbs = other.processCcAllVerbs;
+		processCcNonVerbs = other.processCcNonVerbs;
+		processAppositions = other.processAppositions;
+		processPossessives = other.processPossessives;
+		processPartmods = other.processPartmods;
+		nary = other.nary;
+		minOptionalArgs = other.minOptionalArgs;
+		maxOptionalArgs = other.maxOptionalArgs;
+		lemmatize = other.lemmatize;
+		appositionVerb = other.appositionVerb;
+		possessiveVerb = other.possessiveVerb;
+	}
+	
+	/**Returns the default options (loaded out of clausie.conf only once). The returned instance is shared and 
+	 * frozen, and its fields must not be assigned: use {@link #withOverrides(Properties)} or {@link #Options(Options)} 
+	 * to obtain modified options. ClausIE and MinIE instances created without options use such a copy.*/
+	public static Options getDefault() {
+		return DefaultOptionsHolder.DEFAULT;
+	}
+	
+	/**Marks the options as frozen (read-only) and returns them*/
+	public Options freeze() {
+		frozen = true;
+		return this;
+	}
+	
+	/**Checks if these options are frozen*/
+	public boolean isFrozen() {
+		return frozen;
+	}
+	
+	/**Returns a copy of these options in which the given properties (same keys as in clausie.conf) are overridden. 
+	 * Options which are not given are shared with this instance, which is not modified.*/
+	public Options withOverrides(Properties overrides) throws IOException {
+		Options options = new Options(this);
+		Properties prop = new Properties();
+		prop.putAll(overrides);
+		options.applyProperties(prop, false);
+		return options;
+	}
 
 	/**Constructs the set of options out of a conf file (fileOrResourceName)*/
 	public Options(String fileOrResourceName) throws IOException {
@@ -99,30 +160,58 @@ public class Options {
 	public void setOptions(InputStream optionsStream) throws IOException {
 		Properties prop = new Properties();
 		prop.load(optionsStream);
+		applyProperties(prop, true);
+	}
+	
+	/** Sets the options found in prop; if required is set, all the options must be present */
+	private void applyProperties(Properties prop, boolean required) throws IOException {
+		if (frozen) {
+			throw new UnsupportedOperationException("Options are frozen; use withOverrides() to modify a copy");
+		}
 		
 		// load the required options
-		conservativeSVA = Boolean.parseBoolean(getProperty(prop, "conservativeSVA"));
-		conservativeSVOA = Boolean.parseBoolean(getProperty(prop, "conservativeSVOA"));
-		processCcAllVerbs = Boolean.parseBoolean(getProperty(prop, "processCcAllVerbs"));
-		processCcNonVerbs = Boolean.parseBoolean(getProperty(prop, "processCcNonVerbs"));
-		processAppositions = Boolean.parseBoolean(getProperty(prop, "processAppositions"));
-		appositionVerb = getProperty(prop, "appositionVerb");
-		processPossessives = Boolean.parseBoolean(getProperty(prop, "processPossessives"));
-		possessiveVerb = getProperty(prop, "possessiveVerb");
-		processPartmods = Boolean.parseBoolean(getProperty(prop, "processPartmods"));
-		lemmatize = Boolean.parseBoolean(getProperty(prop, "lemmatize"));
-		nary = Boolean.parseBoolean(getProperty(prop, "nary"));
-		minOptionalArgs = Integer.parseInt(getProperty(prop, "minOptionalArgs"));
-		maxOptionalArgs = Integer.parseInt(getProperty(prop, "maxOptionalArgs"));
+		if (required || prop.containsKey("conservativeSVA"))
+			conservativeSVA = Boolean.parseBoolean(getProperty(prop, "conservativeSVA"));
+		if (required || prop.containsKey("conservativeSVOA"))
+			conservativeSVOA = Boolean.parseBoolean(getProperty(prop, "conservativeSVOA"));
+		if (required || prop.containsKey("processCcAllVerbs"))
+			processCcAllVerbs = Boolean.parseBoolean(getProperty(prop, "processCcAllVerbs"));
+		if (required || prop.containsKey("processCcNonVerbs"))
+			processCcNonVerbs = Boolean.parseBoolean(getProperty(prop, "processCcNonVerbs"));
+		if (required || prop.containsKey("processAppositions"))
+			processAppositions = Boolean.parseBoolean(getProperty(prop, "processAppositions"));
+		if (required || prop.containsKey("appositionVerb"))
+			appositionVerb = getProperty(prop, "appositionVerb");
+		if (required || prop.containsKey("processPossessives"))
+			processPossessives = Boolean.parseBoolean(getProperty(prop, "processPossessives"));
+		if (required || prop.containsKey("possessiveVerb"))
+			possessiveVerb = getProperty(prop, "possessiveVerb");
+		if (required || prop.containsKey("processPartmods"))
+			processPartmods = Boolean.parseBoolean(getProperty(prop, "processPartmods"));
+		if (required || prop.containsKey("lemmatize"))
+			lemmatize = Boolean.parseBoolean(getProperty(prop, "lemmatize"));
+		if (required || prop.containsKey("nary"))
+			nary = Boolean.parseBoolean(getProperty(prop, "nary"));
+		if (required || prop.containsKey("minOptionalArgs"))
+			minOptionalArgs = Integer.parseInt(getProperty(prop, "minOptionalArgs"));
+		if (required || prop.containsKey("maxOptionalArgs"))
+			maxOptionalArgs = Integer.parseInt(getProperty(prop, "maxOptionalArgs"));
 		
 		// get dictionaries
-		dictCopular = getDictionary(prop, "dictCopular");
-		dictExtCopular = getDictionary(prop, "dictExtCopular");
-		dictNotExtCopular = getDictionary(prop, "dictNotExtCopular");
-		dictComplexTransitive = getDictionary(prop, "dictComplexTransitive");
-		dictAdverbsConj = getDictionary(prop, "dictAdverbsConj");
-		dictAdverbsIgnore = getDictionary(prop, "dictAdverbsIgnore");
-		dictAdverbsInclude = getDictionary(prop, "dictAdverbsInclude");
+		if (required || prop.containsKey("dictCopular"))
+			dictCopular = getDictionary(prop, "dictCopular");
+		if (required || prop.containsKey("dictExtCopular"))
+			dictExtCopular = getDictionary(prop, "dictExtCopular");
+		if (required || prop.containsKey("dictNotExtCopular"))
+			dictNotExtCopular = getDictionary(prop, "dictNotExtCopular");
+		if (required || prop.containsKey("dictComplexTransitive"))
+			dictComplexTransitive = getDictionary(prop, "dictComplexTransitive");
+		if (required || prop.containsKey("dictAdverbsConj"))
+			dictAdverbsConj = getDictionary(prop, "dictAdverbsConj");
+		if (required || prop.containsKey("dictAdverbsIgnore"))
+			dictAdverbsIgnore = getDictionary(prop, "dictAdverbsIgnore");
+		if (required || prop.containsKey("dictAdverbsInclude"))
+			dictAdverbsInclude = getDictionary(prop, "dictAdverbsInclude");
 		
 		// check for unused properties
 		if (!prop.isEmpty()) {
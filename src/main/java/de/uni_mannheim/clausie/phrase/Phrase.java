@@ -31,6 +31,65 @@ public class Phrase {
     protected IndexedWord root;
     /** List of typed dependencies for the phrase **/
     protected ObjectArrayList<TypedDependency> tds;
+    /** Cached string views of the words/lemmas of the phrase (see {@link CachedWords}) **/
+    private CachedWords cachedWords;
+    private CachedWords cachedWordsLowercase;
+    private CachedWords cachedLemmas;
+    private CachedWords cachedLemmasLowercase;
+    
+    /** 
+     * A string built from the word list, memoized together with the words (and the word/lemma strings) it was built 
+     * from. The word list is handed out by getWordList() and the words themselves are mutable (e.g. setWord()), so 
+     * instead of relying on invalidation the cache is validated on each access with reference comparisons only: it is 
+     * rebuilt if the list or any of its words (or their strings) changed since.
+     **/
+    private static final class CachedWords {
+        private final IndexedWord [] words;
+        private final String [] parts;
+        private final boolean lemmas;
+        private final String value;
+        private long hash;
+        private boolean hashed = false;
+        
+        private CachedWords(ObjectArrayList<IndexedWord> wordList, boolean lemmas, boolean lowercase) {
+            this.words = wordList.toArray(new IndexedWord[wordList.size()]);
+            this.parts = new String[this.words.length];
+            this.lemmas = lemmas;
+            StringBuilder sbWords = new StringBuilder();
+            for (int i = 0; i < this.words.length; i++) {
+                this.parts[i] = lemmas ? this.words[i].lemma() : this.words[i].word();
+                String part = String.valueOf(this.parts[i]);
+                sbWords.append(lowercase ? part.toLowerCase() : part);
+                sbWords.append(SEPARATOR.SPACE);
+            }
+            this.value = sbWords.toString().trim();
+        }
+        
+        private boolean isValidFor(ObjectArrayList<IndexedWord> wordList) {
+            if (wordList.size() != this.words.length)
+                return false;
+            for (int i = 0; i < this.words.length; i++) {
+                IndexedWord w = wordList.get(i);
+                if (w != this.words[i] || (this.lemmas ? w.lemma() : w.word()) != this.parts[i])
+                    return false;
+            }
+            return true;
+        }
+        
+        /** 64-bit FNV-1a hash of the string **/
+        private long getHash() {
+            if (!this.hashed) {
+                long h = 0xcbf29ce484222325L;
+                for (int i = 0; i < this.value.length(); i++) {
+                    h ^= this.value.charAt(i);
+                    h *= 0x100000001b3L;
+                }
+                this.hash = h;
+                this.hashed = true;
+            }
+            return this.hash;
+        }
+    }
     
     /** Constructors **/
     public Phrase(){
@@ -253,14 +312,15 @@ public class Phrase {
      * @return a string in the format: word1 word2 ... wordn
      */
     public String getWords(){
-        StringBuffer sbWords = new StringBuffer();
-        
-        for (IndexedWord word: this.wordList){
-            sbWords.append(word.word());
-            sbWords.append(SEPARATOR.SPACE);            
-        }
-        
-        return sbWords.toString().trim();
+        return this.getCachedWords().value;
+    }
+    
+    /**
+     * Return a 64-bit hash of the words of the phrase (i.e. of the string returned by getWords())
+     * @return hash of the phrase's words
+     */
+    public long getWordsHash(){
+        return this.getCachedWords().getHash();
     }
     
     /**
@@ -269,14 +329,19 @@ public class Phrase {
      * @return a string in the format: word1 word2 ... wordn
      */
     public String getWordsLowercase(){
-        StringBuffer sbWords = new StringBuffer();
-        
-        for (IndexedWord word: this.wordList){
-            sbWords.append(word.word().toLowerCase());
-            sbWords.append(SEPARATOR.SPACE);            
-        }
-        
-        return sbWords.toString().trim();
+        if (this.cachedWordsLowercase == null || !this.cachedWordsLowercase.isValidFor(this.wordList))
+            this.cachedWordsLowercase = new CachedWords(this.wordList, false, true);
+        return this.cachedWordsLowercase.value;
+    }
+    
+    /**
+     * Return a string of lemmas, containing the phrase, in the following format: lemma1 lemma2 ... lemman
+     * @return a string in the format: lemma1 lemma2 ... lemman
+     */
+    public String getWordsLemma(){
+        if (this.cachedLemmas == null || !this.cachedLemmas.isValidFor(this.wordList))
+            this.cachedLemmas = new CachedWords(this.wordList, true, false);
+        return this.cachedLemmas.value;
     }
     
     /**
@@ -285,14 +350,27 @@ public class Phrase {
      * @return a string in the format: lemma1 lemma2 ... lemman
      */
     public String getWordsLemmaLowercase(){
-        StringBuffer sbWords = new StringBuffer();
-        
-        for (IndexedWord word: this.wordList){
-            sbWords.append(word.lemma().toLowerCase());
-            sbWords.append(SEPARATOR.SPACE);            
-        }
-        
-        return sbWords.toString().trim();
+        return this.getCachedLemmasLowercase().value;
+    }
+    
+    /**
+     * Return a 64-bit hash of the lowercased lemmas of the phrase (i.e. of the string returned by getWordsLemmaLowercase())
+     * @return hash of the phrase's lowercased lemmas
+     */
+    public long getWordsLemmaLowercaseHash(){
+        return this.getCachedLemmasLowercase().getHash();
+    }
+    
+    private CachedWords getCachedWords(){
+        if (this.cachedWords == null || !this.cachedWords.isValidFor(this.wordList))
+            this.cachedWords = new CachedWords(this.wordList, false, false);
+        return this.cachedWords;
+    }
+    
+    private CachedWords getCachedLemmasLowercase(){
+        if (this.cachedLemmasLowercase == null || !this.cachedLemmasLowercase.isValidFor(this.wordList))
+            this.cachedLemmasLowercase = new CachedWords(this.wordList, true, true);
+        return this.cachedLemmasLowercase;
     }
     
     /**
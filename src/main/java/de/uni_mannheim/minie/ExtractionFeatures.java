@@ -0,0 +1,149 @@
+package de.uni_mannheim.minie;
+
+import java.util.Collection;
+import java.util.EnumSet;
+
+/**
+ * The optional annotation stages of MinIE, which can be switched off when only the bare triples are needed. A disabled
+ * stage is skipped altogether (no pattern matching, dictionary look-ups or graph copies):
+ * <ul>
+ *     <li>implicit extractions: the propositions from the patterns of ImplicitExtractions (e.g. "X, CEO of Y")</li>
+ *     <li>attribution: the propositions inside attributions (e.g. "he said that ...") are not extracted again (with
+ *     a nested ClausIE run) and annotated with the attribution; the proposition with the attribution is kept</li>
+ *     <li>polarity: no polarity (all positive), and the negations stay in the relations</li>
+ *     <li>modality: no modality (all certainty), and the modal words stay in the relations</li>
+ *     <li>quantities: the quantities in the phrases are not replaced with QUANTITY placeholders</li>
+ * </ul>
+ * The features are immutable and can be shared between threads.
+ */
+public final class ExtractionFeatures {
+    /** The optional annotation stages **/
+    public enum Feature {
+        IMPLICIT_EXTRACTIONS("implicit"),
+        ATTRIBUTION("attribution"),
+        POLARITY("polarity"),
+        MODALITY("modality"),
+        QUANTITIES("quantities");
+
+        private final String name;
+
+        Feature(String name) {
+            this.name = name;
+        }
+
+        /** @return the name of the feature (e.g. "implicit") **/
+        public String getName() {
+            return this.name;
+        }
+    }
+
+    /** All the stages (the default) **/
+    public static final ExtractionFeatures ALL = new ExtractionFeatures(EnumSet.allOf(Feature.class));
+    /** No optional stage: bare triples **/
+    public static final ExtractionFeatures NONE = new ExtractionFeatures(EnumSet.noneOf(Feature.class));
+
+    private final EnumSet<Feature> enabled;
+
+    private ExtractionFeatures(EnumSet<Feature> enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @param features - the enabled stages
+     * @return the features with only the given stages enabled
+     */
+    public static ExtractionFeatures of(Collection<Feature> features) {
+        return features.isEmpty() ? NONE : new ExtractionFeatures(EnumSet.copyOf(features));
+    }
+
+    /**
+     * Parse a comma-separated list of stage names (see {@link Feature#getName()}), "all" or "none". Names prefixed with
+     * '-' are disabled; if the list starts with such a name, the other stages stay enabled (e.g. "-attribution,-implicit").
+     * @param spec - list of stage names
+     * @return the features
+     * @throws IllegalArgumentException if a name is unknown
+     */
+    public static ExtractionFeatures parse(String spec) {
+        String [] names = spec.trim().isEmpty() ? new String[0] : spec.split(",");
+        EnumSet<Feature> enabled = names.length > 0 && names[0].trim().startsWith("-") ?
+                EnumSet.allOf(Feature.class) : EnumSet.noneOf(Feature.class);
+        for (String name: names) {
+            name = name.trim().toLowerCase();
+            boolean disable = name.startsWith("-");
+            if (disable) {
+                name = name.substring(1);
+            }
+            if (name.equals("all")) {
+                if (disable) enabled.clear(); else enabled.addAll(EnumSet.allOf(Feature.class));
+            } else if (name.equals("none")) {
+                if (disable) enabled.addAll(EnumSet.allOf(Feature.class)); else enabled.clear();
+            } else {
+                Feature feature = forName(name);
+                if (disable) enabled.remove(feature); else enabled.add(feature);
+            }
+        }
+        return of(enabled);
+    }
+
+    private static Feature forName(String name) {
+        for (Feature feature: Feature.values()) {
+            if (feature.name.equals(name)) {
+                return feature;
+            }
+        }
+        StringBuilder names = new StringBuilder();
+        for (Feature feature: Feature.values()) {
+            names.append(feature.name).append(", ");
+        }
+        throw new IllegalArgumentException("Unknown extraction feature: " + name + " (available: " + names + "all, none)");
+    }
+
+    public boolean isEnabled(Feature feature) {
+        return this.enabled.contains(feature);
+    }
+
+    /** @return the enabled stages **/
+    public EnumSet<Feature> getEnabled() {
+        return EnumSet.copyOf(this.enabled);
+    }
+
+    /** @return the features with the given stage enabled as well **/
+    public ExtractionFeatures with(Feature feature) {
+        EnumSet<Feature> features = this.getEnabled();
+        features.add(feature);
+        return of(features);
+    }
+
+    /** @return the features with the given stage disabled **/
+    public ExtractionFeatures without(Feature feature) {
+        EnumSet<Feature> features = this.getEnabled();
+        features.remove(feature);
+        return of(features);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ExtractionFeatures && this.enabled.equals(((ExtractionFeatures) o).enabled);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.enabled.hashCode();
+    }
+
+    /** @return the features in the format of {@link #parse(String)} **/
+    @Override
+    public String toString() {
+        if (this.enabled.isEmpty()) {
+            return "none";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Feature feature: this.enabled) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(feature.name);
+        }
+        return sb.toString();
+    }
+}
@@ -1,10 +1,15 @@
 package de.uni_mannheim.minie;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
 
 import de.uni_mannheim.clausie.ClausIE;
+import de.uni_mannheim.clausie.Options;
 import de.uni_mannheim.clausie.clause.Clause;
 import de.uni_mannheim.clausie.phrase.Phrase;
 import de.uni_mannheim.clausie.proposition.Proposition;
@@ -17,6 +22,7 @@ import de.uni_mannheim.minie.annotation.AnnotatedProposition;
 import de.uni_mannheim.minie.annotation.Attribution;
 import de.uni_mannheim.minie.annotation.Modality;
 import de.uni_mannheim.minie.annotation.Polarity;
+import de.uni_mannheim.minie.metrics.Metrics;
 import de.uni_mannheim.minie.minimize.object.ObjAggressiveMinimization;
 import de.uni_mannheim.minie.minimize.object.ObjDictionaryMinimization;
 import de.uni_mannheim.minie.minimize.object.ObjSafeMinimization;
@@ -31,16 +37,17 @@ import de.uni_mannheim.minie.proposition.ImplicitExtractions;
 import de.uni_mannheim.utils.phrase.PhraseUtils;
 import de.uni_mannheim.utils.Dictionary;
 import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+import de.uni_mannheim.utils.PatternRegistry;
 
 import edu.stanford.nlp.ling.CoreLabel;
 import edu.stanford.nlp.ling.IndexedWord;
 import edu.stanford.nlp.ling.tokensregex.TokenSequenceMatcher;
-import edu.stanford.nlp.ling.tokensregex.TokenSequencePattern;
 import edu.stanford.nlp.pipeline.StanfordCoreNLP;
 import edu.stanford.nlp.semgraph.SemanticGraph;
 import edu.stanford.nlp.semgraph.SemanticGraphEdge;
 import edu.stanford.nlp.trees.EnglishGrammaticalRelations;
 import edu.stanford.nlp.util.CoreMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 
@@ -63,6 +70,12 @@ public class MinIE {
     /** Reusability variables **/
     private ObjectOpenHashSet<String> propsWithAttribution;
     
+    /** ClausIE options (a copy of the default ones, unless set otherwise) **/
+    private Options clausieOptions = new Options(Options.getDefault());
+    
+    /** The optional annotation stages which are run (all of them, unless set otherwise) **/
+    private ExtractionFeatures features = ExtractionFeatures.ALL;
+    
     /** Constructor **/
     public MinIE(ObjectArrayList<AnnotatedProposition> props){
         this.propositions = props;
@@ -159,27 +172,7 @@ public class MinIE {
      * @param d - dictionary (for MinIE-D)
      */
     public void minimize(String sentence, StanfordCoreNLP parser, Mode mode, Dictionary d) {
-        // Run ClausIE first
-        ClausIE clausie = new ClausIE();
-        clausie.setSemanticGraph(CoreNLPUtils.parse(parser, sentence));
-        clausie.detectClauses();
-        clausie.generatePropositions(clausie.getSemanticGraph());
-        
-        // Start minimizing by annotating
-        this.setSemanticGraph(clausie.getSemanticGraph());
-        this.setPropositions(clausie);
-        this.setPolarity();
-        this.setModality();
-        
-        // Minimize according to the modes (COMPLETE mode doesn't minimize) 
-        if (mode == Mode.SAFE)
-            this.minimizeSafeMode();
-        else if (mode == Mode.DICTIONARY)
-            this.minimizeDictionaryMode(d.words());
-        else if (mode == Mode.AGGRESSIVE)
-            this.minimizeAggressiveMode();
-        
-        this.removeDuplicates();
+        this.minimize(sentence, CoreNLPUtils.parse(parser, sentence), mode, d);
     }
     
     /** 
@@ -192,27 +185,169 @@ public class MinIE {
      * @param d - dictionary (for MinIE-D)
      */
     public void minimize(String sentence, SemanticGraph sg, Mode mode, Dictionary d) {
+        this.minimize(sg, mode, d);
+    }
+    
+    /** 
+     * Given a dependency parse, mode and a dictionary, make extractions and then minimize them accordingly.
+     * 
+     * @param sg - semantic graph object (dependency parse of the sentence)
+     * @param mode - minimization mode
+     * @param d - dictionary (for MinIE-D)
+     */
+    public void minimize(SemanticGraph sg, Mode mode, Dictionary d) {
+        try {
+            long t = this.annotate(sg);
+            
+            // Minimize according to the modes (COMPLETE mode doesn't minimize) 
+            this.minimize(mode, d);
+            t = Metrics.record(Metrics.Stage.MINIMIZATION, t);
+            
+            this.removeDuplicates();
+            Metrics.record(Metrics.Stage.REMOVE_DUPLICATES, t);
+            Metrics.sentence(sg.size(), this.propositions.size());
+        } catch (RuntimeException e) {
+            Metrics.error();
+            throw e;
+        }
+    }
+    
+    /**
+     * Given an input sentence, dependency parse, several modes and a dictionary, make extractions once (ClausIE, 
+     * implicit extractions, attribution, polarity and modality) and then minimize them in each of the modes. This is
+     * cheaper than minimizing the sentence once per mode. See {@link #minimizeModes(Collection, Dictionary)}.
+     * 
+     * @param sentence - input sentence
+     * @param sg - semantic graph object (dependency parse of the sentence)
+     * @param modes - minimization modes
+     * @param d - dictionary (for MinIE-D)
+     * @return the propositions of each mode (ordered as in {@link Mode})
+     */
+    public EnumMap<Mode, ObjectArrayList<AnnotatedProposition>> minimize(String sentence, SemanticGraph sg, 
+            Collection<Mode> modes, Dictionary d) {
+        return this.minimize(sg, modes, d);
+    }
+    
+    /**
+     * Given a dependency parse, several modes and a dictionary, make extractions once and then minimize them in each of
+     * the modes (see {@link #minimize(String, SemanticGraph, Collection, Dictionary)}). The sentence is recorded in the
+     * metrics with the number of propositions of its first mode (in the order of {@link Mode}), so that the metrics
+     * compare with the ones of a single mode.
+     * 
+     * @param sg - semantic graph object (dependency parse of the sentence)
+     * @param modes - minimization modes
+     * @param d - dictionary (for MinIE-D)
+     * @return the propositions of each mode (ordered as in {@link Mode})
+     */
+    public EnumMap<Mode, ObjectArrayList<AnnotatedProposition>> minimize(SemanticGraph sg, Collection<Mode> modes,
+            Dictionary d) {
+        try {
+            this.annotate(sg);
+            EnumMap<Mode, ObjectArrayList<AnnotatedProposition>> propositions = this.minimizeModes(modes, d);
+            int count = propositions.isEmpty() ? 0 : propositions.values().iterator().next().size();
+            Metrics.sentence(sg.size(), count);
+            return propositions;
+        } catch (RuntimeException e) {
+            Metrics.error();
+            throw e;
+        }
+    }
+    
+    /**
+     * Run ClausIE over the dependency parse and annotate its propositions (implicit extractions, attribution, polarity 
+     * and modality), i.e. everything before the minimization
+     * @param sg - semantic graph object (dependency parse of the sentence)
+     * @return the current timestamp (see {@link Metrics#record(Metrics.Stage, long)})
+     */
+    private long annotate(SemanticGraph sg) {
         // Run ClausIE first
-        ClausIE clausie = new ClausIE();
+        long t = Metrics.start();
+        ClausIE clausie = new ClausIE(this.clausieOptions);
         clausie.setSemanticGraph(sg);
         clausie.detectClauses();
+        t = Metrics.record(Metrics.Stage.DETECT_CLAUSES, t);
         clausie.generatePropositions(clausie.getSemanticGraph());
+        t = Metrics.record(Metrics.Stage.GENERATE_PROPOSITIONS, t);
         
         // Start minimizing by annotating
         this.setSemanticGraph(clausie.getSemanticGraph());
         this.setPropositions(clausie);
-        this.setPolarity();
-        this.setModality();
-        
-        // Minimize according to the modes (COMPLETE mode doesn't minimize) 
+        t = Metrics.record(Metrics.Stage.SET_PROPOSITIONS, t);
+        if (this.features.isEnabled(ExtractionFeatures.Feature.POLARITY))
+            this.setPolarity();
+        if (this.features.isEnabled(ExtractionFeatures.Feature.MODALITY))
+            this.setModality();
+        return Metrics.record(Metrics.Stage.POLARITY_MODALITY, t);
+    }
+    
+    /**
+     * Minimize the propositions in the given mode (COMPLETE mode doesn't minimize) 
+     * @param mode - minimization mode
+     * @param d - dictionary (for MinIE-D)
+     */
+    private void minimize(Mode mode, Dictionary d) {
         if (mode == Mode.SAFE)
             this.minimizeSafeMode();
         else if (mode == Mode.DICTIONARY)
-            this.minimizeDictionaryMode(d.words());
+            this.minimizeDictionaryMode(d);
         else if (mode == Mode.AGGRESSIVE)
             this.minimizeAggressiveMode();
-        
-        this.removeDuplicates();
+    }
+    
+    /**
+     * Given the annotated propositions (before any minimization, e.g. after setPropositions(), setPolarity() and 
+     * setModality()), minimize them in each of the modes and remove the duplicates. Each mode works on its own copy of 
+     * the propositions, where only what the minimization modifies is copied (see 
+     * {@link AnnotatedPhrase#copyForMinimization()}); the attribution, polarity and modality are shared. The last mode
+     * works on the propositions themselves, which are its propositions afterwards.
+     * 
+     * @param modes - minimization modes
+     * @param d - dictionary (for MinIE-D)
+     * @return the propositions of each mode (ordered as in {@link Mode})
+     */
+    public EnumMap<Mode, ObjectArrayList<AnnotatedProposition>> minimizeModes(Collection<Mode> modes, Dictionary d) {
+        EnumMap<Mode, ObjectArrayList<AnnotatedProposition>> results = new EnumMap<>(Mode.class);
+        Mode [] todo = modes.isEmpty() ? new Mode[0] : EnumSet.copyOf(modes).toArray(new Mode[0]);
+        ObjectArrayList<AnnotatedProposition> annotated = this.propositions;
+        for (int i = 0; i < todo.length; i++) {
+            Mode mode = todo[i];
+            this.propositions = i == todo.length - 1 ? annotated : copyForMinimization(annotated);
+            long t = Metrics.start();
+            this.minimize(mode, d);
+            t = Metrics.record(Metrics.Stage.MINIMIZATION, t);
+            this.removeDuplicates();
+            Metrics.record(Metrics.Stage.REMOVE_DUPLICATES, t);
+            results.put(mode, this.propositions);
+        }
+        return results;
+    }
+    
+    /**
+     * Copy propositions for minimizing them independently of the originals. A phrase which is shared by several 
+     * propositions (or several times by one) is copied once, so that the copies are minimized exactly as the originals
+     * would be.
+     * @param propositions - the propositions to copy
+     * @return the copies
+     */
+    private static ObjectArrayList<AnnotatedProposition> copyForMinimization(
+            ObjectArrayList<AnnotatedProposition> propositions) {
+        IdentityHashMap<AnnotatedPhrase, AnnotatedPhrase> copies = new IdentityHashMap<>();
+        ObjectArrayList<AnnotatedProposition> result = new ObjectArrayList<>(propositions.size());
+        for (AnnotatedProposition proposition: propositions) {
+            ObjectArrayList<AnnotatedPhrase> triple = new ObjectArrayList<>(proposition.getTriple().size());
+            for (AnnotatedPhrase phrase: proposition.getTriple()) {
+                AnnotatedPhrase copy = copies.get(phrase);
+                if (copy == null) {
+                    copy = phrase.copyForMinimization();
+                    copies.put(phrase, copy);
+                }
+                triple.add(copy);
+            }
+            AnnotatedProposition copy = new AnnotatedProposition(proposition);
+            copy.setTriple(triple);
+            result.add(copy);
+        }
+        return result;
     }
     
     /** Clear the variables **/
@@ -294,6 +429,19 @@ public class MinIE {
     public void setSentenceWords(ObjectArrayList<IndexedWord> s) {
         this.sentence = s;
     }
+    public void setClausIEOptions(Options options) {
+        this.clausieOptions = options;
+    }
+    public Options getClausIEOptions() {
+        return this.clausieOptions;
+    }
+    public ExtractionFeatures getExtractionFeatures() {
+        return this.features;
+    }
+    /** Set the optional annotation stages which are run (by default all of them) **/
+    public void setExtractionFeatures(ExtractionFeatures features) {
+        this.features = features;
+    }
     
     /** Reset a attribution of the list **/
     public void resetAttribution(int i){
@@ -313,7 +461,7 @@ public class MinIE {
         boolean attributionDetected = false;
         
         // Reusable variables
-        ClausIE clausieObj = new ClausIE();
+        ClausIE clausieObj = new ClausIE(this.clausieOptions);
         StringBuffer sb = new StringBuffer();
         ObjectArrayList<IndexedWord> tempListOfWords = new ObjectArrayList<IndexedWord>();
         
@@ -453,8 +601,10 @@ public class MinIE {
                 ObjectArrayList<AnnotatedPhrase> prop = new ObjectArrayList<AnnotatedPhrase>();
                 for (int i = 0; i < p.getConstituents().size(); i++){
                     aPhrase = new AnnotatedPhrase(p.getConstituents().get(i));
-                    aPhrase.detectQuantities(this.sentenceSemGraph, i);
-                    aPhrase.annotateQuantities(i);
+                    if (this.features.isEnabled(ExtractionFeatures.Feature.QUANTITIES)) {
+                        aPhrase.detectQuantities(this.sentenceSemGraph, i);
+                        aPhrase.annotateQuantities(i);
+                    }
                     prop.add(aPhrase);
                 }
                 if (this.pruneAnnotatedProposition(prop))
@@ -486,25 +636,20 @@ public class MinIE {
         boolean attributionDetected = false;
         this.propsWithAttribution = new ObjectOpenHashSet<String>(); 
         StringBuffer sb = new StringBuffer();
+        boolean attribution = this.features.isEnabled(ExtractionFeatures.Feature.ATTRIBUTION);
+        boolean quantities = this.features.isEnabled(ExtractionFeatures.Feature.QUANTITIES);
         
         // Set the sentence, make the implicit extractions from it, and add them to the list of propositions
         this.sentence = new ObjectArrayList<IndexedWord> (clausie.getSemanticGraph().vertexListSorted());
         this.originalSentence = this.sentence;
-        ImplicitExtractions extractions = new ImplicitExtractions(this.sentence, this.sentenceSemGraph);
-        extractions.generateImplicitExtractions();
-        int id = 0;
-        for (AnnotatedProposition aProp: extractions.getImplicitExtractions()) {
-            id++;
-            aProp.setId(id);
-            this.propositions.add(aProp);
-        }
+        int id = this.addImplicitExtractions();
         
         // Set the propositions extracted from ClausIE to MinIE
         for (Clause clause: clausie.getClauses()){
             for (Proposition proposition: clause.getPropositions()){
                 id++;
                 // If a attribution is detected, add the content of the proposition to the list
-                attributionDetected = this.detectAttribution(proposition);                
+                attributionDetected = attribution && this.detectAttribution(proposition);
                 //if (attributionDetected) {
                 //    propsWithAttribution.add(proposition.object().getWords());
                 //}
@@ -517,8 +662,10 @@ public class MinIE {
                 ObjectArrayList<AnnotatedPhrase> prop = new ObjectArrayList<AnnotatedPhrase>();
                 for (int i = 0; i < proposition.getConstituents().size(); i++){
                     AnnotatedPhrase aPhrase = new AnnotatedPhrase(proposition.getConstituents().get(i));
-                    aPhrase.detectQuantities(clausie.getSemanticGraph(), i);
-                    aPhrase.annotateQuantities(i);
+                    if (quantities) {
+                        aPhrase.detectQuantities(clausie.getSemanticGraph(), i);
+                        aPhrase.annotateQuantities(i);
+                    }
                     prop.add(aPhrase);
                 }
                 
@@ -540,6 +687,10 @@ public class MinIE {
             }
         }
         
+        // Without attributions, there is nothing more to remove
+        if (this.propsWithAttribution.isEmpty())
+            return;
+        
         // Remove proposiions which have no attributions, but they have duplicate propositions having an attribution
         // TODO: temporary solution, make this in removeDuplicates()
         ObjectArrayList<AnnotatedProposition> delProps = new ObjectArrayList<AnnotatedProposition>();
@@ -572,21 +723,32 @@ public class MinIE {
     }
     
     /**
-     * 
-     * @param clausie
+     * Make the implicit extractions from the sentence (if enabled) and add them to the list of propositions
+     * @return the number of added propositions (i.e. the id of the last one)
      */
-    public void setPropositionsWithoutAnnotations(ClausIE clausie) {
-        // Set the sentence, make the implicit extractions from it, and add them to the list of propositions
-        this.sentence = new ObjectArrayList<IndexedWord> (clausie.getSemanticGraph().vertexListSorted());
-        this.originalSentence = this.sentence;
+    private int addImplicitExtractions() {
+        int id = 0;
+        if (!this.features.isEnabled(ExtractionFeatures.Feature.IMPLICIT_EXTRACTIONS))
+            return id;
         ImplicitExtractions extractions = new ImplicitExtractions(this.sentence, this.sentenceSemGraph);
         extractions.generateImplicitExtractions();
-        int id = 0;
         for (AnnotatedProposition aProp: extractions.getImplicitExtractions()) {
             id++;
             aProp.setId(id);
             this.propositions.add(aProp);
         }
+        return id;
+    }
+    
+    /**
+     * 
+     * @param clausie
+     */
+    public void setPropositionsWithoutAnnotations(ClausIE clausie) {
+        // Set the sentence, make the implicit extractions from it, and add them to the list of propositions
+        this.sentence = new ObjectArrayList<IndexedWord> (clausie.getSemanticGraph().vertexListSorted());
+        this.originalSentence = this.sentence;
+        int id = this.addImplicitExtractions();
         
         // Set the propositions extracted from ClausIE to MinIE
         for (Clause clause: clausie.getClauses()){
@@ -622,8 +784,7 @@ public class MinIE {
         
         AnnotatedPhrase object = prop.get(2);
         AnnotatedPhrase rel = prop.get(1);
-        TokenSequencePattern tPattern = TokenSequencePattern.compile(REGEX.T_NP_POS_NP);
-        TokenSequenceMatcher tMatcher = tPattern.getMatcher(object.getWordCoreLabelList());
+        TokenSequenceMatcher tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_NP_POS_NP, object.getWordCoreLabelList());
         
         int posIndex = -1;
         
@@ -677,8 +838,7 @@ public class MinIE {
      * @return
      */
     public boolean pushInfinitiveVerb(Phrase object){
-        TokenSequencePattern tPattern = TokenSequencePattern.compile(REGEX.T_TO_VB_NP_NER);
-        TokenSequenceMatcher tMatcher = tPattern.getMatcher(object.getWordCoreLabelList());
+        TokenSequenceMatcher tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_TO_VB_NP_NER, object.getWordCoreLabelList());
         
         while (tMatcher.find()){         
             CoreLabel firstWordMatch = new CoreLabel(tMatcher.groupNodes().get(0));
@@ -697,8 +857,7 @@ public class MinIE {
      * @return true, if an adverb is followed by a preposition or "to"
      */
     public boolean pushAdverb(Phrase object){        
-        TokenSequencePattern tPattern = TokenSequencePattern.compile(REGEX.T_RB_OPT_IN_TO_OPT);
-        TokenSequenceMatcher tMatcher = tPattern.getMatcher(object.getWordCoreLabelList());
+        TokenSequenceMatcher tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_RB_OPT_IN_TO_OPT, object.getWordCoreLabelList());
         while (tMatcher.find()){         
             CoreLabel firstWordMatch = new CoreLabel(tMatcher.groupNodes().get(0));
             if (firstWordMatch.index() == object.getWordList().get(0).index() && 
@@ -745,8 +904,7 @@ public class MinIE {
             }
             
             // If we have TO+ VB* .* NP .* => push TO+ VB* to the relation
-            TokenSequencePattern tPattern = TokenSequencePattern.compile(REGEX.T_TO_VP_IN);
-            TokenSequenceMatcher tMatcher = tPattern.getMatcher(prop.getObject().getWordCoreLabelList());
+            TokenSequenceMatcher tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_TO_VP_IN, prop.getObject().getWordCoreLabelList());
             while (tMatcher.find()){
                 List<CoreMap> matches = tMatcher.groupNodes();
                 
@@ -784,8 +942,7 @@ public class MinIE {
             
             // After the pushing of the words is done, check for PPs with one of their NPs being a NER
             pushWords.clear();
-            tPattern = TokenSequencePattern.compile(REGEX.T_NP_IN_OPT_DT_RB_JJ_OPT_ENTITY);
-            tMatcher = tPattern.getMatcher(prop.getObject().getWordCoreLabelList());
+            tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_NP_IN_OPT_DT_RB_JJ_OPT_ENTITY, prop.getObject().getWordCoreLabelList());
             while (tMatcher.find()){
                 List<CoreMap> matches = tMatcher.groupNodes();
                 CoreLabel firstWord = new CoreLabel(matches.get(0));
@@ -839,46 +996,40 @@ public class MinIE {
     }
     
     /**
-     * Because of the annotations sometimes we get duplicates. Prune-out the duplicates
-     * TODO
+     * Because of the annotations sometimes we get duplicates. Prune-out the duplicates (same words and annotations), 
+     * the propositions with certainty for which the same proposition with possibility exists and the ones with empty
+     * subject or object. The propositions are compared by their fingerprints, and the list is compacted in one pass.
      */
     public void removeDuplicates(){
-        ObjectOpenHashSet<String> propStrings = new ObjectOpenHashSet<>();
-        ObjectOpenHashSet<String> propStringPS = new ObjectOpenHashSet<>();
-
-        ObjectArrayList<AnnotatedProposition> remProps = new ObjectArrayList<>();
-        String propString;
+        // Words of the propositions with possibility
+        LongOpenHashSet possibilityWords = new LongOpenHashSet();
         for (AnnotatedProposition prop: this.propositions){
             if (prop.getModality().getModalityType() == Modality.Type.POSSIBILITY) {
-                propStringPS.add(prop.propositionWordsToString());
-            }
-            propString = prop.toString();
-            if (propStrings.contains(propString))
-                remProps.add(prop);
-            else
-                propStrings.add(propString);
-        }
-        
-        // Remove PS duplicates TODO: optimize this
-        for (AnnotatedProposition prop: this.propositions) {
-            if (prop.getModality().getModalityType() == Modality.Type.CERTAINTY) {
-                if (propStringPS.contains(prop.propositionWordsToString())) {
-                    remProps.add(prop);
-                }
+                possibilityWords.add(prop.getWordsFingerprint());
             }
         }
         
-        // Also, remove the ones with empty object
+        LongOpenHashSet fingerprints = new LongOpenHashSet(this.propositions.size());
+        int kept = 0;
         for (int i = 0; i < this.propositions.size(); i++){
-            if (this.propositions.get(i).getSubject().getWordList().isEmpty())
-                remProps.add(this.propositions.get(i));
+            AnnotatedProposition prop = this.propositions.get(i);
+            // The first occurrence of each proposition is kept
+            boolean remove = !fingerprints.add(prop.getFingerprint());
+            
+            // Remove the CT duplicates of PS propositions
+            if (!remove && prop.getModality().getModalityType() == Modality.Type.CERTAINTY)
+                remove = possibilityWords.contains(prop.getWordsFingerprint());
+            
+            // Also, remove the ones with empty subject or object
+            if (!remove && prop.getSubject().getWordList().isEmpty())
+                remove = true;
+            if (!remove && prop.getTriple().size() == 3 && prop.getObject().getWordList().isEmpty())
+                remove = true;
             
-            if (this.propositions.get(i).getTriple().size() == 3)
-                if (this.propositions.get(i).getObject().getWordList().isEmpty())
-                    remProps.add(this.propositions.get(i));
+            if (!remove)
+                this.propositions.set(kept++, prop);
         }
-        
-        this.propositions.removeAll(remProps); 
+        this.propositions.size(kept);
     }
     
     /**
@@ -1041,6 +1192,11 @@ public class MinIE {
     
     /** Dictionary mode minimization **/
     public void minimizeDictionaryMode(ObjectOpenHashSet<String> collocations){
+        this.minimizeDictionaryMode(new Dictionary(collocations));
+    }
+    
+    /** Dictionary mode minimization, with a dictionary (which may be memory-mapped) of multi-word expressions **/
+    public void minimizeDictionaryMode(Dictionary collocations){
         for (int i = 0; i < this.propositions.size(); i++){
             SubjDictionaryMinimization.minimizeSubject(this.getSubject(i), this.sentenceSemGraph, collocations);
             RelDictionaryMinimization.minimizeRelation(this.getRelation(i), this.sentenceSemGraph, collocations);
@@ -9,10 +9,8 @@ import de.uni_mannheim.constant.CHARACTER;
 import de.uni_mannheim.constant.NE_TYPE;
 import de.uni_mannheim.constant.POS_TAG;
 import de.uni_mannheim.constant.REGEX;
-import de.uni_mannheim.constant.SEPARATOR;
 import edu.stanford.nlp.ling.IndexedWord;
 import edu.stanford.nlp.ling.tokensregex.TokenSequenceMatcher;
-import edu.stanford.nlp.ling.tokensregex.TokenSequencePattern;
 import edu.stanford.nlp.semgraph.SemanticGraph;
 import edu.stanford.nlp.semgraph.SemanticGraphEdge;
 import edu.stanford.nlp.trees.EnglishGrammaticalRelations;
@@ -21,6 +19,7 @@ import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 
 import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+import de.uni_mannheim.utils.PatternRegistry;
 
 /**
  * The annotated phrase is a phrase that holds some sort of annotations. For now, the only annotation
@@ -130,6 +129,21 @@ public class AnnotatedPhrase extends Phrase {
         this.droppedWords = ap.getDroppedWords();
     }
    
+    /**
+     * Copy for minimizing the phrase independently of this one: the word list, the quantities and the dropped words and
+     * edges (which the minimization modifies) are copied, while the words themselves, the root, the phrase graph and the
+     * typed dependencies (which it does not modify) are shared
+     * @return the copy
+     */
+    public AnnotatedPhrase copyForMinimization() {
+        AnnotatedPhrase copy = new AnnotatedPhrase(this.wordList.clone(), this.phraseGraph, this.root);
+        copy.tds = this.tds;
+        copy.quantities = this.quantities == null ? null : this.quantities.clone();
+        copy.droppedEdges = this.droppedEdges == null ? null : this.droppedEdges.clone();
+        copy.droppedWords = this.droppedWords == null ? null : this.droppedWords.clone();
+        return copy;
+    }
+   
     /** Get the quantities **/
     public ObjectArrayList<Quantity> getQuantities(){
         return this.quantities;
@@ -180,8 +194,7 @@ public class AnnotatedPhrase extends Phrase {
         else
             tokenRegexPattern = REGEX.QUANTITY_SEQUENCE_WITH_NO;
         
-        TokenSequencePattern tPattern = TokenSequencePattern.compile(tokenRegexPattern);
-        TokenSequenceMatcher tMatcher = tPattern.getMatcher(this.getWordCoreLabelList());
+        TokenSequenceMatcher tMatcher = PatternRegistry.getTokenMatcher(tokenRegexPattern, this.getWordCoreLabelList());
         
         // Some reusable variables
         List<CoreMap> matchCoreMaps;
@@ -346,8 +359,7 @@ public class AnnotatedPhrase extends Phrase {
         ObjectArrayList<IndexedWord> matches;
         
         // Token regex pattern and matcher
-        TokenSequencePattern tPattern = TokenSequencePattern.compile(REGEX.ADJACENT_QUANTITIES);
-        TokenSequenceMatcher tMatcher = tPattern.getMatcher(this.getWordCoreLabelList());
+        TokenSequenceMatcher tMatcher = PatternRegistry.getTokenMatcher(REGEX.ADJACENT_QUANTITIES, this.getWordCoreLabelList());
         
         // Merge the quantities when matched
         while (tMatcher.find()){
@@ -410,12 +422,7 @@ public class AnnotatedPhrase extends Phrase {
     
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        for (IndexedWord w: this.wordList) {
-            sb.append(w.word());
-            sb.append(SEPARATOR.SPACE);
-        }
-        return sb.toString().trim();
+        return this.getWords();
     }
 
     public void addDroppedEdges(ObjectArrayList<SemanticGraphEdge> edges) {
@@ -4,6 +4,7 @@ import de.uni_mannheim.constant.CHARACTER;
 import de.uni_mannheim.constant.SEPARATOR;
 import de.uni_mannheim.constant.WORDS;
 import edu.stanford.nlp.ling.IndexedWord;
+import it.unimi.dsi.fastutil.HashCommon;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 
 /**
@@ -20,6 +21,11 @@ public class AnnotatedProposition {
     private Modality modality;
     /** The ID is w.r.t the sentence from which the proposition is extracted. The default ID is -1 **/
     private int id; 
+    /** Index of the sentence (within a document) from which the proposition is extracted. The default is -1 **/
+    private int sentenceId;
+    /** Character offsets of the sentence (within a document) from which the proposition is extracted. Default: -1 **/
+    private int sentenceBeginOffset;
+    private int sentenceEndOffset;
     
     /** Default constructor: empty triple, default attribution, polarity, modality **/
     public AnnotatedProposition(){
@@ -28,6 +34,9 @@ public class AnnotatedProposition {
         this.polarity = new Polarity();
         this.modality = new Modality();
         this.id = -1; // the default ID
+        this.sentenceId = -1;
+        this.sentenceBeginOffset = -1;
+        this.sentenceEndOffset = -1;
     }
     
     /** Copy constructor **/
@@ -37,6 +46,9 @@ public class AnnotatedProposition {
         this.polarity = p.getPolarity();
         this.modality = p.getModality();
         this.id = p.getId();
+        this.sentenceId = p.getSentenceId();
+        this.sentenceBeginOffset = p.getSentenceBeginOffset();
+        this.sentenceEndOffset = p.getSentenceEndOffset();
     }
     
     /** Parametric constructor **/
@@ -46,6 +58,9 @@ public class AnnotatedProposition {
         this.polarity = pol;
         this.modality = mod;
         this.id = id;
+        this.sentenceId = -1;
+        this.sentenceBeginOffset = -1;
+        this.sentenceEndOffset = -1;
     }
     
     /** Constructor given list of phrases only **/
@@ -55,6 +70,9 @@ public class AnnotatedProposition {
         this.polarity = new Polarity();
         this.modality = new Modality();
         this.id = -1;
+        this.sentenceId = -1;
+        this.sentenceBeginOffset = -1;
+        this.sentenceEndOffset = -1;
     }
     
     /** Constructor given list of phrases and attribution only **/
@@ -64,6 +82,9 @@ public class AnnotatedProposition {
         this.polarity = new Polarity();
         this.modality = new Modality();
         this.id = -1;
+        this.sentenceId = -1;
+        this.sentenceBeginOffset = -1;
+        this.sentenceEndOffset = -1;
     }
     
     /** Constructor given list of phrases and id only **/
@@ -73,6 +94,9 @@ public class AnnotatedProposition {
         this.polarity = new Polarity();
         this.modality = new Modality();
         this.id = id;
+        this.sentenceId = -1;
+        this.sentenceBeginOffset = -1;
+        this.sentenceEndOffset = -1;
     }
     
     /** Constructor given list of phrases, attribution and ID **/
@@ -82,6 +106,9 @@ public class AnnotatedProposition {
         this.polarity = new Polarity();
         this.modality = new Modality();
         this.id = id;
+        this.sentenceId = -1;
+        this.sentenceBeginOffset = -1;
+        this.sentenceEndOffset = -1;
     }
     
     // Setters
@@ -109,6 +136,18 @@ public class AnnotatedProposition {
     public void setId(int id){
         this.id = id;
     }
+    public void setSentenceId(int sentenceId){
+        this.sentenceId = sentenceId;
+    }
+    /**
+     * Set the character offsets (within the document) of the sentence from which the proposition is extracted
+     * @param begin: begin offset of the sentence
+     * @param end: end offset of the sentence
+     */
+    public void setSentenceOffsets(int begin, int end){
+        this.sentenceBeginOffset = begin;
+        this.sentenceEndOffset = end;
+    }
     /**
      * Set the quantities for i-th annotated phrase
      * @param i: the index of the constituent 
@@ -147,6 +186,15 @@ public class AnnotatedProposition {
     public int getId(){
         return this.id;
     }
+    public int getSentenceId(){
+        return this.sentenceId;
+    }
+    public int getSentenceBeginOffset(){
+        return this.sentenceBeginOffset;
+    }
+    public int getSentenceEndOffset(){
+        return this.sentenceEndOffset;
+    }
     
     /**
      * Get the quantities from the i-th phrase
@@ -316,23 +364,74 @@ public class AnnotatedProposition {
      */
     public String propositionWordsToString(){
         StringBuilder sb = new StringBuilder();
-        // Write the triple
+        // Write the triple (reusing the cached words of the phrases)
         for (int i = 0; i < this.getTriple().size(); i++){
-            for (int j = 0; j < this.getTriple().get(i).getWordList().size(); j++) {
-                if (j == 0) {
-                    sb.append(CHARACTER.QUOTATION_MARK);
-                }
-                sb.append(this.getTriple().get(i).getWordList().get(j).word());
-                if (j == this.getTriple().get(i).getWordList().size()-1) {
-                    sb.append(CHARACTER.QUOTATION_MARK);
-                } else {
-                    sb.append(SEPARATOR.SPACE);
-                }
+            if (!this.getTriple().get(i).getWordList().isEmpty()) {
+                sb.append(CHARACTER.QUOTATION_MARK);
+                sb.append(this.getTriple().get(i).getWords());
+                sb.append(CHARACTER.QUOTATION_MARK);
             }
         }
         return sb.toString().trim();
     }
     
+    /**
+     * Get a 64-bit fingerprint of the proposition's words (the same information as propositionWordsToString(), but 
+     * computed from the cached word hashes of the phrases, without building any string)
+     * @return fingerprint of the triple's words
+     */
+    public long getWordsFingerprint(){
+        long h = 0;
+        for (int i = 0; i < this.getTriple().size(); i++){
+            if (!this.getTriple().get(i).getWordList().isEmpty()) {
+                h = mix(h, this.getTriple().get(i).getWordsHash());
+            }
+        }
+        return h;
+    }
+    
+    /**
+     * Get a 64-bit fingerprint of the proposition: the words of the triple, the factuality, the attribution and the 
+     * quantities (the same information as toString(), but without building any string). Used for deduplication.
+     * @return fingerprint of the proposition
+     */
+    public long getFingerprint(){
+        long h = this.getTriple().size();
+        for (int i = 0; i < this.getTriple().size(); i++){
+            h = mix(h, this.getTriple().get(i).getWordsHash());
+        }
+        h = mix(h, this.polarity.getType().ordinal());
+        h = mix(h, this.modality.getModalityType().ordinal());
+        
+        // The attribution
+        if (this.attribution.getAttributionPhrase() != null){
+            h = mix(h, this.attribution.getAttributionPhrase().getWordsHash());
+            h = mix(h, this.attribution.getPredicateVerb().hashCode());
+            h = mix(h, this.attribution.getPolarityType().ordinal());
+            h = mix(h, this.attribution.getModalityType().ordinal());
+        } else {
+            h = mix(h, -1);
+        }
+        
+        // The quantities of each phrase
+        for (int i = 0; i < this.getTriple().size(); i++){
+            ObjectArrayList<Quantity> quantities = this.getQuantities(i);
+            h = mix(h, quantities.size());
+            for (Quantity q: quantities){
+                h = mix(h, q.getId().hashCode());
+                for (IndexedWord w: q.getQuantityWords()){
+                    h = mix(h, w.word().hashCode());
+                }
+            }
+        }
+        return h;
+    }
+    
+    /** Combine the hash h with the value v **/
+    private static long mix(long h, long v){
+        return HashCommon.mix(h * 0x9E3779B97F4A7C15L + v);
+    }
+    
     /**
      * Get the annotated triple's words convenient for aggregation:
      * - take lemmas of each word
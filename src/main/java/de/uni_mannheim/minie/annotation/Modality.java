@@ -13,7 +13,6 @@ import de.uni_mannheim.utils.Dictionary;
 import edu.stanford.nlp.ling.CoreLabel;
 import edu.stanford.nlp.ling.IndexedWord;
 import edu.stanford.nlp.ling.tokensregex.TokenSequenceMatcher;
-import edu.stanford.nlp.ling.tokensregex.TokenSequencePattern;
 import edu.stanford.nlp.semgraph.SemanticGraph;
 import edu.stanford.nlp.semgraph.SemanticGraphEdge;
 import edu.stanford.nlp.util.CoreMap;
@@ -22,6 +21,7 @@ import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 
 import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+import de.uni_mannheim.utils.PatternRegistry;
 
 /**
  * Annotation for modality
@@ -292,8 +292,7 @@ public class Modality {
         }
         
         // Check for modality verb phrases
-        TokenSequencePattern tPattern = TokenSequencePattern.compile(REGEX.T_POSS_VP);
-        TokenSequenceMatcher tMatcher = tPattern.getMatcher(relation.getWordCoreLabelList());
+        TokenSequenceMatcher tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_POSS_VP, relation.getWordCoreLabelList());
         
         while (tMatcher.find()){         
             List<CoreMap> match = tMatcher.groupNodes();
@@ -0,0 +1,102 @@
+package de.uni_mannheim.minie.input;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import de.uni_mannheim.constant.NE_TYPE;
+
+/**
+ * Reads sentences in the CoNLL-U format: one word per line with the tab-separated columns ID, FORM, LEMMA, UPOS,
+ * XPOS, FEATS, HEAD, DEPREL, DEPS and MISC, and an empty line after each sentence. MinIE needs the (Penn Treebank)
+ * POS tags and the NER tags of the words, so:
+ * <ul>
+ *     <li>the POS tag is XPOS (or UPOS if there is no XPOS)</li>
+ *     <li>the NER tag is read from an eleventh column, or else from a "NER=..." entry of MISC (no NER tag if neither
+ *     is given, or if it is "_")</li>
+ * </ul>
+ * The text of a sentence is taken from its "# text = ..." comment, or else the words are joined with spaces (except
+ * where MISC has "SpaceAfter=No"). Multi-word token ranges (e.g. "1-2") and empty nodes (e.g. "1.1") are skipped.
+ */
+public class ConllUReader implements ParsedSentenceReader {
+    private static final String TEXT_COMMENT = "# text = ";
+    private static final String EMPTY = "_";
+
+    private final BufferedReader in;
+    private long lineNumber = 0;
+
+    public ConllUReader(BufferedReader in) {
+        this.in = in;
+    }
+
+    @Override
+    public ParsedSentence read() throws IOException {
+        SemanticGraphBuilder builder = new SemanticGraphBuilder();
+        String text = null;
+        StringBuilder words = new StringBuilder();
+        String line;
+        while ((line = this.in.readLine()) != null) {
+            this.lineNumber++;
+            if (line.trim().isEmpty()) {
+                if (builder.isEmpty()) {
+                    // blank lines before the sentence
+                    text = null;
+                    continue;
+                }
+                break;
+            }
+            if (line.startsWith("#")) {
+                if (line.startsWith(TEXT_COMMENT)) {
+                    text = line.substring(TEXT_COMMENT.length());
+                }
+                continue;
+            }
+
+            String [] columns = line.split("\t");
+            if (columns.length < 8) {
+                throw new IOException("Line " + this.lineNumber + ": expected at least 8 columns, found " + columns.length);
+            }
+            // multi-word tokens and empty nodes
+            if (columns[0].indexOf('-') >= 0 || columns[0].indexOf('.') >= 0)
+                continue;
+
+            String misc = columns.length > 9 ? columns[9] : EMPTY;
+            String ner = columns.length > 10 ? columns[10] : miscValue(misc, "NER");
+            if (ner == null || ner.equals(EMPTY))
+                ner = NE_TYPE.NO_NER;
+            String tag = columns[4].equals(EMPTY) ? columns[3] : columns[4];
+            int begin = words.length();
+            words.append(columns[1]);
+            int end = words.length();
+            if (!"No".equals(miscValue(misc, "SpaceAfter")))
+                words.append(' ');
+            try {
+                builder.addWord(Integer.parseInt(columns[0]), columns[1], columns[1], columns[2], tag, ner, begin, end,
+                        Integer.parseInt(columns[6]), columns[7]);
+            } catch (NumberFormatException e) {
+                throw new IOException("Line " + this.lineNumber + ": malformed ID or HEAD", e);
+            }
+        }
+
+        if (builder.isEmpty())
+            return null;
+        try {
+            return new ParsedSentence(text != null ? text : words.toString().trim(), builder.build());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Sentence ending at line " + this.lineNumber + ": " + e.getMessage());
+        }
+    }
+
+    /** The value of a "key=value" entry of the MISC column (entries separated by '|'), or null **/
+    private static String miscValue(String misc, String key) {
+        for (String entry: misc.split("\\|")) {
+            if (entry.length() > key.length() && entry.startsWith(key) && entry.charAt(key.length()) == '=')
+                return entry.substring(key.length() + 1);
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.in.close();
+    }
+}
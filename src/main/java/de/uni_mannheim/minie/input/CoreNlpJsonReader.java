@@ -0,0 +1,103 @@
+package de.uni_mannheim.minie.input;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+/**
+ * Reads sentences from the JSON output of CoreNLP ("-outputFormat json"), i.e. documents of the form
+ * <pre>
+ * {"sentences": [{"basicDependencies": [{"dep": ..., "governor": ..., "dependent": ...}, ...],
+ *                 "tokens": [{"index": ..., "word": ..., "originalText": ..., "lemma": ..., "pos": ..., "ner": ...,
+ *                             "characterOffsetBegin": ..., "characterOffsetEnd": ..., "after": ...}, ...]}, ...]}
+ * </pre>
+ * The input can hold several documents (e.g. one per line). It is read as a stream, one sentence at a time, so the
+ * documents can be arbitrarily large. The other fields (e.g. the other dependencies, coreference) are skipped.
+ */
+public class CoreNlpJsonReader implements ParsedSentenceReader {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final JsonParser parser;
+    /** True while reading the elements of a "sentences" array **/
+    private boolean inSentences = false;
+
+    public CoreNlpJsonReader(Reader in) throws IOException {
+        this.parser = MAPPER.getFactory().createParser(in);
+    }
+
+    @Override
+    public ParsedSentence read() throws IOException {
+        while (true) {
+            JsonToken token = this.parser.nextToken();
+            if (token == null)
+                return null;
+            if (this.inSentences) {
+                if (token == JsonToken.START_OBJECT)
+                    return sentence(this.parser.readValueAsTree());
+                // end of the array
+                this.inSentences = false;
+            } else if (token == JsonToken.FIELD_NAME) {
+                boolean sentences = "sentences".equals(this.parser.getCurrentName());
+                if (this.parser.nextToken() == JsonToken.START_ARRAY && sentences) {
+                    this.inSentences = true;
+                } else {
+                    this.parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private static ParsedSentence sentence(JsonNode sentence) throws IOException {
+        JsonNode tokens = sentence.path("tokens");
+        JsonNode dependencies = sentence.path("basicDependencies");
+        if (!tokens.isArray() || !dependencies.isArray()) {
+            throw new IOException("Sentence without \"tokens\" or \"basicDependencies\": " + sentence.path("index"));
+        }
+
+        Int2IntOpenHashMap heads = new Int2IntOpenHashMap();
+        Int2ObjectOpenHashMap<String> relations = new Int2ObjectOpenHashMap<>();
+        for (JsonNode dependency: dependencies) {
+            int dependent = dependency.path("dependent").asInt();
+            heads.put(dependent, dependency.path("governor").asInt());
+            relations.put(dependent, dependency.path("dep").asText());
+        }
+
+        SemanticGraphBuilder builder = new SemanticGraphBuilder();
+        StringBuilder text = new StringBuilder();
+        for (JsonNode token: tokens) {
+            int index = token.path("index").asInt();
+            // words without a head are not part of the parse
+            if (!heads.containsKey(index))
+                continue;
+            String word = token.path("word").asText();
+            String originalText = token.path("originalText").asText(word);
+            builder.addWord(index, word, originalText, token.path("lemma").asText(word), token.path("pos").asText(),
+                    token.has("ner") ? token.get("ner").asText() : null, token.path("characterOffsetBegin").asInt(),
+                    token.path("characterOffsetEnd").asInt(), heads.get(index), relations.get(index));
+        }
+        for (JsonNode token: tokens) {
+            text.append(token.path("originalText").asText(token.path("word").asText()));
+            text.append(token.path("after").asText(" "));
+        }
+
+        if (builder.isEmpty())
+            throw new IOException("Sentence without dependencies: " + sentence.path("index"));
+        try {
+            return new ParsedSentence(text.toString().trim(), builder.build());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Sentence " + sentence.path("index") + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.parser.close();
+    }
+}
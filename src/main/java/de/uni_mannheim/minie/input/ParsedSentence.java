@@ -0,0 +1,27 @@
+package de.uni_mannheim.minie.input;
+
+import edu.stanford.nlp.semgraph.SemanticGraph;
+
+/**
+ * A sentence which was parsed outside of MinIE: its text and its dependency parse, as read by a
+ * {@link ParsedSentenceReader}.
+ */
+public class ParsedSentence {
+    private final String text;
+    private final SemanticGraph semanticGraph;
+
+    public ParsedSentence(String text, SemanticGraph semanticGraph) {
+        this.text = text;
+        this.semanticGraph = semanticGraph;
+    }
+
+    /** @return the text of the sentence (as given in the input, or else the tokens joined with spaces) **/
+    public String getText() {
+        return this.text;
+    }
+
+    /** @return the dependency parse of the sentence **/
+    public SemanticGraph getSemanticGraph() {
+        return this.semanticGraph;
+    }
+}
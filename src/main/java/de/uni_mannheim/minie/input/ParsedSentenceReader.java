@@ -0,0 +1,19 @@
+package de.uni_mannheim.minie.input;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads already parsed sentences (tokens, lemmas, POS and NER tags and dependencies) in some input format (see
+ * {@link ParsedSentenceReaders} for the available formats), one sentence at a time, so that MinIE can run without the
+ * CoreNLP models. The dependency relations are expected to be Stanford basic dependencies, as produced by the MinIE
+ * pipeline (see CoreNLPUtils.StanfordDepNNParser()). Readers are not thread-safe.
+ */
+public interface ParsedSentenceReader extends Closeable {
+    /**
+     * read the next sentence
+     * @return the next sentence, or null at the end of the input
+     * @throws IOException if the input cannot be read or is malformed
+     */
+    ParsedSentence read() throws IOException;
+}
@@ -0,0 +1,67 @@
+package de.uni_mannheim.minie.input;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registry of the available formats of parsed input. The built-in formats are "conllu" (see {@link ConllUReader}) and
+ * "corenlp-json" (see {@link CoreNlpJsonReader}); other formats can be plugged in with
+ * {@link #register(String, Factory)}. "text" stands for plain sentences (one per line), which are parsed by MinIE.
+ */
+public class ParsedSentenceReaders {
+    public static final String TEXT = "text";
+    public static final String CONLLU = "conllu";
+    public static final String CORENLP_JSON = "corenlp-json";
+
+    /** Creates a reader for a format, given the input **/
+    public interface Factory {
+        ParsedSentenceReader create(BufferedReader in) throws IOException;
+    }
+
+    /** format name -> reader factory **/
+    private static final Map<String, Factory> FORMATS = new LinkedHashMap<>();
+    static {
+        register(CONLLU, ConllUReader::new);
+        register(CORENLP_JSON, CoreNlpJsonReader::new);
+    }
+
+    private ParsedSentenceReaders() {}
+
+    /**
+     * register an input format (replaces an existing format with the same name)
+     * @param format: name of the format (case-insensitive)
+     * @param factory: creates a reader for the format, given the input
+     */
+    public static synchronized void register(String format, Factory factory) {
+        FORMATS.put(format.toLowerCase(), factory);
+    }
+
+    /**
+     * create a reader for the given format
+     * @param format: name of the format (case-insensitive)
+     * @param in: the input
+     * @return reader of parsed sentences
+     * @throws IllegalArgumentException if the format is unknown
+     * @throws IOException
+     */
+    public static synchronized ParsedSentenceReader create(String format, BufferedReader in) throws IOException {
+        Factory factory = FORMATS.get(format.toLowerCase());
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown input format: " + format + " (available: " + getFormats() + ")");
+        }
+        return factory.create(in);
+    }
+
+    /** @return the names of the available formats, "text" first **/
+    public static synchronized Set<String> getFormats() {
+        Set<String> formats = new LinkedHashSet<>();
+        formats.add(TEXT);
+        formats.addAll(FORMATS.keySet());
+        return Collections.unmodifiableSet(formats);
+    }
+}
@@ -0,0 +1,105 @@
+package de.uni_mannheim.minie.input;
+
+import edu.stanford.nlp.international.Language;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.ling.IndexedWord;
+import edu.stanford.nlp.semgraph.SemanticGraph;
+import edu.stanford.nlp.trees.EnglishGrammaticalRelations;
+import edu.stanford.nlp.trees.GrammaticalRelation;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+import de.uni_mannheim.constant.NE_TYPE;
+
+/**
+ * Builds the dependency parse of one sentence from its words and their heads, in the form produced by
+ * CoreNLPUtils.parse() (English grammatical relations), for the readers of parsed input.
+ */
+class SemanticGraphBuilder {
+    private final Int2ObjectOpenHashMap<IndexedWord> words = new Int2ObjectOpenHashMap<>();
+    private final ObjectArrayList<IndexedWord> order = new ObjectArrayList<>();
+    private final IntArrayList heads = new IntArrayList();
+    private final ObjectArrayList<String> relations = new ObjectArrayList<>();
+
+    /**
+     * add a word
+     * @param index: index of the word in the sentence (from 1)
+     * @param word: the word (normalized as by the tokenizer, e.g. "-LRB-")
+     * @param originalText: the word as in the text
+     * @param lemma: its lemma
+     * @param tag: its POS tag
+     * @param ner: its NER tag (null for none)
+     * @param begin: character offset of the word
+     * @param end: character offset after the word
+     * @param head: index of the head of the word (0 for a root)
+     * @param relation: relation to the head (ignored for a root)
+     */
+    void addWord(int index, String word, String originalText, String lemma, String tag, String ner, int begin, int end,
+            int head, String relation) {
+        CoreLabel label = new CoreLabel();
+        label.setWord(word);
+        label.setValue(word);
+        label.setOriginalText(originalText);
+        label.setLemma(lemma);
+        label.setTag(tag);
+        label.setNER(ner == null ? NE_TYPE.NO_NER : ner);
+        label.setIndex(index);
+        label.setSentIndex(0);
+        label.setBeginPosition(begin);
+        label.setEndPosition(end);
+        IndexedWord indexedWord = new IndexedWord(label);
+        this.words.put(index, indexedWord);
+        this.order.add(indexedWord);
+        this.heads.add(head);
+        this.relations.add(relation);
+    }
+
+    boolean isEmpty() {
+        return this.order.isEmpty();
+    }
+
+    /**
+     * @return the dependency parse of the added words
+     * @throws IllegalArgumentException if a head is not one of the words
+     */
+    SemanticGraph build() {
+        SemanticGraph sg = new SemanticGraph();
+        for (IndexedWord word: this.order) {
+            sg.addVertex(word);
+        }
+        ObjectArrayList<IndexedWord> roots = new ObjectArrayList<>();
+        for (int i = 0; i < this.order.size(); i++) {
+            IndexedWord dependent = this.order.get(i);
+            int head = this.heads.getInt(i);
+            if (head == 0) {
+                roots.add(dependent);
+                continue;
+            }
+            IndexedWord governor = this.words.get(head);
+            if (governor == null) {
+                throw new IllegalArgumentException("Unknown head " + head + " of word " + dependent.index());
+            }
+            sg.addEdge(governor, dependent, relation(this.relations.get(i)), Double.NEGATIVE_INFINITY, false);
+        }
+        sg.setRoots(roots);
+        return sg;
+    }
+
+    /**
+     * the English grammatical relation with the given name; subtypes (e.g. "nmod:poss") fall back to their main type if
+     * there is no English relation with the full name
+     * @param name: name of the relation
+     * @return the relation
+     */
+    static GrammaticalRelation relation(String name) {
+        String shortName = name.toLowerCase();
+        GrammaticalRelation relation = EnglishGrammaticalRelations.shortNameToGRel.get(shortName);
+        int colon = shortName.indexOf(':');
+        if (relation == null && colon > 0) {
+            relation = EnglishGrammaticalRelations.shortNameToGRel.get(shortName.substring(0, colon));
+        }
+        return relation != null ? relation : GrammaticalRelation.valueOf(Language.English, shortName);
+    }
+}
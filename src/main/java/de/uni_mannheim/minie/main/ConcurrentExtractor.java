@@ -0,0 +1,250 @@
+package de.uni_mannheim.minie.main;
+
+import de.uni_mannheim.clausie.Options;
+import de.uni_mannheim.minie.ExtractionFeatures;
+import de.uni_mannheim.minie.MinIE;
+import de.uni_mannheim.minie.annotation.AnnotatedProposition;
+import de.uni_mannheim.utils.Dictionary;
+import de.uni_mannheim.utils.minie.Utils;
+import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import edu.stanford.nlp.util.CoreMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Thread-safe interface to the MinIE system. All threads share one (read-only) CoreNLP pipeline, the ClausIE options
+ * and the dictionary (the default one is loaded the first time dictionary mode needs it), while each thread has its
+ * own ClausIE/MinIE working state (a thread-local {@link Extractor}). Batches of sentences are fanned out over a
+ * fork-join pool or a given executor.
+ */
+public class ConcurrentExtractor implements AutoCloseable {
+    private final StanfordCoreNLP parser;
+    /** null until the default dictionary is loaded, see getDictionary() **/
+    private Dictionary dictionary;
+    private final Options options;
+    private final ExecutorService executor;
+    /** true if the executor was created here (and is therefore shut down on close()) **/
+    private final boolean ownsExecutor;
+    private final ThreadLocal<Extractor> extractors;
+
+    /**
+     * constructor with a new parser pipeline, the default dictionary and a fork-join pool with one thread per core
+     */
+    public ConcurrentExtractor() {
+        this(null, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * constructor with a new parser pipeline and a fork-join pool of the given parallelism
+     * @param dictionary: dictionary (used in dictionary mode); null for the default dictionary
+     * @param threads: number of worker threads
+     */
+    public ConcurrentExtractor(Dictionary dictionary, int threads) {
+        this(CoreNLPUtils.StanfordDepNNParser(), dictionary, Options.getDefault(), new ForkJoinPool(threads), true);
+    }
+
+    /**
+     * constructor with an already initialized parser pipeline and executor (the executor is not shut down on close())
+     * @param parser: CoreNLP pipeline shared by all threads
+     * @param dictionary: dictionary (used in dictionary mode); null for the default dictionary
+     * @param executor: executor used by analyzeAll
+     */
+    public ConcurrentExtractor(StanfordCoreNLP parser, Dictionary dictionary, ExecutorService executor) {
+        this(parser, dictionary, Options.getDefault(), executor, false);
+    }
+
+    /**
+     * constructor with an already initialized parser pipeline, ClausIE options and executor (the executor is not shut
+     * down on close())
+     * @param parser: CoreNLP pipeline shared by all threads
+     * @param dictionary: dictionary (used in dictionary mode); null for the default dictionary
+     * @param options: ClausIE options shared by all threads
+     * @param executor: executor used by analyzeAll
+     */
+    public ConcurrentExtractor(StanfordCoreNLP parser, Dictionary dictionary, Options options, ExecutorService executor) {
+        this(parser, dictionary, options, executor, false);
+    }
+
+    private ConcurrentExtractor(StanfordCoreNLP parser, Dictionary dictionary, Options options, ExecutorService executor,
+            boolean ownsExecutor) {
+        this.parser = parser;
+        this.dictionary = dictionary;
+        this.options = options;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.extractors = ThreadLocal.withInitial(() -> {
+            // the dictionary is set once the extractor is used in dictionary mode (see getExtractor)
+            Extractor extractor = new Extractor(this.parser, null);
+            extractor.setClausIEOptions(this.options);
+            return extractor;
+        });
+    }
+
+    /**
+     * analyze a sentence in the calling thread
+     * @param sentence: sentence to analyze
+     * @param mode: MinIE mode
+     * @return the propositions extracted from the sentence (owned by the caller)
+     */
+    public ObjectArrayList<AnnotatedProposition> analyzeSentence(String sentence, MinIE.Mode mode) {
+        return this.analyzeSentence(sentence, mode, ExtractionFeatures.ALL);
+    }
+
+    /**
+     * analyze a sentence in the calling thread, running only the given optional annotation stages
+     * @param sentence: sentence to analyze
+     * @param mode: MinIE mode
+     * @param features: the enabled annotation stages
+     * @return the propositions extracted from the sentence (owned by the caller)
+     */
+    public ObjectArrayList<AnnotatedProposition> analyzeSentence(String sentence, MinIE.Mode mode,
+            ExtractionFeatures features) {
+        Extractor extractor = this.getExtractor(mode == MinIE.Mode.DICTIONARY);
+        extractor.setExtractionFeatures(features);
+        MinIE result = extractor.analyzeSentence(sentence, mode);
+        // The MinIE object is reused by this thread for the next sentence, so copy the propositions out of it
+        return new ObjectArrayList<>(result.getPropositions());
+    }
+
+    /**
+     * analyze a sentence in several modes at once, in the calling thread (see Extractor.analyzeSentence(String, 
+     * Collection))
+     * @param sentence: sentence to analyze
+     * @param modes: MinIE modes
+     * @return the propositions of each mode (owned by the caller)
+     */
+    public EnumMap<MinIE.Mode, ObjectArrayList<AnnotatedProposition>> analyzeSentence(String sentence,
+            Collection<MinIE.Mode> modes) {
+        Extractor extractor = this.getExtractor(modes.contains(MinIE.Mode.DICTIONARY));
+        extractor.setExtractionFeatures(ExtractionFeatures.ALL);
+        return extractor.analyzeSentence(sentence, modes);
+    }
+
+    /**
+     * analyze a list of sentences in parallel
+     * @param sentences: sentences to analyze
+     * @param mode: MinIE mode
+     * @return the propositions of each sentence, in the same order as the input sentences
+     */
+    public List<ObjectArrayList<AnnotatedProposition>> analyzeAll(List<String> sentences, MinIE.Mode mode) {
+        List<Callable<ObjectArrayList<AnnotatedProposition>>> tasks = new ArrayList<>(sentences.size());
+        for (String sentence: sentences) {
+            tasks.add(() -> this.analyzeSentence(sentence, mode));
+        }
+
+        return this.invokeAll(tasks);
+    }
+
+    /**
+     * analyze a whole document: the document is annotated once (in the calling thread) and then its sentences are
+     * analyzed in parallel
+     * @param document: document to analyze
+     * @param mode: MinIE mode
+     * @return the propositions of all sentences (in sentence order), tagged with their sentence index and offsets
+     */
+    public ObjectArrayList<AnnotatedProposition> analyzeDocument(String document, MinIE.Mode mode) {
+        List<CoreMap> sentences = CoreNLPUtils.annotateDocument(this.parser, document);
+        List<Callable<ObjectArrayList<AnnotatedProposition>>> tasks = new ArrayList<>(sentences.size());
+        for (int i = 0; i < sentences.size(); i++) {
+            final int sentenceId = i;
+            tasks.add(() -> {
+                CoreMap sentence = sentences.get(sentenceId);
+                Extractor extractor = this.getExtractor(mode == MinIE.Mode.DICTIONARY);
+                extractor.setExtractionFeatures(ExtractionFeatures.ALL);
+                MinIE result = extractor.analyzeSemanticGraph(CoreNLPUtils.getSemanticGraph(sentence), mode);
+                return Extractor.tagPropositions(new ObjectArrayList<>(result.getPropositions()), sentenceId, sentence);
+            });
+        }
+
+        ObjectArrayList<AnnotatedProposition> propositions = new ObjectArrayList<>();
+        for (ObjectArrayList<AnnotatedProposition> sentencePropositions: this.invokeAll(tasks)) {
+            propositions.addAll(sentencePropositions);
+        }
+        return propositions;
+    }
+
+    /**
+     * get the extractor of the calling thread
+     * @param dictionaryMode: whether the extractor is used in dictionary mode (then its dictionary is set)
+     * @return the extractor
+     */
+    private Extractor getExtractor(boolean dictionaryMode) {
+        Extractor extractor = this.extractors.get();
+        if (dictionaryMode && extractor.getDictionary() == null) {
+            extractor.setDictionary(this.getDictionary());
+        }
+        return extractor;
+    }
+
+    /**
+     * get the dictionary used in dictionary mode (the default dictionary is loaded on the first call)
+     * @return dictionary
+     */
+    public synchronized Dictionary getDictionary() {
+        if (this.dictionary == null) {
+            try {
+                this.dictionary = new Dictionary(Utils.DEFAULT_DICTIONARIES);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return this.dictionary;
+    }
+
+    /**
+     * run the tasks on the executor and wait for all of them
+     * @param tasks: tasks to run
+     * @return the results of the tasks, in the same order as the tasks
+     */
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future: this.executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * get the parser pipeline shared by all threads
+     * @return CoreNLP pipeline
+     */
+    public StanfordCoreNLP getParser() {
+        return this.parser;
+    }
+
+    /**
+     * get the executor used by analyzeAll
+     * @return executor
+     */
+    public ExecutorService getExecutor() {
+        return this.executor;
+    }
+
+    /** shuts down the executor, if it was created by this extractor **/
+    @Override
+    public void close() {
+        if (this.ownsExecutor) {
+            this.executor.shutdown();
+        }
+    }
+}
@@ -1,13 +1,27 @@
 package de.uni_mannheim.minie.main;
 
-import de.uni_mannheim.clausie.ClausIE;
+import de.uni_mannheim.clausie.Options;
+import de.uni_mannheim.minie.ExtractionFeatures;
 import de.uni_mannheim.minie.MinIE;
+import de.uni_mannheim.minie.annotation.AnnotatedProposition;
+import de.uni_mannheim.minie.input.ParsedSentence;
 import de.uni_mannheim.utils.Dictionary;
 import de.uni_mannheim.utils.minie.Utils;
+import edu.stanford.nlp.ling.CoreAnnotations.CharacterOffsetBeginAnnotation;
+import edu.stanford.nlp.ling.CoreAnnotations.CharacterOffsetEndAnnotation;
 import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import edu.stanford.nlp.semgraph.SemanticGraph;
+import edu.stanford.nlp.util.CoreMap;
 import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+import de.uni_mannheim.utils.coreNLP.PipelineProfile;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This class acts as a generic interface to the MinIE system
@@ -17,29 +31,32 @@ import java.io.IOException;
  */
 public class Extractor {
     private StanfordCoreNLP parser;
-    private ClausIE clausIE;
     private MinIE minIE;
     private Dictionary dictionary;
+    /** whether the default dictionary is still to be loaded, the first time dictionary mode needs it **/
+    private boolean defaultDictionary = false;
 
     /**
      * default constructor
      */
     public Extractor() {
-        // initialize the parser
-        this.parser = CoreNLPUtils.StanfordDepNNParser();
+        this(PipelineProfile.FULL);
+    }
 
-        // initialize ClausIE
-        this.clausIE = new ClausIE();
+    /**
+     * constructor with a parser profile (e.g. without NER, see PipelineProfile), with the default dictionary (which is
+     * loaded the first time it is needed in dictionary mode)
+     * @param profile: parser profile
+     */
+    public Extractor(PipelineProfile profile) {
+        // initialize the parser
+        this.parser = CoreNLPUtils.StanfordDepNNParser(profile);
 
         // initialize MinIE
         this.minIE = new MinIE();
 
-        // set up default dictionary
-        try {
-            this.setDictionary(new Dictionary(Utils.DEFAULT_DICTIONARIES));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        // the default dictionary is loaded lazily (see getDictionary)
+        this.defaultDictionary = true;
     }
 
     /**
@@ -50,8 +67,22 @@ public class Extractor {
         // initialize the parser
         this.parser = CoreNLPUtils.StanfordDepNNParser();
 
-        // initialize ClausIE
-        this.clausIE = new ClausIE();
+        // initialize MinIE
+        this.minIE = new MinIE();
+
+        // set dictionary
+        this.setDictionary(dictionary);
+    }
+
+    /**
+     * constructor with an already initialized parser, helpful when several extractors share one parser pipeline
+     * (the pipeline is only read from, so it can be shared between threads). The parser can be null if the input is
+     * already parsed (see analyzeSemanticGraph and analyzeParsedSentence), so that the CoreNLP models are not loaded.
+     * @param parser: CoreNLP pipeline
+     * @param dictionary: dictionary
+     */
+    public Extractor(StanfordCoreNLP parser, Dictionary dictionary) {
+        this.parser = parser;
 
         // initialize MinIE
         this.minIE = new MinIE();
@@ -66,6 +97,56 @@ public class Extractor {
      */
     public void setDictionary(Dictionary dictionary) {
         this.dictionary = dictionary;
+        this.defaultDictionary = false;
+    }
+
+    /**
+     * set the ClausIE options (by default, the shared options loaded from clausie.conf are used)
+     * @param options: ClausIE options
+     */
+    public void setClausIEOptions(Options options) {
+        this.minIE.setClausIEOptions(options);
+    }
+
+    /**
+     * set the optional annotation stages which are run (by default all of them), e.g. ExtractionFeatures.NONE for the
+     * bare triples
+     * @param features: the enabled stages
+     */
+    public void setExtractionFeatures(ExtractionFeatures features) {
+        this.minIE.setExtractionFeatures(features);
+    }
+
+    /**
+     * get the optional annotation stages which are run
+     * @return the enabled stages
+     */
+    public ExtractionFeatures getExtractionFeatures() {
+        return this.minIE.getExtractionFeatures();
+    }
+
+    /**
+     * get the dictionary used in dictionary mode (the default dictionary is loaded on the first call)
+     * @return dictionary
+     */
+    public Dictionary getDictionary() {
+        if (this.defaultDictionary) {
+            this.defaultDictionary = false;
+            try {
+                this.dictionary = new Dictionary(Utils.DEFAULT_DICTIONARIES);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return this.dictionary;
+    }
+
+    /**
+     * get the parser pipeline used by the extractor
+     * @return CoreNLP pipeline
+     */
+    public StanfordCoreNLP getParser() {
+        return this.parser;
     }
 
     /**
@@ -75,39 +156,116 @@ public class Extractor {
      * @return the results of MinIE
      */
     public MinIE analyzeSentence(String sentence, MinIE.Mode mode) {
-        // first reset objects
-        this.clausIE.clear();
+        // parse the sentence
+        return this.analyzeSemanticGraph(CoreNLPUtils.parse(this.parser, sentence), mode);
+    }
+
+    /**
+     * analyze an already parsed sentence using a specific mode
+     * @param semanticGraph: dependency parse of the sentence to analyze
+     * @param mode: MinIE mode
+     * @return the results of MinIE
+     */
+    public MinIE analyzeSemanticGraph(SemanticGraph semanticGraph, MinIE.Mode mode) {
+        Dictionary dictionary = mode == MinIE.Mode.DICTIONARY ? this.getDictionary() : null;
+        // the MinIE object is reused, so reset it first
         this.minIE.clear();
+        this.minIE.minimize(semanticGraph, mode, dictionary);
+        return this.minIE;
+    }
 
-        // parse the sentence
-        this.clausIE.setSemanticGraph(CoreNLPUtils.parse(this.parser, sentence));
-        // detect clauses
-        this.clausIE.detectClauses();
-        // generate propositions
-        this.clausIE.generatePropositions(this.clausIE.getSemanticGraph());
-
-        // start minimizing
-        this.minIE.setSemanticGraph(this.clausIE.getSemanticGraph());
-        this.minIE.setPropositions(this.clausIE);
-        this.minIE.setPolarity();
-        this.minIE.setModality();
-        
-        // minimize in given mode
-        switch (mode) {
-            case AGGRESSIVE:
-                this.minIE.minimizeAggressiveMode();
-                break;
-            case DICTIONARY:
-                this.minIE.minimizeDictionaryMode(this.dictionary.words());
-                break;
-            case SAFE:
-                this.minIE.minimizeSafeMode();
-                break;
-            case COMPLETE:
-                break;
+    /**
+     * analyze a sentence in several modes at once: the sentence is parsed, and ClausIE and the annotation of the 
+     * propositions run, only once (see MinIE.minimizeModes)
+     * @param sentence: sentence to analyze
+     * @param modes: MinIE modes
+     * @return the propositions of each mode
+     */
+    public EnumMap<MinIE.Mode, ObjectArrayList<AnnotatedProposition>> analyzeSentence(String sentence,
+            Collection<MinIE.Mode> modes) {
+        return this.analyzeSemanticGraph(CoreNLPUtils.parse(this.parser, sentence), modes);
+    }
+
+    /**
+     * analyze an already parsed sentence in several modes at once (see analyzeSentence(String, Collection))
+     * @param semanticGraph: dependency parse of the sentence to analyze
+     * @param modes: MinIE modes
+     * @return the propositions of each mode
+     */
+    public EnumMap<MinIE.Mode, ObjectArrayList<AnnotatedProposition>> analyzeSemanticGraph(SemanticGraph semanticGraph,
+            Collection<MinIE.Mode> modes) {
+        Dictionary dictionary = modes.contains(MinIE.Mode.DICTIONARY) ? this.getDictionary() : null;
+        this.minIE.clear();
+        EnumMap<MinIE.Mode, ObjectArrayList<AnnotatedProposition>> results =
+                this.minIE.minimize(semanticGraph, modes, dictionary);
+        for (Map.Entry<MinIE.Mode, ObjectArrayList<AnnotatedProposition>> result: results.entrySet()) {
+            // the MinIE object is reused for the next sentence, so copy the propositions out of it
+            if (result.getValue() == this.minIE.getPropositions()) {
+                result.setValue(new ObjectArrayList<>(result.getValue()));
+            }
         }
-        // remove duplicates
-        this.minIE.removeDuplicates();
-        return this.minIE;
+        return results;
+    }
+
+    /**
+     * analyze a sentence which was parsed outside of MinIE (e.g. read from CoNLL-U) using a specific mode
+     * @param sentence: the parsed sentence
+     * @param mode: MinIE mode
+     * @return the results of MinIE
+     */
+    public MinIE analyzeParsedSentence(ParsedSentence sentence, MinIE.Mode mode) {
+        return this.analyzeSemanticGraph(sentence.getSemanticGraph(), mode);
+    }
+
+    /**
+     * analyze a batch of sentences using a specific mode; all the sentences are parsed with one call to the parser
+     * @param sentences: sentences to analyze
+     * @param mode: MinIE mode
+     * @param parseThreads: number of threads used by the parser
+     * @return the propositions of each sentence, in the same order as the input sentences
+     */
+    public List<ObjectArrayList<AnnotatedProposition>> analyzeSentences(List<String> sentences, MinIE.Mode mode,
+            int parseThreads) {
+        List<ObjectArrayList<AnnotatedProposition>> results = new ArrayList<>(sentences.size());
+        for (SemanticGraph semanticGraph: CoreNLPUtils.parse(this.parser, sentences, parseThreads)) {
+            // the MinIE object is reused for the next sentence, so copy the propositions out of it
+            results.add(new ObjectArrayList<>(this.analyzeSemanticGraph(semanticGraph, mode).getPropositions()));
+        }
+        return results;
+    }
+
+    /**
+     * analyze a whole document using a specific mode: the document is annotated once and all of its sentences are
+     * analyzed (and not only the last one, as with analyzeSentence)
+     * @param document: document to analyze
+     * @param mode: MinIE mode
+     * @return the propositions of all sentences, tagged with their sentence index and character offsets
+     */
+    public ObjectArrayList<AnnotatedProposition> analyzeDocument(String document, MinIE.Mode mode) {
+        ObjectArrayList<AnnotatedProposition> propositions = new ObjectArrayList<>();
+        List<CoreMap> sentences = CoreNLPUtils.annotateDocument(this.parser, document);
+        for (int i = 0; i < sentences.size(); i++) {
+            MinIE result = this.analyzeSemanticGraph(CoreNLPUtils.getSemanticGraph(sentences.get(i)), mode);
+            propositions.addAll(tagPropositions(result.getPropositions(), i, sentences.get(i)));
+        }
+        return propositions;
+    }
+
+    /**
+     * tag propositions with the index and the character offsets of the sentence they were extracted from
+     * @param propositions: propositions of the sentence
+     * @param sentenceId: index of the sentence in the document
+     * @param sentence: the annotated sentence
+     * @return the (same) propositions
+     */
+    static ObjectArrayList<AnnotatedProposition> tagPropositions(ObjectArrayList<AnnotatedProposition> propositions,
+            int sentenceId, CoreMap sentence) {
+        int begin = sentence.get(CharacterOffsetBeginAnnotation.class);
+        int end = sentence.get(CharacterOffsetEndAnnotation.class);
+        for (AnnotatedProposition proposition: propositions) {
+            proposition.setSentenceId(sentenceId);
+            proposition.setSentenceOffsets(begin, end);
+        }
+        return propositions;
     }
 }
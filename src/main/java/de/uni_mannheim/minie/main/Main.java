@@ -18,11 +18,29 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.PrintStream;
 
+import java.nio.channels.Channels;
+import java.nio.file.Paths;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 import de.uni_mannheim.utils.Dictionary;
+import de.uni_mannheim.utils.Startup;
+import de.uni_mannheim.minie.ExtractionFeatures;
 import de.uni_mannheim.minie.MinIE;
 import de.uni_mannheim.minie.annotation.AnnotatedProposition;
+import de.uni_mannheim.minie.input.ParsedSentence;
+import de.uni_mannheim.minie.input.ParsedSentenceReader;
+import de.uni_mannheim.minie.input.ParsedSentenceReaders;
+import de.uni_mannheim.minie.metrics.Metrics;
+import de.uni_mannheim.minie.output.PropositionWriter;
+import de.uni_mannheim.minie.output.PropositionWriters;
+import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+import de.uni_mannheim.utils.coreNLP.ParseCache;
+import de.uni_mannheim.utils.coreNLP.PipelineProfile;
 import de.uni_mannheim.utils.minie.Utils;
 
 /**
@@ -68,59 +86,211 @@ public class Main {
         InputStream in = getInputStream(options);
         OutputStream out = getOutputStream(options);
         BufferedReader din = new BufferedReader(new InputStreamReader(in));
-        PrintStream dout = new PrintStream(out, true, "UTF-8");
+
+        // get output format
+        PropositionWriter writer;
+        try {
+            writer = PropositionWriters.create((String) options.valueOf("format"), Channels.newChannel(out));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
 
         // get mode
         mode = Utils.getMode((String) options.valueOf("m"));
         logger.info("Mode set to " + mode);
 
-        // initialize extractor
-        Extractor extractor;
+        // get the optional annotation stages
+        ExtractionFeatures features;
+        try {
+            features = ExtractionFeatures.parse((String) options.valueOf("features"));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+        logger.info("Annotation stages: " + features);
 
+        // already parsed input: no parser needed
+        String inputFormat = (String) options.valueOf("input-format");
+        if (!inputFormat.equalsIgnoreCase(ParsedSentenceReaders.TEXT)) {
+            ParsedSentenceReader reader;
+            try {
+                reader = ParsedSentenceReaders.create(inputFormat, din);
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                return;
+            }
+            if (options.has("threads") || options.has("batch-size") || options.has("parse-cache") || options.has("profile")) {
+                logger.info("Input is already parsed: --threads, --batch-size, --parse-cache and --profile are ignored");
+            }
+            Startup startup = new Startup();
+            Utils.loadAnnotationResources(startup);
+            CompletableFuture<Dictionary> dictionary = loadDictionary(startup, options);
+            Extractor extractor = new Extractor(null, Startup.get(dictionary));
+            extractor.setExtractionFeatures(features);
+            finishStartup(startup);
+            logger.info("\n\nSetup finished, reading " + inputFormat + " input:");
 
-        if (mode == MinIE.Mode.DICTIONARY) {
-            // load multi-word dictionaries if in dictionary mode
-            Dictionary collocationDictionary = Utils.loadDictionary(options);
-            extractor = new Extractor(collocationDictionary);
-        } else {
-            // if not use default constructor
-            extractor = new Extractor();
+            long start = System.currentTimeMillis();
+            long counter = 0;
+            ParsedSentence sentence;
+            while ((sentence = reader.read()) != null) {
+                writer.write(counter++, extractor.analyzeParsedSentence(sentence, mode).getPropositions());
+                if (!options.has("f")) writer.flush();
+            }
+            long end = System.currentTimeMillis();
+            reader.close();
+            writer.close();
+            printMetrics(options, end - start);
+            return;
         }
+
+        // get parser profile
+        PipelineProfile profile;
+        try {
+            profile = PipelineProfile.forName((String) options.valueOf("profile"));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+        logger.info(profile.describe());
+
+        // load the models, dictionaries and the parse cache in parallel
+        Startup startup = new Startup();
+        Utils.loadAnnotationResources(startup);
+        CompletableFuture<Dictionary> dictionary = loadDictionary(startup, options);
+        // reuse the parses of earlier runs, if requested
+        CompletableFuture<ParseCache> parseCache = options.has("parse-cache") ? 
+                startup.load("parse cache", () -> new ParseCache(Paths.get((String) options.valueOf("parse-cache")))) :
+                CompletableFuture.completedFuture(null);
+
+        // initialize extractor
+        Extractor extractor = new Extractor(CoreNLPUtils.StanfordDepNNParser(profile, startup), Startup.get(dictionary));
+        extractor.setExtractionFeatures(features);
+        ParseCache cache = Startup.get(parseCache);
+        if (cache != null) {
+            if (!cache.isWritable()) {
+                logger.info("Parse cache is used by another process, new parses will not be added to it");
+            }
+            logger.info("Parse cache holds " + cache.size() + " parses");
+            CoreNLPUtils.setParseCache(cache);
+        }
+        finishStartup(startup);
         logger.info("\n\nSetup finished, ready to take input sentence:");
 
+        if (options.has("threads")) {
+            // pipelined mode: reader thread -> parse/extract workers -> ordered writer
+            int threads = (Integer) options.valueOf("threads");
+            int queueSize = (Integer) options.valueOf("queue-size");
+            logger.info("Running pipelined with " + threads + " worker threads");
+            PipelinedExtractor pipeline = new PipelinedExtractor(extractor.getParser(), extractor.getDictionary(),
+                    threads, queueSize);
+            pipeline.setExtractionFeatures(features);
+            long start = System.currentTimeMillis();
+            pipeline.run(din, mode, writer);
+            in.close();
+            writer.close();
+            printMetrics(options, System.currentTimeMillis() - start);
+            return;
+        }
+
+        // get batch size and number of parser threads
+        int batchSize = (Integer) options.valueOf("batch-size");
+        int parseThreads = (Integer) options.valueOf("parse-threads");
+
         // start analyzing
         long start = System.currentTimeMillis();
         String line;
         int counter = 0;
+        List<String> batch = new ArrayList<>(Math.max(batchSize, 1));
         while ((line = din.readLine()) != null) {
             // skip empty lines
             if (line.isEmpty()) continue;
 
             //logger.info("Start analyzing sentence: " + line);
 
-            // parse sentence
-            MinIE result = extractor.analyzeSentence(line, mode);
+            if (batchSize <= 1) {
+                // parse sentence
+                MinIE result = extractor.analyzeSentence(line, mode);
 
-            // print results from MinIE
-            ObjectArrayList<AnnotatedProposition> propositions = result.getPropositions();
-            dout.println("Output:");
-            if (propositions.size() < 1) {
-                dout.println("No extraction found.");
-                dout.print("\n");
+                // write results from MinIE
+                writer.write(counter, result.getPropositions());
+                // interactive use: show the results right away
+                if (!options.has("f")) writer.flush();
             } else {
-                for (AnnotatedProposition proposition : result.getPropositions()) {
-                    dout.println(Utils.formatProposition(proposition));
+                // parse the sentences batch-wise
+                batch.add(line);
+                if (batch.size() == batchSize) {
+                    writeBatch(writer, counter - batch.size() + 1, extractor.analyzeSentences(batch, mode, parseThreads));
+                    batch.clear();
                 }
-                dout.print("\n");
             }
             counter++;
         }
+        // the last (incomplete) batch
+        if (!batch.isEmpty()) {
+            writeBatch(writer, counter - batch.size(), extractor.analyzeSentences(batch, mode, parseThreads));
+        }
         // finished analyzing
         long end = System.currentTimeMillis();
-        //logger.info("Analyzing time: " + (end - start) / 1000. + "s");
         // clean up
         in.close();
-        out.close();
+        writer.close();
+        printMetrics(options, end - start);
+    }
+
+    /**
+     * start loading the multi-word dictionaries, which are only needed in dictionary mode
+     * @param startup: loads the dictionaries
+     * @param options: option set to read the locations from
+     * @return the dictionaries (null if not in dictionary mode)
+     */
+    private static CompletableFuture<Dictionary> loadDictionary(Startup startup, OptionSet options) {
+        if (mode != MinIE.Mode.DICTIONARY) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return startup.load("MWE dictionaries", () -> Utils.loadDictionary(options));
+    }
+
+    /**
+     * waits for the resources which are still loading and logs the startup timeline
+     * @param startup: loads the resources
+     */
+    private static void finishStartup(Startup startup) {
+        startup.awaitAll();
+        startup.close();
+        logger.info(startup.getTimeline());
+    }
+
+    /**
+     * prints the analyzing time and the per-stage metrics to stderr, if requested with --metrics
+     * @param options: option set for option parser
+     * @param millis: analyzing time in ms
+     */
+    private static void printMetrics(OptionSet options, long millis) {
+        if (!options.has("metrics")) return;
+        long sentences = Metrics.getSentences();
+        System.err.println(String.format(Locale.ROOT, "Analyzing time: %.3fs (%.1f sentences/s)", millis / 1000.,
+                millis == 0 ? 0 : sentences * 1000. / millis));
+        System.err.print(Metrics.summary());
+        ParseCache cache = CoreNLPUtils.getParseCache();
+        if (cache != null) {
+            System.err.println("Parse cache: " + cache.getHits() + " hits, " + cache.getMisses() + " misses");
+        }
+    }
+
+    /**
+     * writes the propositions of a batch of sentences
+     * @param writer: proposition writer
+     * @param firstSentenceId: index of the first sentence of the batch
+     * @param batch: the propositions of each sentence of the batch
+     * @throws IOException
+     */
+    private static void writeBatch(PropositionWriter writer, int firstSentenceId,
+            List<ObjectArrayList<AnnotatedProposition>> batch) throws IOException {
+        for (int i = 0; i < batch.size(); i++) {
+            writer.write(firstSentenceId + i, batch.get(i));
+        }
     }
 
     /**
@@ -153,6 +323,60 @@ public class Main {
         optionParser
                 .accepts("dict-overwrite", "if set, the default dictionary (multi-word expressions from WordNet and Wiktionary), will be overwritten, else new dictionaries will be appended")
                 .withOptionalArg();
+        optionParser
+                .accepts("features", "optional annotation stages, as a comma-separated list of: implicit, attribution, polarity, modality, quantities; \"all\" (the default), \"none\" (bare triples), or stages to disable, e.g. \"-attribution,-implicit\"")
+                .withRequiredArg()
+                .describedAs("stages")
+                .ofType(String.class)
+                .defaultsTo("all");
+        optionParser
+                .accepts("input-format", "input format; allowed values: " + ParsedSentenceReaders.getFormats() + "; \"text\" (the default) is one sentence per line, the others are already parsed sentences (no parser is loaded)")
+                .withRequiredArg()
+                .describedAs("format")
+                .ofType(String.class)
+                .defaultsTo(ParsedSentenceReaders.TEXT);
+        optionParser
+                .accepts("format", "output format; allowed values: " + PropositionWriters.getFormats() + "; defaults to \"text\"")
+                .withRequiredArg()
+                .describedAs("format")
+                .ofType(String.class)
+                .defaultsTo(PropositionWriters.TEXT);
+        optionParser
+                .accepts("profile", "parser profile; allowed values: " + PipelineProfile.names() + "; the lighter profiles skip (parts of) NER, which is faster but degrades the features reading the NER tags; defaults to \"full\"")
+                .withRequiredArg()
+                .describedAs("profile")
+                .ofType(String.class)
+                .defaultsTo(PipelineProfile.FULL.getName());
+        optionParser
+                .accepts("batch-size", "number of sentences parsed with one call to the parser; defaults to 1 (no batching)")
+                .withRequiredArg()
+                .describedAs("sentences")
+                .ofType(Integer.class)
+                .defaultsTo(1);
+        optionParser
+                .accepts("parse-threads", "number of threads used by the parser for each batch (see --batch-size); defaults to 1")
+                .withRequiredArg()
+                .describedAs("threads")
+                .ofType(Integer.class)
+                .defaultsTo(1);
+        optionParser
+                .accepts("threads", "if set, runs pipelined: a reader thread, this many parse/extract worker threads and an ordered writer")
+                .withRequiredArg()
+                .describedAs("threads")
+                .ofType(Integer.class);
+        optionParser
+                .accepts("queue-size", "maximal number of sentences in flight in pipelined mode (see --threads); defaults to 1000")
+                .withRequiredArg()
+                .describedAs("sentences")
+                .ofType(Integer.class)
+                .defaultsTo(1000);
+        optionParser
+                .accepts("parse-cache", "directory of a persistent cache of the dependency parses: the sentences parsed in an earlier run (with the same parser configuration) are not parsed again")
+                .withRequiredArg()
+                .describedAs("directory")
+                .ofType(String.class);
+        optionParser
+                .accepts("metrics", "if set, prints the analyzing time and the latency of each extraction stage to stderr at the end");
         optionParser
                 .accepts("h", "show help");
         return optionParser;
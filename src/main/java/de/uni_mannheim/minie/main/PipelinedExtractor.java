@@ -0,0 +1,205 @@
+package de.uni_mannheim.minie.main;
+
+import de.uni_mannheim.clausie.Options;
+import de.uni_mannheim.minie.ExtractionFeatures;
+import de.uni_mannheim.minie.MinIE;
+import de.uni_mannheim.minie.annotation.AnnotatedProposition;
+import de.uni_mannheim.minie.output.PropositionWriter;
+import de.uni_mannheim.utils.Dictionary;
+
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Streaming interface to the MinIE system: a reader thread, N parse/extract workers and an ordered writer (the calling
+ * thread), linked by bounded queues. At most queueSize sentences are in flight at any time (read, but not yet
+ * written), so the memory stays flat regardless of the size of the input, while reading and writing overlap with
+ * parsing. The propositions are written in the same order as the input sentences.
+ */
+public class PipelinedExtractor {
+    private final StanfordCoreNLP parser;
+    private final Dictionary dictionary;
+    private final Options options;
+    private final int threads;
+    private final int queueSize;
+    /** The optional annotation stages run by the workers **/
+    private ExtractionFeatures features = ExtractionFeatures.ALL;
+
+    /** A sentence read from the input, together with its position **/
+    private static final class Sentence {
+        private final long seq;
+        private final String text;
+
+        private Sentence(long seq, String text) {
+            this.seq = seq;
+            this.text = text;
+        }
+    }
+
+    /** The propositions of a sentence (or the end of the input, or an error), passed from the workers to the writer **/
+    private static final class Result {
+        private final long seq;
+        private final ObjectArrayList<AnnotatedProposition> propositions;
+        private final boolean end;
+        private final Throwable error;
+
+        private Result(long seq, ObjectArrayList<AnnotatedProposition> propositions, boolean end, Throwable error) {
+            this.seq = seq;
+            this.propositions = propositions;
+            this.end = end;
+            this.error = error;
+        }
+    }
+
+    /** Marks the end of the input for the workers **/
+    private static final Sentence NO_MORE_SENTENCES = new Sentence(-1, null);
+
+    /**
+     * constructor with an already initialized parser pipeline (shared by all workers) and the default ClausIE options
+     * @param parser: CoreNLP pipeline
+     * @param dictionary: dictionary (used in dictionary mode)
+     * @param threads: number of parse/extract workers
+     * @param queueSize: maximal number of sentences in flight
+     */
+    public PipelinedExtractor(StanfordCoreNLP parser, Dictionary dictionary, int threads, int queueSize) {
+        this(parser, dictionary, Options.getDefault(), threads, queueSize);
+    }
+
+    /**
+     * constructor with an already initialized parser pipeline (shared by all workers)
+     * @param parser: CoreNLP pipeline
+     * @param dictionary: dictionary (used in dictionary mode)
+     * @param options: ClausIE options
+     * @param threads: number of parse/extract workers
+     * @param queueSize: maximal number of sentences in flight
+     */
+    public PipelinedExtractor(StanfordCoreNLP parser, Dictionary dictionary, Options options, int threads, int queueSize) {
+        if (threads < 1 || queueSize < 1) {
+            throw new IllegalArgumentException("threads and queue size must be positive");
+        }
+        this.parser = parser;
+        this.dictionary = dictionary;
+        this.options = options;
+        this.threads = threads;
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * set the optional annotation stages run by the workers (by default all of them)
+     * @param features: the enabled stages
+     */
+    public void setExtractionFeatures(ExtractionFeatures features) {
+        this.features = features;
+    }
+
+    /**
+     * read the sentences (one per line, empty lines are skipped) from the input, extract the propositions and hand them
+     * to the writer, in input order. Returns when the whole input is written.
+     * @param in: input, one sentence per line
+     * @param mode: MinIE mode
+     * @param writer: writes the propositions of each sentence, in input order (on the calling thread)
+     * @return the number of processed sentences
+     * @throws IOException if reading the input or writing the output fails
+     */
+    public long run(BufferedReader in, MinIE.Mode mode, PropositionWriter writer) throws IOException {
+        Semaphore inFlight = new Semaphore(this.queueSize);
+        BlockingQueue<Sentence> sentences = new ArrayBlockingQueue<>(this.queueSize);
+        // Never full: it holds at most queueSize results, the end marker and one error per thread
+        BlockingQueue<Result> results = new ArrayBlockingQueue<>(this.queueSize + this.threads + 2);
+
+        Thread[] pipeline = new Thread[this.threads + 1];
+        pipeline[0] = new Thread(() -> this.read(in, inFlight, sentences, results), "minie-reader");
+        for (int i = 1; i <= this.threads; i++) {
+            pipeline[i] = new Thread(() -> this.extract(mode, sentences, results), "minie-worker-" + i);
+        }
+        for (Thread thread: pipeline) {
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        // Write the results in input order; results which arrive early wait in 'pending'
+        Long2ObjectOpenHashMap<ObjectArrayList<AnnotatedProposition>> pending = new Long2ObjectOpenHashMap<>();
+        long next = 0;
+        long total = -1;
+        try {
+            while (total < 0 || next < total) {
+                Result result = results.take();
+                if (result.error != null) {
+                    if (result.error instanceof IOException) {
+                        throw (IOException) result.error;
+                    }
+                    throw new RuntimeException(result.error);
+                }
+                if (result.end) {
+                    total = result.seq;
+                    continue;
+                }
+                pending.put(result.seq, result.propositions);
+                while (pending.containsKey(next)) {
+                    writer.write(next, pending.remove(next));
+                    next++;
+                    inFlight.release();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            // Stops the reader and the workers if the writer did not finish normally
+            for (Thread thread: pipeline) {
+                thread.interrupt();
+            }
+        }
+        return total;
+    }
+
+    /** reader thread: reads the input line by line, blocking while queueSize sentences are in flight **/
+    private void read(BufferedReader in, Semaphore inFlight, BlockingQueue<Sentence> sentences,
+            BlockingQueue<Result> results) {
+        try {
+            long seq = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                // skip empty lines
+                if (line.isEmpty()) continue;
+
+                inFlight.acquire();
+                sentences.put(new Sentence(seq++, line));
+            }
+            results.put(new Result(seq, null, true, null));
+            for (int i = 0; i < this.threads; i++) {
+                sentences.put(NO_MORE_SENTENCES);
+            }
+        } catch (InterruptedException e) {
+            // the writer stopped
+        } catch (Throwable e) {
+            results.offer(new Result(-1, null, false, e));
+        }
+    }
+
+    /** worker thread: parses the sentences and extracts their propositions with its own extractor **/
+    private void extract(MinIE.Mode mode, BlockingQueue<Sentence> sentences, BlockingQueue<Result> results) {
+        Extractor extractor = new Extractor(this.parser, this.dictionary);
+        extractor.setClausIEOptions(this.options);
+        extractor.setExtractionFeatures(this.features);
+        try {
+            Sentence sentence;
+            while ((sentence = sentences.take()) != NO_MORE_SENTENCES) {
+                MinIE result = extractor.analyzeSentence(sentence.text, mode);
+                // The MinIE object is reused for the next sentence, so copy the propositions out of it
+                results.put(new Result(sentence.seq, new ObjectArrayList<>(result.getPropositions()), false, null));
+            }
+        } catch (InterruptedException e) {
+            // the writer stopped
+        } catch (Throwable e) {
+            results.offer(new Result(-1, null, false, e));
+        }
+    }
+}
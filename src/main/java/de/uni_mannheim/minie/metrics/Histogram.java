@@ -0,0 +1,121 @@
+package de.uni_mannheim.minie.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative long values (e.g. latencies in ns) with log-linear buckets, as in HDR
+ * histograms: the values 0..15 have a bucket each, and every power of two above is split into 8 equal buckets, so the
+ * relative error of the reported quantiles is at most 12.5%. Recording a value is one atomic increment (plus the
+ * count, sum and max), and the memory is fixed (488 buckets), whatever the range of the values.
+ */
+public class Histogram {
+    /** Number of sub-buckets per power of two (log2) **/
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    /** Values below this have a bucket of their own **/
+    private static final int LINEAR = 2 * SUB_COUNT;
+    private static final int LINEAR_BITS = 4;
+    private static final int BUCKETS = LINEAR + (63 - LINEAR_BITS) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /** Record a value (negative values are recorded as 0) **/
+    public void record(long value) {
+        if (value < 0)
+            value = 0;
+        this.counts.incrementAndGet(bucket(value));
+        this.count.increment();
+        this.sum.add(value);
+        if (value > this.max.get()) {
+            this.max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /** Index of the bucket of a value **/
+    private static int bucket(long value) {
+        if (value < LINEAR)
+            return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return LINEAR + (exponent - LINEAR_BITS) * SUB_COUNT + mantissa;
+    }
+
+    /** Smallest value of a bucket **/
+    private static long lowerBound(int bucket) {
+        if (bucket < LINEAR)
+            return bucket;
+        int exponent = (bucket - LINEAR) / SUB_COUNT + LINEAR_BITS;
+        int mantissa = (bucket - LINEAR) % SUB_COUNT;
+        return (long) (SUB_COUNT + mantissa) << (exponent - SUB_BITS);
+    }
+
+    /** Largest value of a bucket **/
+    private static long upperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : lowerBound(bucket + 1) - 1;
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getSum() {
+        return this.sum.sum();
+    }
+
+    public long getMax() {
+        return this.max.get();
+    }
+
+    public double getMean() {
+        long n = this.getCount();
+        return n == 0 ? 0 : (double) this.getSum() / n;
+    }
+
+    /**
+     * The value at a quantile (the upper bound of the bucket where the quantile falls, but at most the maximum)
+     * @param quantile: between 0 and 1
+     * @return the value at the quantile, or 0 if nothing was recorded
+     */
+    public long getQuantile(double quantile) {
+        long n = this.getCount();
+        if (n == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(quantile * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.counts.get(i);
+            if (seen >= rank)
+                return Math.min(upperBound(i), this.getMax());
+        }
+        return this.getMax();
+    }
+
+    /**
+     * Number of recorded values which are at most the given value (exact if the value is the upper bound of a bucket,
+     * else within the bucket precision)
+     * @param value: the upper limit
+     * @return number of values up to the limit
+     */
+    public long getCountAtMost(long value) {
+        long seen = 0;
+        for (int i = 0; i < BUCKETS && lowerBound(i) <= value; i++) {
+            seen += this.counts.get(i);
+        }
+        return seen;
+    }
+
+    /** Forget all the recorded values (not atomic with respect to concurrent recording) **/
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.counts.set(i, 0);
+        }
+        this.count.reset();
+        this.sum.reset();
+        this.max.set(0);
+    }
+}
@@ -0,0 +1,251 @@
+package de.uni_mannheim.minie.metrics;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide instrumentation of the extraction stages: a latency histogram per stage (see {@link Histogram}), the
+ * distribution of the sentence lengths and of the number of propositions per sentence, and counters of sentences,
+ * propositions and errors. Recording is lock-free, and costs one System.nanoTime() per stage; it can be switched off
+ * with {@link #setEnabled(boolean)}.
+ *
+ * A stage is timed by chaining the timestamps:
+ * <pre>
+ * long t = Metrics.start();
+ * clausie.detectClauses();
+ * t = Metrics.record(Metrics.Stage.DETECT_CLAUSES, t);
+ * clausie.generatePropositions(sg);
+ * t = Metrics.record(Metrics.Stage.GENERATE_PROPOSITIONS, t);
+ * </pre>
+ * The metrics can be written in the Prometheus text format ({@link #writePrometheus(Appendable)}) or as a readable
+ * summary ({@link #summary()}).
+ */
+public class Metrics {
+    /** The timed stages **/
+    public enum Stage {
+        /** CoreNLP annotation (per sentence) **/
+        PARSE,
+        /** ClauseDetector.detectClauses **/
+        DETECT_CLAUSES,
+        /** ClausIE.generatePropositions **/
+        GENERATE_PROPOSITIONS,
+        /** MinIE.setPropositions (implicit extractions and attribution) **/
+        SET_PROPOSITIONS,
+        /** MinIE.setPolarity and MinIE.setModality **/
+        POLARITY_MODALITY,
+        /** minimization in the chosen mode **/
+        MINIMIZATION,
+        /** MinIE.removeDuplicates **/
+        REMOVE_DUPLICATES;
+
+        private final String label = this.name().toLowerCase();
+    }
+
+    /** Upper limits (in seconds) of the exported latency buckets **/
+    private static final double [] LATENCY_BUCKETS = {0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025,
+            0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30};
+    /** Upper limits of the exported sentence length (tokens) and propositions per sentence buckets **/
+    private static final long [] LENGTH_BUCKETS = {5, 10, 20, 30, 40, 60, 80, 120, 200};
+    private static final long [] PROPOSITION_BUCKETS = {0, 1, 2, 4, 8, 16, 32, 64};
+    private static final double [] QUANTILES = {0.5, 0.9, 0.99};
+
+    private static volatile boolean enabled = true;
+
+    private static final Histogram [] STAGES = new Histogram[Stage.values().length];
+    static {
+        for (int i = 0; i < STAGES.length; i++) {
+            STAGES[i] = new Histogram();
+        }
+    }
+    private static final Histogram SENTENCE_LENGTH = new Histogram();
+    private static final Histogram SENTENCE_PROPOSITIONS = new Histogram();
+    private static final LongAdder ERRORS = new LongAdder();
+
+    private Metrics() {}
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    /** @return the current timestamp (System.nanoTime()), or 0 if the metrics are disabled **/
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record the time elapsed since the start of a stage
+     * @param stage: the stage
+     * @param start: timestamp at the start of the stage (from {@link #start()} or the previous record())
+     * @return the current timestamp, i.e. the start of the next stage (0 if the metrics are disabled)
+     */
+    public static long record(Stage stage, long start) {
+        if (!enabled || start == 0)
+            return 0;
+        long now = System.nanoTime();
+        STAGES[stage.ordinal()].record(now - start);
+        return now;
+    }
+
+    /**
+     * Record a stage which processed several sentences at once (e.g. a batch parse): the elapsed time is recorded as
+     * that many samples of the average time per sentence
+     * @param stage: the stage
+     * @param start: timestamp at the start of the stage
+     * @param sentences: number of sentences processed
+     * @return the current timestamp (0 if the metrics are disabled)
+     */
+    public static long record(Stage stage, long start, int sentences) {
+        if (!enabled || start == 0)
+            return 0;
+        long now = System.nanoTime();
+        if (sentences > 0) {
+            long average = (now - start) / sentences;
+            for (int i = 0; i < sentences; i++) {
+                STAGES[stage.ordinal()].record(average);
+            }
+        }
+        return now;
+    }
+
+    /**
+     * Record an extracted sentence
+     * @param tokens: length of the sentence in tokens
+     * @param propositions: number of propositions extracted from it
+     */
+    public static void sentence(int tokens, int propositions) {
+        if (!enabled)
+            return;
+        SENTENCE_LENGTH.record(tokens);
+        SENTENCE_PROPOSITIONS.record(propositions);
+    }
+
+    /** Record a failed extraction **/
+    public static void error() {
+        if (enabled)
+            ERRORS.increment();
+    }
+
+    /** The latency histogram (in ns) of a stage **/
+    public static Histogram getHistogram(Stage stage) {
+        return STAGES[stage.ordinal()];
+    }
+
+    public static long getSentences() {
+        return SENTENCE_LENGTH.getCount();
+    }
+
+    public static long getPropositions() {
+        return SENTENCE_PROPOSITIONS.getSum();
+    }
+
+    public static long getErrors() {
+        return ERRORS.sum();
+    }
+
+    /** Forget everything recorded so far **/
+    public static void reset() {
+        for (Histogram histogram: STAGES) {
+            histogram.reset();
+        }
+        SENTENCE_LENGTH.reset();
+        SENTENCE_PROPOSITIONS.reset();
+        ERRORS.reset();
+    }
+
+    /**
+     * Write all metrics in the Prometheus text exposition format (version 0.0.4)
+     * @param out: where to write
+     * @throws IOException
+     */
+    public static void writePrometheus(Appendable out) throws IOException {
+        out.append("# HELP minie_stage_latency_seconds Time spent per sentence in each extraction stage.\n");
+        out.append("# TYPE minie_stage_latency_seconds histogram\n");
+        for (Stage stage: Stage.values()) {
+            Histogram histogram = getHistogram(stage);
+            String labels = "stage=\"" + stage.label + "\"";
+            for (double bucket: LATENCY_BUCKETS) {
+                writeSample(out, "minie_stage_latency_seconds_bucket", labels + ",le=\"" + format(bucket) + "\"",
+                        histogram.getCountAtMost((long) (bucket * 1e9)));
+            }
+            writeSample(out, "minie_stage_latency_seconds_bucket", labels + ",le=\"+Inf\"", histogram.getCount());
+            writeSample(out, "minie_stage_latency_seconds_sum", labels, format(histogram.getSum() / 1e9));
+            writeSample(out, "minie_stage_latency_seconds_count", labels, histogram.getCount());
+        }
+
+        out.append("# HELP minie_stage_latency_quantile_seconds Latency quantiles per stage (12.5% precision).\n");
+        out.append("# TYPE minie_stage_latency_quantile_seconds gauge\n");
+        for (Stage stage: Stage.values()) {
+            Histogram histogram = getHistogram(stage);
+            for (double quantile: QUANTILES) {
+                writeSample(out, "minie_stage_latency_quantile_seconds", "stage=\"" + stage.label + "\",quantile=\""
+                        + format(quantile) + "\"", format(histogram.getQuantile(quantile) / 1e9));
+            }
+            writeSample(out, "minie_stage_latency_quantile_seconds", "stage=\"" + stage.label + "\",quantile=\"1\"",
+                    format(histogram.getMax() / 1e9));
+        }
+
+        writeCountHistogram(out, "minie_sentence_tokens", "Length of the extracted sentences in tokens.",
+                SENTENCE_LENGTH, LENGTH_BUCKETS);
+        writeCountHistogram(out, "minie_sentence_propositions", "Number of propositions per extracted sentence.",
+                SENTENCE_PROPOSITIONS, PROPOSITION_BUCKETS);
+
+        out.append("# HELP minie_sentences_total Number of extracted sentences.\n");
+        out.append("# TYPE minie_sentences_total counter\n");
+        writeSample(out, "minie_sentences_total", null, getSentences());
+        out.append("# HELP minie_propositions_total Number of extracted propositions.\n");
+        out.append("# TYPE minie_propositions_total counter\n");
+        writeSample(out, "minie_propositions_total", null, getPropositions());
+        out.append("# HELP minie_errors_total Number of failed extractions.\n");
+        out.append("# TYPE minie_errors_total counter\n");
+        writeSample(out, "minie_errors_total", null, getErrors());
+    }
+
+    private static void writeCountHistogram(Appendable out, String name, String help, Histogram histogram,
+            long [] buckets) throws IOException {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" histogram\n");
+        for (long bucket: buckets) {
+            writeSample(out, name + "_bucket", "le=\"" + bucket + "\"", histogram.getCountAtMost(bucket));
+        }
+        writeSample(out, name + "_bucket", "le=\"+Inf\"", histogram.getCount());
+        writeSample(out, name + "_sum", null, histogram.getSum());
+        writeSample(out, name + "_count", null, histogram.getCount());
+    }
+
+    private static void writeSample(Appendable out, String name, String labels, Object value) throws IOException {
+        out.append(name);
+        if (labels != null)
+            out.append('{').append(labels).append('}');
+        out.append(' ').append(String.valueOf(value)).append('\n');
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.9g", value).replaceAll("\\.?0+(e|$)", "$1");
+    }
+
+    /** A readable report of the stage latencies and counters (e.g. for the end of a CLI run) **/
+    public static String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-22s %10s %10s %10s %10s %10s %10s %7s%n", "stage", "count",
+                "mean ms", "p50 ms", "p90 ms", "p99 ms", "max ms", "share"));
+        long total = 0;
+        for (Stage stage: Stage.values()) {
+            total += getHistogram(stage).getSum();
+        }
+        for (Stage stage: Stage.values()) {
+            Histogram h = getHistogram(stage);
+            sb.append(String.format(Locale.ROOT, "%-22s %10d %10.3f %10.3f %10.3f %10.3f %10.3f %6.1f%%%n",
+                    stage.label, h.getCount(), h.getMean() / 1e6, h.getQuantile(0.5) / 1e6, h.getQuantile(0.9) / 1e6,
+                    h.getQuantile(0.99) / 1e6, h.getMax() / 1e6, total == 0 ? 0 : 100.0 * h.getSum() / total));
+        }
+        sb.append(String.format(Locale.ROOT, "sentences: %d (mean length %.1f tokens, max %d), propositions: %d "
+                + "(%.2f per sentence), errors: %d%n", getSentences(), SENTENCE_LENGTH.getMean(),
+                SENTENCE_LENGTH.getMax(), getPropositions(), SENTENCE_PROPOSITIONS.getMean(), getErrors()));
+        return sb.toString();
+    }
+}
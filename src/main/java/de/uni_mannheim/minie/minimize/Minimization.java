@@ -12,12 +12,13 @@ import de.uni_mannheim.constant.WORDS;
 import de.uni_mannheim.minie.annotation.AnnotatedPhrase;
 import de.uni_mannheim.minie.annotation.Polarity;
 import de.uni_mannheim.minie.subconstituent.SubConstituent;
+import de.uni_mannheim.utils.Dictionary;
 import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+import de.uni_mannheim.utils.PatternRegistry;
 
 import edu.stanford.nlp.ling.CoreLabel;
 import edu.stanford.nlp.ling.IndexedWord;
 import edu.stanford.nlp.ling.tokensregex.TokenSequenceMatcher;
-import edu.stanford.nlp.ling.tokensregex.TokenSequencePattern;
 import edu.stanford.nlp.semgraph.SemanticGraph;
 import edu.stanford.nlp.semgraph.SemanticGraphEdge;
 import edu.stanford.nlp.trees.EnglishGrammaticalRelations;
@@ -31,7 +32,6 @@ import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
  * @param phrase: the phrase being considered for minimization
  * @param sg: the semantic graph of the sentence from which the phrase is derived
  * @param droppedWords: set of words being dropped
- * @param tPattern: reusable variable (token regex pattern)
  * @param tMatcher: reusable variable (token regex matcher)
  * @param mwe: dictionary of multi-word expressions
  *
@@ -41,8 +41,7 @@ public class Minimization {
 
     private AnnotatedPhrase phrase;
     private SemanticGraph sg;
-    private ObjectOpenHashSet<String> mwe;
-    private TokenSequencePattern tPattern;
+    private Dictionary mwe;
     private TokenSequenceMatcher tMatcher;
     
     
@@ -50,14 +49,17 @@ public class Minimization {
     public Minimization(){
         this.sg = null;
         this.phrase = null;
-        this.mwe = new ObjectOpenHashSet<String>();
-        this.tPattern = null;
+        this.mwe = new Dictionary();
         this.tMatcher = null;
     }
     
     /** When phrase and semantic graph are given, initialize those, but the rest are empty fields **/
     public Minimization(AnnotatedPhrase phrase, SemanticGraph sg, ObjectOpenHashSet<String> mwe) {
-        this.tPattern = null;
+        this(phrase, sg, new Dictionary(mwe));
+    }
+    
+    /** When phrase, semantic graph and the dictionary of multi-word expressions are given **/
+    public Minimization(AnnotatedPhrase phrase, SemanticGraph sg, Dictionary mwe) {
         this.tMatcher = null;
         this.phrase = phrase;
         this.sg = sg;
@@ -72,8 +74,7 @@ public class Minimization {
         boolean containsNEG;
         
         // If (DT+ [RB|JJ|VB]* NN+) => drop DT+
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_DT_OPT_RB_JJ_VB_OPT_NN);
-        this.tMatcher = tPattern.getMatcher(this.phrase.getWordCoreLabelList());
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_DT_OPT_RB_JJ_VB_OPT_NN, this.phrase.getWordCoreLabelList());
         while (this.tMatcher.find()){         
             matchCoreMaps = tMatcher.groupNodes();
                         
@@ -92,8 +93,7 @@ public class Minimization {
         }
         
         // Clean the other safe determiners
-        this.tPattern = TokenSequencePattern.compile(REGEX.SAFE_DETERMINER);
-        this.tMatcher = tPattern.getMatcher(this.phrase.getWordCoreLabelList());
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.SAFE_DETERMINER, this.phrase.getWordCoreLabelList());
         while (this.tMatcher.find()){   
             matchCoreMaps = tMatcher.groupNodes();
             CoreLabel cl = new CoreLabel(matchCoreMaps.get(0));
@@ -112,8 +112,7 @@ public class Minimization {
         }
         
         // If ([DT|RB|JJ|VB]* PRP$ [DT|RB|JJ|VB]* NN+) => drop PRP$
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_PR_NP);
-        this.tMatcher = tPattern.getMatcher(this.phrase.getWordCoreLabelList());
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_PR_NP, this.phrase.getWordCoreLabelList());
         while (this.tMatcher.find()){         
             matchCoreMaps = tMatcher.groupNodes();
                         
@@ -208,8 +207,7 @@ public class Minimization {
         boolean containsNEG;
         boolean hasDT = false;
         
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_DT_VB_NN_END);
-        this.tMatcher = tPattern.getMatcher(this.phrase.getWordCoreLabelList());
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_DT_VB_NN_END, this.phrase.getWordCoreLabelList());
         while (this.tMatcher.find()){
             matchWords = tMatcher.groupNodes();
             
@@ -301,8 +299,7 @@ public class Minimization {
         boolean isPRP;
         
         // If ([DT|RB|JJ|PR]* NN+) => drop [DT|RB|JJ|PR]+
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_DT_RB_JJ_PR_NN);
-        this.tMatcher = tPattern.getMatcher(this.phrase.getWordCoreLabelList());
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_DT_RB_JJ_PR_NN, this.phrase.getWordCoreLabelList());
         while (this.tMatcher.find()){         
             matchCoreMaps = tMatcher.groupNodes();
 
@@ -365,8 +362,7 @@ public class Minimization {
         boolean containsNEG;
         
         // If the relation starts with a RB+ VB+, drop RB+
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_RB_VB);
-        this.tMatcher = tPattern.getMatcher(this.phrase.getWordCoreLabelList());
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_RB_VB, this.phrase.getWordCoreLabelList());
         while (this.tMatcher.find()){   
             matchWords = tMatcher.groupNodes();
             
@@ -414,8 +410,7 @@ public class Minimization {
         
               
         // If (.* DT+ [RB|JJ]* NER+ .*) => drop (DT+)
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_DT_OPT_RB_JJ_OPT_ENTITY);
-        this.tMatcher = tPattern.getMatcher(this.phrase.getWordCoreLabelList());
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_DT_OPT_RB_JJ_OPT_ENTITY, this.phrase.getWordCoreLabelList());
         while (this.tMatcher.find()){         
             matchWords = tMatcher.groupNodes();
             
@@ -438,8 +433,7 @@ public class Minimization {
         remWords.clear();
         
         // If NP PERSON+ => drop NP
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_NP_PERSON);
-        this.tMatcher = tPattern.getMatcher(this.phrase.getWordCoreLabelList());
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_NP_PERSON, this.phrase.getWordCoreLabelList());
         while (this.tMatcher.find()){
             matchWords = tMatcher.groupNodes();
             for (CoreMap cm: matchWords){
@@ -453,8 +447,7 @@ public class Minimization {
         }
         
         // If ORG+ POS? NP PERSON+ => "PERSON" "is NP of" "ORG" drop (ORG+ POS? NP)
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_ORG_PERSON);
-        this.tMatcher = tPattern.getMatcher(this.phrase.getWordCoreLabelList());
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_ORG_PERSON, this.phrase.getWordCoreLabelList());
         while (this.tMatcher.find()){
             matchWords = tMatcher.groupNodes();
             for (CoreMap cm: matchWords){
@@ -468,8 +461,7 @@ public class Minimization {
         }
         
         // Hearst pattern 1: if "NP_1 such as NP_2", drop "NP_1 such as"
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_HEARST_1);
-        this.tMatcher = this.tPattern.getMatcher(this.phrase.getWordCoreLabelList());
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_HEARST_1, this.phrase.getWordCoreLabelList());
         while (this.tMatcher.find()){  
             matchWords = tMatcher.groupNodes();
             
@@ -496,8 +488,7 @@ public class Minimization {
         }
         
         // Hearst pattern 2: if "NP_1 like NP_2" => drop "NP_1 like" 
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_HEARST_2);
-        this.tMatcher = this.tPattern.getMatcher(this.phrase.getWordCoreLabelList());
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_HEARST_2, this.phrase.getWordCoreLabelList());
         while (this.tMatcher.find()){  
             matchWords = tMatcher.groupNodes();
             for (int i = 0; i < matchWords.size(); i++){
@@ -514,8 +505,7 @@ public class Minimization {
         }
         
         // If ORG IN LOC => drop IN LOC
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_ORG_IN_LOC);
-        this.tMatcher = this.tPattern.getMatcher(this.phrase.getWordCoreLabelList());
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_ORG_IN_LOC, this.phrase.getWordCoreLabelList());
         while (this.tMatcher.find()){  
             matchWords = tMatcher.groupNodes();
             for (int i = 0; i < matchWords.size(); i++){
@@ -547,8 +537,7 @@ public class Minimization {
     /** Given a phrase, if it contains NERs, make a dictionary minimization around them **/
     public void namedEntityDictionaryMinimization(List<CoreMap> remWords, List<CoreMap> matchWords){
         // If (.* DT+ [RB|JJ]* NER+ .*) => drop (DT+)
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_RB_JJ_NER);
-        this.tMatcher = tPattern.getMatcher(this.phrase.getWordCoreLabelList());
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_RB_JJ_NER, this.phrase.getWordCoreLabelList());
         while (this.tMatcher.find()){         
             matchWords = tMatcher.groupNodes();
             
@@ -577,9 +566,9 @@ public class Minimization {
      * @return
      */
     public boolean isInDictionary(ObjectArrayList<IndexedWord> words){
-        if (this.mwe.contains(CoreNLPUtils.listOfWordsToLemmaString(words)))
+        if (this.mwe.containsWords(words, true))
             return true;
-        if (this.mwe.contains(CoreNLPUtils.listOfWordsToWordsString(words)))
+        if (this.mwe.containsWords(words, false))
             return true;
         return false;
     }
@@ -627,7 +616,7 @@ public class Minimization {
     public SemanticGraph getSemanticGraph(){
         return this.sg;
     }
-    public ObjectOpenHashSet<String> getMwe(){
+    public Dictionary getMwe(){
         return this.mwe;
     }
 }
@@ -10,13 +10,13 @@ import de.uni_mannheim.minie.annotation.Quantity;
 
 import edu.stanford.nlp.ling.IndexedWord;
 import edu.stanford.nlp.ling.tokensregex.TokenSequenceMatcher;
-import edu.stanford.nlp.ling.tokensregex.TokenSequencePattern;
 import edu.stanford.nlp.semgraph.SemanticGraph;
 import edu.stanford.nlp.trees.EnglishGrammaticalRelations;
 import edu.stanford.nlp.trees.GrammaticalRelation;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 
 import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+import de.uni_mannheim.utils.PatternRegistry;
 
 /**
  * @author Kiril Gashteovski
@@ -35,7 +35,7 @@ public class ObjAggressiveMinimization {
         
         // Don't minimize if the phrase is a multi word NER or multiple nouns in a sequence
         String seqPosNer = CoreNLPUtils.wordsToPosMergedNerSeq(object.getWordList());
-        if (seqPosNer.matches(REGEX.MULTI_WORD_ENTITY) || seqPosNer.matches(REGEX.MULTI_WORD_NOUN)){
+        if (PatternRegistry.matches(REGEX.MULTI_WORD_ENTITY, seqPosNer) || PatternRegistry.matches(REGEX.MULTI_WORD_NOUN, seqPosNer)){
             return;
         }
         
@@ -86,8 +86,7 @@ public class ObjAggressiveMinimization {
         dropWords.clear();
         
         // If [IN|TO] .* [IN|TO] => drop [IN|TO] .*, i.e. -> drop PP attachments
-        TokenSequencePattern tPattern = TokenSequencePattern.compile(REGEX.T_PREP_ALL_PREP);
-        TokenSequenceMatcher tMatcher = tPattern.getMatcher(object.getWordCoreLabelList());
+        TokenSequenceMatcher tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_PREP_ALL_PREP, object.getWordCoreLabelList());
         ObjectArrayList<IndexedWord> matchedWords = new ObjectArrayList<>();
         while (tMatcher.find()){
             matchedWords = CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(tMatcher.groupNodes());
@@ -112,8 +111,7 @@ public class ObjAggressiveMinimization {
         // TODO: if QUANT + NP + IN => drop "QUANT + NP" ?
         
         // If VB_1+ TO VB_2 => drop VB_1+ TO .*
-        tPattern = TokenSequencePattern.compile(REGEX.T_VB_TO_VB);
-        tMatcher = tPattern.getMatcher(object.getWordCoreLabelList());
+        tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_VB_TO_VB, object.getWordCoreLabelList());
         matchedWords = new ObjectArrayList<>();
         while (tMatcher.find()){
             matchedWords = CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(tMatcher.groupNodes());
@@ -5,8 +5,8 @@ import java.util.List;
 
 import de.uni_mannheim.minie.annotation.AnnotatedPhrase;
 import de.uni_mannheim.minie.minimize.Minimization;
+import de.uni_mannheim.utils.Dictionary;
 import de.uni_mannheim.minie.minimize.object.ObjSafeMinimization;
-import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
 
 import edu.stanford.nlp.semgraph.SemanticGraph;
 import edu.stanford.nlp.util.CoreMap;
@@ -23,11 +23,16 @@ public class ObjDictionaryMinimization {
      * @param freqObjs: dictionary of multi-word expressions (frequent objects)
      */
     public static void minimizeObject(AnnotatedPhrase obj, SemanticGraph sg, ObjectOpenHashSet<String> collocations){
+        minimizeObject(obj, sg, new Dictionary(collocations));
+    }
+    
+    /** Same as above, with a dictionary (which may be memory-mapped) instead of a set of strings **/
+    public static void minimizeObject(AnnotatedPhrase obj, SemanticGraph sg, Dictionary collocations){
         // Do the safe minimization first
         ObjSafeMinimization.minimizeObject(obj, sg);
         
         // If the object is frequent, don't minimize anything
-        if (collocations.contains(CoreNLPUtils.listOfWordsToLemmaString(obj.getWordList()).toLowerCase())){
+        if (collocations.contains(obj.getWordsLemmaLowercase())){
             return;
         }
         
@@ -10,13 +10,13 @@ import de.uni_mannheim.minie.annotation.Quantity;
 
 import edu.stanford.nlp.ling.IndexedWord;
 import edu.stanford.nlp.ling.tokensregex.TokenSequenceMatcher;
-import edu.stanford.nlp.ling.tokensregex.TokenSequencePattern;
 import edu.stanford.nlp.semgraph.SemanticGraph;
 import edu.stanford.nlp.trees.EnglishGrammaticalRelations;
 import edu.stanford.nlp.trees.GrammaticalRelation;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 
 import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+import de.uni_mannheim.utils.PatternRegistry;
 
 /**
  * @author Kiril Gashteovski
@@ -79,8 +79,7 @@ public class RelAggressiveMinimization {
         dropWords.clear();
         
         // If [IN|TO] .* [IN|TO] => drop [IN|TO] .*, i.e. -> drop PP attachments
-        TokenSequencePattern tPattern = TokenSequencePattern.compile(REGEX.T_PREP_ALL_PREP);
-        TokenSequenceMatcher tMatcher = tPattern.getMatcher(relation.getWordCoreLabelList());
+        TokenSequenceMatcher tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_PREP_ALL_PREP, relation.getWordCoreLabelList());
         ObjectArrayList<IndexedWord> matchedWords = new ObjectArrayList<>();
         while (tMatcher.find()){
             matchedWords = CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(tMatcher.groupNodes());
@@ -105,8 +104,7 @@ public class RelAggressiveMinimization {
         // TODO: if QUANT + NP + IN => drop "QUANT + NP" ?
         
         // If VB_1+ TO VB_2 => drop VB_1+ TO .*
-        tPattern = TokenSequencePattern.compile(REGEX.T_VB_TO_VB);
-        tMatcher = tPattern.getMatcher(relation.getWordCoreLabelList());
+        tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_VB_TO_VB, relation.getWordCoreLabelList());
         matchedWords = new ObjectArrayList<>();
         while (tMatcher.find()){
             matchedWords = CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(tMatcher.groupNodes());
@@ -5,13 +5,13 @@ import java.util.List;
 
 import de.uni_mannheim.minie.annotation.AnnotatedPhrase;
 import de.uni_mannheim.minie.minimize.Minimization;
+import de.uni_mannheim.utils.Dictionary;
 import de.uni_mannheim.minie.minimize.relation.RelSafeMinimization;
 
 import edu.stanford.nlp.semgraph.SemanticGraph;
 import edu.stanford.nlp.util.CoreMap;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 
-import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
 
 /**
  * @author Kiril Gashteovski
@@ -24,11 +24,16 @@ public class RelDictionaryMinimization {
      * @param freqRels: dictionary of multi-word expressions (frequent relations)
      */
     public static void minimizeRelation(AnnotatedPhrase rel, SemanticGraph sg, ObjectOpenHashSet<String> collocations){
+        minimizeRelation(rel, sg, new Dictionary(collocations));
+    }
+    
+    /** Same as above, with a dictionary (which may be memory-mapped) instead of a set of strings **/
+    public static void minimizeRelation(AnnotatedPhrase rel, SemanticGraph sg, Dictionary collocations){
         // Do the safe minimization first
         RelSafeMinimization.minimizeRelation(rel, sg);
         
         // If the subject is frequent, don't minimize anything
-        if (collocations.contains(CoreNLPUtils.listOfWordsToLemmaString(rel.getWordList()).toLowerCase())){
+        if (collocations.contains(rel.getWordsLemmaLowercase())){
             return;
         }
         
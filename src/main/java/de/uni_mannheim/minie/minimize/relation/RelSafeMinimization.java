@@ -9,10 +9,10 @@ import de.uni_mannheim.minie.annotation.AnnotatedPhrase;
 import de.uni_mannheim.minie.annotation.Polarity;
 import de.uni_mannheim.minie.minimize.Minimization;
 import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+import de.uni_mannheim.utils.PatternRegistry;
 
 import edu.stanford.nlp.ling.IndexedWord;
 import edu.stanford.nlp.ling.tokensregex.TokenSequenceMatcher;
-import edu.stanford.nlp.ling.tokensregex.TokenSequencePattern;
 import edu.stanford.nlp.semgraph.SemanticGraph;
 import edu.stanford.nlp.util.CoreMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
@@ -80,8 +80,7 @@ public class RelSafeMinimization {
         boolean isAdverb;
         
         // If ^VB+ RB+ VB+ => drop RB+
-        TokenSequencePattern tPattern = TokenSequencePattern.compile(REGEX.T_VB_RB_VB);
-        TokenSequenceMatcher tMatcher = tPattern.getMatcher(rel.getWordCoreLabelList());
+        TokenSequenceMatcher tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_VB_RB_VB, rel.getWordCoreLabelList());
         while (tMatcher.find()){         
             matchedWords = CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(tMatcher.groupNodes());
             // Check if the first word of the matched words is the first word of the relation
@@ -114,8 +113,7 @@ public class RelSafeMinimization {
         }
         
         // If ^VB+ RB+ => drop RB+
-        tPattern = TokenSequencePattern.compile(REGEX.T_VB_RB);
-        tMatcher = tPattern.getMatcher(rel.getWordCoreLabelList());
+        tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_VB_RB, rel.getWordCoreLabelList());
         while (tMatcher.find()){         
             matchedWords = CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(tMatcher.groupNodes());
             // Check if the first word of the matched words is the first word of the relation
@@ -8,10 +8,10 @@ import de.uni_mannheim.constant.REGEX;
 import de.uni_mannheim.minie.annotation.AnnotatedPhrase;
 import de.uni_mannheim.minie.annotation.Quantity;
 import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+import de.uni_mannheim.utils.PatternRegistry;
 
 import edu.stanford.nlp.ling.IndexedWord;
 import edu.stanford.nlp.ling.tokensregex.TokenSequenceMatcher;
-import edu.stanford.nlp.ling.tokensregex.TokenSequencePattern;
 import edu.stanford.nlp.semgraph.SemanticGraph;
 import edu.stanford.nlp.trees.EnglishGrammaticalRelations;
 import edu.stanford.nlp.trees.GrammaticalRelation;
@@ -31,7 +31,7 @@ public class SubjAggressiveMinimization {
         }
         // Don't minimize if the phrase is a multi word NER or multiple nouns in a sequence
         String seqPosNer = CoreNLPUtils.wordsToPosMergedNerSeq(subject.getWordList());
-        if (seqPosNer.matches(REGEX.MULTI_WORD_ENTITY) || seqPosNer.matches(REGEX.MULTI_WORD_NOUN)){
+        if (PatternRegistry.matches(REGEX.MULTI_WORD_ENTITY, seqPosNer) || PatternRegistry.matches(REGEX.MULTI_WORD_NOUN, seqPosNer)){
             return;
         }
         
@@ -79,8 +79,7 @@ public class SubjAggressiveMinimization {
         dropWords.clear();        
         
         // If [IN|TO] .* [IN|TO] => drop [IN|TO] .*, i.e. -> drop PP attachments
-        TokenSequencePattern tPattern = TokenSequencePattern.compile(REGEX.T_PREP_ALL_PREP);
-        TokenSequenceMatcher tMatcher = tPattern.getMatcher(subject.getWordCoreLabelList());
+        TokenSequenceMatcher tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_PREP_ALL_PREP, subject.getWordCoreLabelList());
         ObjectArrayList<IndexedWord> matchedWords = new ObjectArrayList<>();
         while (tMatcher.find()){
             matchedWords = CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(tMatcher.groupNodes());
@@ -104,8 +103,7 @@ public class SubjAggressiveMinimization {
         // TODO: if QUANT + NP + IN => drop "QUANT + NP" ?
         
         // If VB_1+ TO VB_2 => drop VB_1+ TO .*
-        tPattern = TokenSequencePattern.compile(REGEX.T_VB_TO_VB);
-        tMatcher = tPattern.getMatcher(subject.getWordCoreLabelList());
+        tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_VB_TO_VB, subject.getWordCoreLabelList());
          matchedWords = new ObjectArrayList<>();
         while (tMatcher.find()){
             matchedWords = CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(tMatcher.groupNodes());
@@ -5,8 +5,8 @@ import java.util.List;
 
 import de.uni_mannheim.minie.annotation.AnnotatedPhrase;
 import de.uni_mannheim.minie.minimize.Minimization;
+import de.uni_mannheim.utils.Dictionary;
 import de.uni_mannheim.minie.minimize.subject.SubjSafeMinimization;
-import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
 
 import edu.stanford.nlp.semgraph.SemanticGraph;
 import edu.stanford.nlp.util.CoreMap;
@@ -22,11 +22,16 @@ import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 **/
 public class SubjDictionaryMinimization {
     public static void minimizeSubject(AnnotatedPhrase subject, SemanticGraph sg, ObjectOpenHashSet<String> collocations){
+        minimizeSubject(subject, sg, new Dictionary(collocations));
+    }
+    
+    /** Same as above, with a dictionary (which may be memory-mapped) instead of a set of strings **/
+    public static void minimizeSubject(AnnotatedPhrase subject, SemanticGraph sg, Dictionary collocations){
         // Do the safe minimization first
         SubjSafeMinimization.minimizeSubject(subject, sg);
         
         // If the subject is frequent, don't minimize anything
-        if (collocations.contains(CoreNLPUtils.listOfWordsToLemmaString(subject.getWordList()).toLowerCase())){
+        if (collocations.contains(subject.getWordsLemmaLowercase())){
             return;
         }
         
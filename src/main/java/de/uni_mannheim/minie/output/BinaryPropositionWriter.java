@@ -0,0 +1,107 @@
+package de.uni_mannheim.minie.output;
+
+import de.uni_mannheim.minie.annotation.AnnotatedPhrase;
+import de.uni_mannheim.minie.annotation.AnnotatedProposition;
+import de.uni_mannheim.minie.annotation.Attribution;
+import de.uni_mannheim.minie.annotation.Modality;
+import de.uni_mannheim.minie.annotation.Polarity;
+import de.uni_mannheim.minie.annotation.Quantity;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes the propositions in a compact, length-prefixed binary format (big-endian). The stream starts with the magic
+ * bytes "MNIE" and a version byte, followed by one record per sentence:
+ * <pre>
+ * sentence    := long sentenceId, int #propositions, proposition*
+ * proposition := string subject, string relation, string object, byte polarity, byte modality,
+ *                byte hasAttribution, [string phrase, string predicate, byte polarity, byte modality],
+ *                int #quantities, (string id, string phrase)*
+ * string      := int length (in bytes), UTF-8 bytes
+ * </pre>
+ * Polarity is 0 for positive, 1 for negative; modality is 0 for certainty, 1 for possibility.
+ */
+public class BinaryPropositionWriter extends ChannelPropositionWriter {
+    /** Magic bytes and version of the format **/
+    public static final byte[] MAGIC = {'M', 'N', 'I', 'E'};
+    public static final byte VERSION = 1;
+
+    private boolean headerWritten = false;
+
+    public BinaryPropositionWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public BinaryPropositionWriter(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+    }
+
+    @Override
+    public void write(long sentenceId, ObjectArrayList<AnnotatedProposition> propositions) throws IOException {
+        this.writeHeader();
+        this.putLong(sentenceId);
+        this.putInt(propositions.size());
+        for (AnnotatedProposition proposition: propositions) {
+            this.putString(proposition.getSubject());
+            this.putString(proposition.getRelation());
+            this.putString(proposition.getObject());
+            this.putByte(polarityCode(proposition.getPolarity().getType()));
+            this.putByte(modalityCode(proposition.getModality().getModalityType()));
+            if (hasAttribution(proposition)) {
+                Attribution attribution = proposition.getAttribution();
+                this.putByte(1);
+                this.putString(attribution.getAttributionPhrase());
+                this.putString(attribution.getPredicateVerb());
+                this.putByte(polarityCode(attribution.getPolarityType()));
+                this.putByte(modalityCode(attribution.getModalityType()));
+            } else {
+                this.putByte(0);
+            }
+            ObjectArrayList<Quantity> quantities = getQuantities(proposition);
+            this.putInt(quantities.size());
+            for (Quantity quantity: quantities) {
+                this.putString(quantity.getId());
+                this.putInt(utf8Length(quantity));
+                this.putQuantityWords(quantity);
+            }
+        }
+    }
+
+    /** the header is written before the first record (also for an empty output, on flush) **/
+    private void writeHeader() throws IOException {
+        if (!this.headerWritten) {
+            for (byte b: MAGIC) {
+                this.putByte(b);
+            }
+            this.putByte(VERSION);
+            this.headerWritten = true;
+        }
+    }
+
+    private void putString(AnnotatedPhrase phrase) throws IOException {
+        this.putInt(utf8Length(phrase));
+        this.putWords(phrase);
+    }
+
+    private void putString(CharSequence text) throws IOException {
+        this.putInt(utf8Length(text));
+        this.putText(text);
+    }
+
+    private static int polarityCode(Polarity.Type polarity) {
+        return polarity == Polarity.Type.POSITIVE ? 0 : 1;
+    }
+
+    private static int modalityCode(Modality.Type modality) {
+        return modality == Modality.Type.CERTAINTY ? 0 : 1;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.writeHeader();
+        super.flush();
+    }
+}
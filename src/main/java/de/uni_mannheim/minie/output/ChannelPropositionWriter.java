@@ -0,0 +1,207 @@
+package de.uni_mannheim.minie.output;
+
+import de.uni_mannheim.minie.annotation.AnnotatedPhrase;
+import de.uni_mannheim.minie.annotation.AnnotatedProposition;
+import de.uni_mannheim.minie.annotation.Modality;
+import de.uni_mannheim.minie.annotation.Polarity;
+import de.uni_mannheim.minie.annotation.Quantity;
+
+import edu.stanford.nlp.ling.IndexedWord;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Base class for the proposition writers which write to an NIO channel. The output is encoded (as UTF-8) directly
+ * into one reusable byte buffer, word by word, so no intermediate strings are built per field; the buffer is written
+ * to the channel whenever it is full.
+ */
+public abstract class ChannelPropositionWriter implements PropositionWriter {
+    /** Default size of the output buffer (in bytes) **/
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    /**
+     * @param channel: the channel to write to (closed when the writer is closed)
+     * @param bufferSize: size of the output buffer (in bytes)
+     */
+    protected ChannelPropositionWriter(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, 16));
+    }
+
+    /** make sure that there is space for n more bytes in the buffer **/
+    private void ensure(int n) throws IOException {
+        if (this.buffer.remaining() < n) {
+            this.drain();
+        }
+    }
+
+    /** write the content of the buffer to the channel **/
+    private void drain() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    protected void putByte(int b) throws IOException {
+        this.ensure(1);
+        this.buffer.put((byte) b);
+    }
+
+    protected void putInt(int i) throws IOException {
+        this.ensure(4);
+        this.buffer.putInt(i);
+    }
+
+    protected void putLong(long l) throws IOException {
+        this.ensure(8);
+        this.buffer.putLong(l);
+    }
+
+    /** write the decimal representation of a number **/
+    protected void putDecimal(long l) throws IOException {
+        if (l < 0) {
+            this.putByte('-');
+            if (l == Long.MIN_VALUE) {
+                this.putText("9223372036854775808");
+                return;
+            }
+            l = -l;
+        }
+        long div = 1;
+        while (div <= l / 10) {
+            div *= 10;
+        }
+        for (; div > 0; div /= 10) {
+            this.putByte('0' + (int) (l / div % 10));
+        }
+    }
+
+    /** write one Unicode code point, encoded as UTF-8 **/
+    protected void putCodePoint(int cp) throws IOException {
+        this.ensure(4);
+        if (cp < 0x80) {
+            this.buffer.put((byte) cp);
+        } else if (cp < 0x800) {
+            this.buffer.put((byte) (0xC0 | (cp >> 6)));
+            this.buffer.put((byte) (0x80 | (cp & 0x3F)));
+        } else if (cp < 0x10000) {
+            this.buffer.put((byte) (0xE0 | (cp >> 12)));
+            this.buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+            this.buffer.put((byte) (0x80 | (cp & 0x3F)));
+        } else {
+            this.buffer.put((byte) (0xF0 | (cp >> 18)));
+            this.buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+            this.buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+            this.buffer.put((byte) (0x80 | (cp & 0x3F)));
+        }
+    }
+
+    /**
+     * write a piece of text (a word, a lemma, ...). By default, the text is written as it is (UTF-8); formats which need
+     * escaping override this method.
+     * @param text: the text to write
+     * @throws IOException
+     */
+    protected void putText(CharSequence text) throws IOException {
+        for (int i = 0; i < text.length(); ) {
+            int cp = Character.codePointAt(text, i);
+            this.putCodePoint(cp);
+            i += Character.charCount(cp);
+        }
+    }
+
+    /** write the words of a phrase, separated with a space (same as AnnotatedPhrase.toString()) **/
+    protected void putWords(AnnotatedPhrase phrase) throws IOException {
+        ObjectArrayList<IndexedWord> words = phrase.getWordList();
+        for (int i = 0; i < words.size(); i++) {
+            if (i > 0) this.putByte(' ');
+            this.putText(words.get(i).word());
+        }
+    }
+
+    /** write the original text of the words of a quantity, separated with a space **/
+    protected void putQuantityWords(Quantity quantity) throws IOException {
+        ObjectArrayList<IndexedWord> words = quantity.getQuantityWords();
+        for (int i = 0; i < words.size(); i++) {
+            if (i > 0) this.putByte(' ');
+            this.putText(words.get(i).originalText());
+        }
+    }
+
+    /** the number of bytes needed to encode the text as UTF-8 **/
+    protected static int utf8Length(CharSequence text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); ) {
+            int cp = Character.codePointAt(text, i);
+            length += cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+            i += Character.charCount(cp);
+        }
+        return length;
+    }
+
+    /** the number of bytes needed to encode the words of a phrase (see putWords()) as UTF-8 **/
+    protected static int utf8Length(AnnotatedPhrase phrase) {
+        ObjectArrayList<IndexedWord> words = phrase.getWordList();
+        int length = Math.max(words.size() - 1, 0);
+        for (IndexedWord w: words) {
+            length += utf8Length(w.word());
+        }
+        return length;
+    }
+
+    /** the number of bytes needed to encode the words of a quantity (see putQuantityWords()) as UTF-8 **/
+    protected static int utf8Length(Quantity quantity) {
+        ObjectArrayList<IndexedWord> words = quantity.getQuantityWords();
+        int length = Math.max(words.size() - 1, 0);
+        for (IndexedWord w: words) {
+            length += utf8Length(w.originalText());
+        }
+        return length;
+    }
+
+    /** all the quantities of the proposition (subject, relation and object) **/
+    protected static ObjectArrayList<Quantity> getQuantities(AnnotatedProposition proposition) {
+        ObjectArrayList<Quantity> quantities = new ObjectArrayList<>();
+        quantities.addAll(proposition.getSubject().getQuantities());
+        quantities.addAll(proposition.getRelation().getQuantities());
+        quantities.addAll(proposition.getObject().getQuantities());
+        return quantities;
+    }
+
+    /** true if the proposition has an attribution phrase **/
+    protected static boolean hasAttribution(AnnotatedProposition proposition) {
+        return proposition.getAttribution() != null && proposition.getAttribution().getAttributionPhrase() != null;
+    }
+
+    /** the polarity sign ('+' or '-') **/
+    protected static char polaritySign(Polarity.Type polarity) {
+        return polarity == Polarity.Type.POSITIVE ? '+' : '-';
+    }
+
+    /** the short modality name ("CT" or "PS") **/
+    protected static String modalityName(Modality.Type modality) {
+        return modality == Modality.Type.CERTAINTY ? Modality.ST_CT : Modality.ST_PS;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+}
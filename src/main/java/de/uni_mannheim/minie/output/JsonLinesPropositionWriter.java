@@ -0,0 +1,107 @@
+package de.uni_mannheim.minie.output;
+
+import de.uni_mannheim.minie.annotation.AnnotatedProposition;
+import de.uni_mannheim.minie.annotation.Attribution;
+import de.uni_mannheim.minie.annotation.Quantity;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes the propositions as JSON Lines, one JSON object per proposition:
+ * <pre>
+ * {"sentence":0,"subject":"...","relation":"...","object":"...","factuality":{"polarity":"+","modality":"CT"},
+ *  "attribution":{"phrase":"...","predicate":"...","polarity":"+","modality":"CT"},
+ *  "quantities":[{"id":"QUANT_...","phrase":"..."}]}
+ * </pre>
+ * The attribution is null if there is none. Sentences without propositions produce no lines.
+ */
+public class JsonLinesPropositionWriter extends ChannelPropositionWriter {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    public JsonLinesPropositionWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public JsonLinesPropositionWriter(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+    }
+
+    @Override
+    public void write(long sentenceId, ObjectArrayList<AnnotatedProposition> propositions) throws IOException {
+        for (AnnotatedProposition proposition: propositions) {
+            this.putAscii("{\"sentence\":");
+            this.putDecimal(sentenceId);
+            this.putAscii(",\"subject\":\"");
+            this.putWords(proposition.getSubject());
+            this.putAscii("\",\"relation\":\"");
+            this.putWords(proposition.getRelation());
+            this.putAscii("\",\"object\":\"");
+            this.putWords(proposition.getObject());
+            this.putAscii("\",\"factuality\":{\"polarity\":\"");
+            this.putByte(polaritySign(proposition.getPolarity().getType()));
+            this.putAscii("\",\"modality\":\"");
+            this.putAscii(modalityName(proposition.getModality().getModalityType()));
+            this.putAscii("\"},\"attribution\":");
+            if (hasAttribution(proposition)) {
+                Attribution attribution = proposition.getAttribution();
+                this.putAscii("{\"phrase\":\"");
+                this.putWords(attribution.getAttributionPhrase());
+                this.putAscii("\",\"predicate\":\"");
+                this.putText(attribution.getPredicateVerb());
+                this.putAscii("\",\"polarity\":\"");
+                this.putByte(polaritySign(attribution.getPolarityType()));
+                this.putAscii("\",\"modality\":\"");
+                this.putAscii(modalityName(attribution.getModalityType()));
+                this.putAscii("\"}");
+            } else {
+                this.putAscii("null");
+            }
+            this.putAscii(",\"quantities\":[");
+            ObjectArrayList<Quantity> quantities = getQuantities(proposition);
+            for (int i = 0; i < quantities.size(); i++) {
+                if (i > 0) this.putByte(',');
+                this.putAscii("{\"id\":\"QUANT_");
+                this.putText(quantities.get(i).getId());
+                this.putAscii("\",\"phrase\":\"");
+                this.putQuantityWords(quantities.get(i));
+                this.putAscii("\"}");
+            }
+            this.putAscii("]}\n");
+        }
+    }
+
+    /** write a constant ASCII string, without escaping **/
+    private void putAscii(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            this.putByte(s.charAt(i));
+        }
+    }
+
+    /** write the text as the content of a JSON string (escaped) **/
+    @Override
+    protected void putText(CharSequence text) throws IOException {
+        for (int i = 0; i < text.length(); ) {
+            int cp = Character.codePointAt(text, i);
+            if (cp == '"' || cp == '\\') {
+                this.putByte('\\');
+                this.putByte(cp);
+            } else if (cp == '\n') {
+                this.putAscii("\\n");
+            } else if (cp == '\t') {
+                this.putAscii("\\t");
+            } else if (cp == '\r') {
+                this.putAscii("\\r");
+            } else if (cp < 0x20) {
+                this.putAscii("\\u00");
+                this.putByte(HEX[cp >> 4]);
+                this.putByte(HEX[cp & 0xF]);
+            } else {
+                this.putCodePoint(cp);
+            }
+            i += Character.charCount(cp);
+        }
+    }
+}
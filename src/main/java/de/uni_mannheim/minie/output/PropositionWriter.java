@@ -0,0 +1,24 @@
+package de.uni_mannheim.minie.output;
+
+import de.uni_mannheim.minie.annotation.AnnotatedProposition;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Writes the propositions extracted by MinIE in some output format (see {@link PropositionWriters} for the available
+ * formats). Writers are not thread-safe: the propositions of one sentence are written with one call to write(), and
+ * the calls are expected to come from one thread, in sentence order.
+ */
+public interface PropositionWriter extends Closeable, Flushable {
+    /**
+     * write the propositions of one sentence
+     * @param sentenceId: index of the sentence (within the input)
+     * @param propositions: the propositions extracted from the sentence (possibly empty)
+     * @throws IOException
+     */
+    void write(long sentenceId, ObjectArrayList<AnnotatedProposition> propositions) throws IOException;
+}
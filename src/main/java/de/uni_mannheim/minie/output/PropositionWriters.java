@@ -0,0 +1,60 @@
+package de.uni_mannheim.minie.output;
+
+import java.nio.channels.WritableByteChannel;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Registry of the available proposition output formats. The built-in formats are "text" (the console format),
+ * "jsonl", "tsv" and "binary"; other formats can be plugged in with {@link #register(String, Function)}.
+ */
+public class PropositionWriters {
+    public static final String TEXT = "text";
+    public static final String JSONL = "jsonl";
+    public static final String TSV = "tsv";
+    public static final String BINARY = "binary";
+
+    /** format name -> writer factory **/
+    private static final Map<String, Function<WritableByteChannel, PropositionWriter>> FORMATS = new LinkedHashMap<>();
+    static {
+        register(TEXT, TextPropositionWriter::new);
+        register(JSONL, JsonLinesPropositionWriter::new);
+        register(TSV, TsvPropositionWriter::new);
+        register(BINARY, BinaryPropositionWriter::new);
+    }
+
+    private PropositionWriters() {}
+
+    /**
+     * register an output format (replaces an existing format with the same name)
+     * @param format: name of the format (case-insensitive)
+     * @param factory: creates a writer for the format, given the output channel
+     */
+    public static synchronized void register(String format, Function<WritableByteChannel, PropositionWriter> factory) {
+        FORMATS.put(format.toLowerCase(), factory);
+    }
+
+    /**
+     * create a writer for the given format
+     * @param format: name of the format (case-insensitive)
+     * @param channel: the channel to write to
+     * @return proposition writer
+     * @throws IllegalArgumentException if the format is unknown
+     */
+    public static synchronized PropositionWriter create(String format, WritableByteChannel channel) {
+        Function<WritableByteChannel, PropositionWriter> factory = FORMATS.get(format.toLowerCase());
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown output format: " + format + " (available: " + FORMATS.keySet() + ")");
+        }
+        return factory.apply(channel);
+    }
+
+    /** @return the names of the available formats **/
+    public static synchronized Set<String> getFormats() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(FORMATS.keySet()));
+    }
+}
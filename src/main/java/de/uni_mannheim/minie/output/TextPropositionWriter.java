@@ -0,0 +1,37 @@
+package de.uni_mannheim.minie.output;
+
+import de.uni_mannheim.minie.annotation.AnnotatedProposition;
+import de.uni_mannheim.utils.minie.Utils;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes the propositions in the human-readable format of the console interface: an "Output:" line per sentence,
+ * followed by one line per proposition (see {@link Utils#formatProposition(AnnotatedProposition)}) and an empty line.
+ */
+public class TextPropositionWriter extends ChannelPropositionWriter {
+    public TextPropositionWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public TextPropositionWriter(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+    }
+
+    @Override
+    public void write(long sentenceId, ObjectArrayList<AnnotatedProposition> propositions) throws IOException {
+        this.putText("Output:\n");
+        if (propositions.size() < 1) {
+            this.putText("No extraction found.\n");
+        } else {
+            for (AnnotatedProposition proposition : propositions) {
+                this.putText(Utils.formatProposition(proposition));
+                this.putByte('\n');
+            }
+        }
+        this.putByte('\n');
+    }
+}
@@ -0,0 +1,79 @@
+package de.uni_mannheim.minie.output;
+
+import de.uni_mannheim.minie.annotation.AnnotatedProposition;
+import de.uni_mannheim.minie.annotation.Attribution;
+import de.uni_mannheim.minie.annotation.Quantity;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes the propositions as tab-separated values, one proposition per line, with the columns:
+ * sentence, subject, relation, object, polarity, modality, attribution phrase, attribution predicate, attribution
+ * polarity, attribution modality, quantities (QUANT_id:phrase, separated with ';'). Empty columns stand for missing
+ * values; tabs and line breaks inside the words are replaced with spaces. Sentences without propositions produce no
+ * lines.
+ */
+public class TsvPropositionWriter extends ChannelPropositionWriter {
+    public TsvPropositionWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public TsvPropositionWriter(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+    }
+
+    @Override
+    public void write(long sentenceId, ObjectArrayList<AnnotatedProposition> propositions) throws IOException {
+        for (AnnotatedProposition proposition: propositions) {
+            this.putDecimal(sentenceId);
+            this.putByte('\t');
+            this.putWords(proposition.getSubject());
+            this.putByte('\t');
+            this.putWords(proposition.getRelation());
+            this.putByte('\t');
+            this.putWords(proposition.getObject());
+            this.putByte('\t');
+            this.putByte(polaritySign(proposition.getPolarity().getType()));
+            this.putByte('\t');
+            this.putText(modalityName(proposition.getModality().getModalityType()));
+            this.putByte('\t');
+            if (hasAttribution(proposition)) {
+                Attribution attribution = proposition.getAttribution();
+                this.putWords(attribution.getAttributionPhrase());
+                this.putByte('\t');
+                this.putText(attribution.getPredicateVerb());
+                this.putByte('\t');
+                this.putByte(polaritySign(attribution.getPolarityType()));
+                this.putByte('\t');
+                this.putText(modalityName(attribution.getModalityType()));
+            } else {
+                this.putByte('\t');
+                this.putByte('\t');
+                this.putByte('\t');
+            }
+            this.putByte('\t');
+            ObjectArrayList<Quantity> quantities = getQuantities(proposition);
+            for (int i = 0; i < quantities.size(); i++) {
+                if (i > 0) this.putByte(';');
+                this.putText("QUANT_");
+                this.putText(quantities.get(i).getId());
+                this.putByte(':');
+                this.putQuantityWords(quantities.get(i));
+            }
+            this.putByte('\n');
+        }
+    }
+
+    /** write the text, replacing the column and line separators with spaces **/
+    @Override
+    protected void putText(CharSequence text) throws IOException {
+        for (int i = 0; i < text.length(); ) {
+            int cp = Character.codePointAt(text, i);
+            this.putCodePoint(cp == '\t' || cp == '\n' || cp == '\r' ? ' ' : cp);
+            i += Character.charCount(cp);
+        }
+    }
+}
@@ -9,10 +9,10 @@ import de.uni_mannheim.minie.annotation.AnnotatedProposition;
 import de.uni_mannheim.minie.annotation.Attribution;
 import de.uni_mannheim.minie.annotation.Polarity;
 import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+import de.uni_mannheim.utils.PatternRegistry;
 
 import edu.stanford.nlp.ling.IndexedWord;
 import edu.stanford.nlp.ling.tokensregex.TokenSequenceMatcher;
-import edu.stanford.nlp.ling.tokensregex.TokenSequencePattern;
 import edu.stanford.nlp.semgraph.SemanticGraph;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 
@@ -20,8 +20,6 @@ import it.unimi.dsi.fastutil.objects.ObjectArrayList;
  * @author Kiril Gashteovski
  */
 public class ImplicitExtractions {
-    /** Token sequence pattern **/
-    private TokenSequencePattern tPattern;
     /** Token sequence matcher **/
     private TokenSequenceMatcher tMatcher;
     
@@ -108,8 +106,7 @@ public class ImplicitExtractions {
         IndexedWord subjRoot;
         IndexedWord objRoot;
         
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_ORG_IN_LOC);
-        this.tMatcher = this.tPattern.getMatcher(CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_ORG_IN_LOC, CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
         while (this.tMatcher.find()){
             this.setIsARelation();
             for (IndexedWord w: CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(this.tMatcher.groupNodes())) {
@@ -146,8 +143,7 @@ public class ImplicitExtractions {
         IndexedWord subjRoot;
         IndexedWord objRoot;
         
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_ORG_NP_PERSON);
-        this.tMatcher = this.tPattern.getMatcher(CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_ORG_NP_PERSON, CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
         while (this.tMatcher.find()){    
             // Set the relation to be "is-a" relation
             this.setIsARelation();
@@ -207,8 +203,7 @@ public class ImplicitExtractions {
         // Set the relation to be "is-a" relation
         this.setIsARelation();
         
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_NP_PERSON);
-        this.tMatcher = this.tPattern.getMatcher(CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_NP_PERSON, CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
         while (this.tMatcher.find()){         
             for (IndexedWord w: CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(this.tMatcher.groupNodes())) {
                 if (w.ner().equals(NE_TYPE.PERSON)) {
@@ -277,8 +272,7 @@ public class ImplicitExtractions {
         this.setIsARelation();
         
         // Token regex patterns
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_PERSON_AMONG_NP);
-        this.tMatcher = this.tPattern.getMatcher(CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_PERSON_AMONG_NP, CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
         while (this.tMatcher.find()){       
             for (IndexedWord w: CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(this.tMatcher.groupNodes())) {
                 if (w.ner().equals(NE_TYPE.PERSON))
@@ -322,8 +316,7 @@ public class ImplicitExtractions {
         this.setIsARelation();
         
         // Pattern regex/matcher
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_HEARST_1);
-        this.tMatcher = this.tPattern.getMatcher(CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_HEARST_1, CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
         while (this.tMatcher.find()){    
             ObjectArrayList<IndexedWord> matchedWords = 
                     CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(this.tMatcher.groupNodes());
@@ -394,8 +387,7 @@ public class ImplicitExtractions {
         // Set the relation to be "is-a" relation
         this.setIsARelation();
         
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_HEARST_2);
-        this.tMatcher = this.tPattern.getMatcher(CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_HEARST_2, CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
         while (this.tMatcher.find()){    
             ObjectArrayList<IndexedWord> matchedWords = 
                     CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(this.tMatcher.groupNodes());
@@ -466,8 +458,7 @@ public class ImplicitExtractions {
         // Set the relation to be "is-a" relation
         this.setIsARelation();
         
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_HEARST_2_2);
-        this.tMatcher = this.tPattern.getMatcher(CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_HEARST_2_2, CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
         while (this.tMatcher.find()){    
             ObjectArrayList<IndexedWord> mWords = 
                     CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(this.tMatcher.groupNodes());
@@ -534,8 +525,7 @@ public class ImplicitExtractions {
         // Set the relation to be "is-a" relation
         this.setIsARelation();
         
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_HEARST_3);
-        this.tMatcher = this.tPattern.getMatcher(CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_HEARST_3, CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
         while (this.tMatcher.find()){    
             ObjectArrayList<IndexedWord> mWords = 
                     CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(this.tMatcher.groupNodes());
@@ -611,8 +601,7 @@ public class ImplicitExtractions {
         // Set the relation to be "is-a" relation
         this.setIsARelation();
         
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_HEARST_4);
-        this.tMatcher = this.tPattern.getMatcher(CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_HEARST_4, CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
         while (this.tMatcher.find()){    
             ObjectArrayList<IndexedWord> mWords = CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(this.tMatcher.groupNodes());
 
@@ -676,8 +665,7 @@ public class ImplicitExtractions {
         // Set the relation to be "is-a" relation
         this.setIsARelation();
         
-        this.tPattern = TokenSequencePattern.compile(REGEX.T_CITY_OF_LOC);
-        this.tMatcher = tPattern.getMatcher(CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
+        this.tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_CITY_OF_LOC, CoreNLPUtils.getCoreLabelListFromIndexedWordList(this.sentence));
         while (this.tMatcher.find()){    
             ObjectArrayList<IndexedWord> mWords = CoreNLPUtils.listOfCoreMapWordsToIndexedWordList(this.tMatcher.groupNodes());
             for (IndexedWord w: mWords) {
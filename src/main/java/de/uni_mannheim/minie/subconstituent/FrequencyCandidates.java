@@ -3,10 +3,10 @@ package de.uni_mannheim.minie.subconstituent;
 import de.uni_mannheim.clausie.phrase.Phrase;
 import de.uni_mannheim.constant.REGEX;
 import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+import de.uni_mannheim.utils.PatternRegistry;
 
 import edu.stanford.nlp.ling.IndexedWord;
 import edu.stanford.nlp.ling.tokensregex.TokenSequenceMatcher;
-import edu.stanford.nlp.ling.tokensregex.TokenSequencePattern;
 import edu.stanford.nlp.semgraph.SemanticGraph;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
@@ -54,7 +54,7 @@ public class FrequencyCandidates {
         }
         
         // 1) the whole phrase itself
-        this.candidates.add(CoreNLPUtils.listOfWordsToLemmaString(this.phrase.getWordList()).toLowerCase());
+        this.candidates.add(this.phrase.getWordsLemmaLowercase());
         
         // 2) the root word
         this.candidates.add(this.phrase.getRoot().lemma().toLowerCase());
@@ -70,8 +70,7 @@ public class FrequencyCandidates {
         SubConstituent sc = new SubConstituent(this.sg);
         
         // Generate candidates for [DT|RB|JJ]+ NN+
-        TokenSequencePattern tPattern = TokenSequencePattern.compile(REGEX.T_DT_RB_JJ_PR_NN);
-        TokenSequenceMatcher tMatcher = tPattern.getMatcher(this.phrase.getWordCoreLabelList());
+        TokenSequenceMatcher tMatcher = PatternRegistry.getTokenMatcher(REGEX.T_DT_RB_JJ_PR_NN, this.phrase.getWordCoreLabelList());
         this.generateCandidatesFromTokenRegexMatch(tMatcher, sc);
     }
     
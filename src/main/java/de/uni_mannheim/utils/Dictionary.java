@@ -1,14 +1,18 @@
 package de.uni_mannheim.utils;
 
-import java.io.DataInput;
-import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Paths;
+import java.util.List;
 
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 
 import edu.stanford.nlp.ling.IndexedWord;
 
+import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+
 /**
  * A dictionary stores a set of strings.
  *
@@ -18,12 +22,20 @@ public class Dictionary {
 
     /** Stores the strings */
     public ObjectOpenHashSet<String> words;
+    
+    /** Memory-mapped (off-heap) dictionaries, queried in addition to the strings in 'words' */
+    private final ObjectArrayList<MappedDictionary> mapped = new ObjectArrayList<>();
 
     /** Default constructor **/
     public Dictionary() {
         this.words = new ObjectOpenHashSet<String>();
     }
 
+    /** Uses the given set of strings as the dictionary (the set is not copied) **/
+    public Dictionary(ObjectOpenHashSet<String> words) {
+        this.words = words;
+    }
+
     /** Opens an empty set of strings (the dictionary) and then loads the dictionary from the input stream **/
     public Dictionary(InputStream in) throws IOException {
         this.words = new ObjectOpenHashSet<String>();
@@ -43,52 +55,108 @@ public class Dictionary {
         this.load(resourcePaths);
     }
 
-    /** The size of the dictionary (number of words) **/
+    /** The size of the dictionary (number of words, including the ones of the mapped dictionaries) **/
     public int size() {
-        return this.words.size();
+        int size = this.words.size();
+        for (MappedDictionary m: this.mapped) {
+            size += m.size();
+        }
+        return size;
     }
 
     /** Checks if a certain word (as a string) is in the dictionary **/
     public boolean contains(String word) {
-        return this.words.contains(word);
+        if (this.words.contains(word))
+            return true;
+        for (MappedDictionary m: this.mapped) {
+            if (m.contains(word))
+                return true;
+        }
+        return false;
     }
 
     /** Checks if a certain word (IndexedWord object) is in the dictionary in its lemmatized form **/
     public boolean containsLemmatized(IndexedWord word) {
-        return this.words.contains(word.lemma());
+        return this.contains(word.lemma());
     }
-
-    private InputStream getInputStreamFromResource(String resourceName) throws IOException {
-        return this.getClass().getResource(resourceName).openStream();
+    
+    /**
+     * Checks if the words (or their lemmas), joined with a space, are in the dictionary. The joined string is only 
+     * built if the dictionary has on-heap words; the mapped dictionaries are queried without building it.
+     * @param words: list of words
+     * @param lemmas: if true, the lemmas of the words are checked, else the words themselves
+     * @return true if the joined words are in the dictionary
+     */
+    public boolean containsWords(ObjectArrayList<IndexedWord> words, boolean lemmas) {
+        if (!this.words.isEmpty()) {
+            String joined = lemmas ? CoreNLPUtils.listOfWordsToLemmaString(words) 
+                                   : CoreNLPUtils.listOfWordsToWordsString(words);
+            if (this.words.contains(joined))
+                return true;
+        }
+        for (MappedDictionary m: this.mapped) {
+            if (m.containsWords(words, lemmas))
+                return true;
+        }
+        return false;
+    }
+    
+    /** Adds a memory-mapped dictionary, which is queried in addition to the on-heap words **/
+    public void addMapped(MappedDictionary m) {
+        this.mapped.add(m);
     }
 
-    /** Loads a dictionary from a resource path
+    /** Loads a dictionary from a resource path. Paths ending with {@link MappedDictionary#EXTENSION} are files 
+     *  which are memory-mapped instead of loaded (see {@link MappedDictionaryBuilder}).
      * @throws IOException 
      **/
     public void load(String resourcePath) throws IOException {
-        this.load(this.getInputStreamFromResource(resourcePath));
+        this.load(new String [] {resourcePath});
     }
     
-    /** Loads a dictionary from several resource paths 
+    /** Loads a dictionary from several resource paths. The text dictionaries are read in parallel 
+     *  (see {@link DictionaryReader#readAll(List)}).
      * @throws IOException **/
     public void load(String [] resourcePaths) throws IOException {
+        ObjectArrayList<String> textPaths = new ObjectArrayList<>();
         for (String path: resourcePaths) {
-            this.load(path);
+            if (path.endsWith(MappedDictionary.EXTENSION)) {
+                this.addMapped(MappedDictionary.open(Paths.get(path)));
+            } else {
+                textPaths.add(path);
+            }
+        }
+        if (!textPaths.isEmpty()) {
+            // the other dictionaries are added to the largest one, so that it is not copied
+            List<ObjectOpenHashSet<String>> loaded = DictionaryReader.readAll(textPaths);
+            ObjectOpenHashSet<String> largest = loaded.get(0);
+            for (ObjectOpenHashSet<String> ws: loaded) {
+                if (ws.size() > largest.size()) {
+                    largest = ws;
+                }
+            }
+            this.addLoaded(largest);
+            for (ObjectOpenHashSet<String> ws: loaded) {
+                if (ws != largest) {
+                    this.addLoaded(ws);
+                }
+            }
         }
     }
     
-    /** Loads the dictionary out of an {@link InputStream}. 
+    /** Loads the dictionary out of an {@link InputStream} (UTF-8, see {@link DictionaryReader}). 
      *  Each line of the original file should contain an entry to the dictionary
      */
     public void load(InputStream in) throws IOException {
-        DataInput data = new DataInputStream(in);
-        String line = data.readLine();
-        while (line != null) {
-            line = line.trim();
-            if (line.length() > 0) {
-                this.words.add(line);
-            }
-            line = data.readLine();
+        this.addLoaded(DictionaryReader.read(Channels.newChannel(in), -1));
+    }
+    
+    /** Adds the loaded entries; if the dictionary is still empty, the (pre-sized) set of the entries becomes its set **/
+    private void addLoaded(ObjectOpenHashSet<String> ws) {
+        if (this.words.isEmpty()) {
+            this.words = ws;
+        } else {
+            this.words.addAll(ws);
         }
     }
 	
@@ -0,0 +1,187 @@
+package de.uni_mannheim.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+
+/**
+ * Reader of the text dictionaries (UTF-8, one entry per line; each line is trimmed and empty lines are skipped). The
+ * input is read through NIO in chunks of {@link #CHUNK_SIZE} bytes and the lines are split on the bytes of a chunk, so
+ * only the entries themselves are decoded to strings. The set of entries is pre-sized from the size of the input (if
+ * known) and the number of lines in the first chunk, so it is not rehashed while it is filled.
+ *
+ * Class path resources in directories are read from their files (with {@link Files#newByteChannel}); the other
+ * resources (e.g. in jars) from their streams.
+ */
+public class DictionaryReader {
+    /** Size of the chunks in which the input is read, in bytes **/
+    public static final int CHUNK_SIZE = 1 << 20;
+
+    private DictionaryReader() {}
+
+    /**
+     * Read a dictionary from a class path resource
+     * @param resourcePath - path of the resource (e.g. "/minie-resources/wn-mwe.txt")
+     * @return the entries of the dictionary
+     * @throws IOException if the resource does not exist or cannot be read
+     */
+    public static ObjectOpenHashSet<String> read(String resourcePath) throws IOException {
+        URL url = DictionaryReader.class.getResource(resourcePath);
+        if (url == null) {
+            throw new IOException("Dictionary not found: " + resourcePath);
+        }
+        if (url.getProtocol().equals("file")) {
+            try (ReadableByteChannel channel = Files.newByteChannel(Paths.get(url.toURI()))) {
+                return read(channel, Files.size(Paths.get(url.toURI())));
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid dictionary path: " + url, e);
+            }
+        }
+        URLConnection connection = url.openConnection();
+        try (ReadableByteChannel channel = Channels.newChannel(connection.getInputStream())) {
+            return read(channel, connection.getContentLengthLong());
+        }
+    }
+
+    /**
+     * Read several dictionaries from class path resources, in parallel
+     * @param resourcePaths - paths of the resources
+     * @return the entries of each dictionary, in the order of the paths
+     * @throws IOException if a resource does not exist or cannot be read
+     */
+    public static List<ObjectOpenHashSet<String>> readAll(List<String> resourcePaths) throws IOException {
+        ObjectArrayList<ObjectOpenHashSet<String>> dictionaries = new ObjectArrayList<>(resourcePaths.size());
+        if (resourcePaths.size() == 1) {
+            dictionaries.add(read(resourcePaths.get(0)));
+            return dictionaries;
+        }
+        ObjectArrayList<CompletableFuture<ObjectOpenHashSet<String>>> reads = new ObjectArrayList<>();
+        for (String path: resourcePaths) {
+            reads.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return read(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+        try {
+            for (CompletableFuture<ObjectOpenHashSet<String>> read: reads) {
+                dictionaries.add(read.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+        return dictionaries;
+    }
+
+    /**
+     * Read a dictionary from a channel (which is not closed)
+     * @param channel - the input
+     * @param size - size of the input in bytes, if known (else a negative number); only used to pre-size the set
+     * @return the entries of the dictionary
+     * @throws IOException
+     */
+    public static ObjectOpenHashSet<String> read(ReadableByteChannel channel, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size >= 0 && size < CHUNK_SIZE ? (int) size + 1 : CHUNK_SIZE);
+        ObjectOpenHashSet<String> words = null;
+        while (true) {
+            // fill the chunk
+            boolean eof = false;
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    eof = true;
+                    break;
+                }
+            }
+            byte [] bytes = buffer.array();
+            int limit = buffer.position();
+            if (words == null) {
+                words = new ObjectOpenHashSet<>(expectedSize(bytes, limit, size, eof));
+            }
+
+            // add the complete lines, and move the incomplete last one to the beginning of the buffer
+            int start = addLines(bytes, limit, eof, words);
+            if (eof) {
+                return words;
+            }
+            if (start == 0) {
+                // the line does not fit into the buffer
+                ByteBuffer larger = ByteBuffer.allocate(bytes.length * 2);
+                larger.put(bytes, 0, limit);
+                buffer = larger;
+            } else {
+                System.arraycopy(bytes, start, bytes, 0, limit - start);
+                buffer.position(limit - start);
+            }
+        }
+    }
+
+    /**
+     * Add the lines of a chunk to the set
+     * @param bytes - the chunk
+     * @param limit - the end of the chunk
+     * @param eof - whether the chunk is the end of the input (then its last line is complete as well)
+     * @param words - the lines are added to this set
+     * @return the start of the incomplete last line
+     */
+    private static int addLines(byte [] bytes, int limit, boolean eof, ObjectOpenHashSet<String> words) {
+        int start = 0;
+        for (int i = 0; i < limit; i++) {
+            if (bytes[i] == '\n' || bytes[i] == '\r') {
+                addLine(bytes, start, i, words);
+                start = i + 1;
+            }
+        }
+        if (eof) {
+            addLine(bytes, start, limit, words);
+            return limit;
+        }
+        return start;
+    }
+
+    /** Add the (trimmed, non-empty) line from start to end to the set **/
+    private static void addLine(byte [] bytes, int start, int end, ObjectOpenHashSet<String> words) {
+        // the bytes of multi-byte UTF-8 characters are all >= 0x80, so trimming the bytes trims the decoded string
+        while (start < end && (bytes[start] & 0xff) <= ' ') {
+            start++;
+        }
+        while (end > start && (bytes[end - 1] & 0xff) <= ' ') {
+            end--;
+        }
+        if (end > start) {
+            words.add(new String(bytes, start, end - start, StandardCharsets.UTF_8));
+        }
+    }
+
+    /** Estimate the number of lines of the input from the number of lines in its first chunk **/
+    private static int expectedSize(byte [] bytes, int limit, long size, boolean eof) {
+        int lines = 1;
+        for (int i = 0; i < limit; i++) {
+            if (bytes[i] == '\n') {
+                lines++;
+            }
+        }
+        if (eof || size <= limit || limit == 0) {
+            return lines;
+        }
+        return (int) Math.min((long) lines * size / limit + 1, Integer.MAX_VALUE - 8);
+    }
+}
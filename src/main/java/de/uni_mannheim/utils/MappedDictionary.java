@@ -0,0 +1,278 @@
+package de.uni_mannheim.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import edu.stanford.nlp.ling.IndexedWord;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+
+/**
+ * A read-only set of strings stored off-heap, in a prebuilt file which is memory-mapped (see
+ * {@link MappedDictionaryBuilder} for converting the text dictionaries). Lookups encode the queried characters to
+ * UTF-8 on the fly and compare them with the mapped bytes, so no strings are materialized, neither when loading nor
+ * when querying. The mapped pages are shared between all JVMs on the machine using the same file.
+ *
+ * File format (big-endian):
+ * <pre>
+ * int magic ("MWED"), int version, int number of entries, int table size (power of 2)
+ * table: (int offset + 1 of the entry in the data section (0 = empty slot), int upper half of the entry's hash)*
+ * data:  (int length in bytes, UTF-8 bytes)*
+ * </pre>
+ * The table is an open-addressing hash table (linear probing) over the 64-bit FNV-1a hashes of the UTF-8 bytes.
+ */
+public class MappedDictionary {
+    /** File extension of the mapped dictionaries **/
+    public static final String EXTENSION = ".mwed";
+
+    private static final int MAGIC = ('M' << 24) | ('W' << 16) | ('E' << 8) | 'D';
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int SLOT_SIZE = 8;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** The mapped file **/
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int mask;
+    private final int dataStart;
+
+    /** The strings to look up, joined with a space (e.g. the words of a phrase) **/
+    private interface Parts {
+        int count();
+        CharSequence get(int i);
+    }
+
+    private MappedDictionary(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a mapped dictionary");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported mapped dictionary version: " + buffer.getInt(4));
+        }
+        this.size = buffer.getInt(8);
+        int tableSize = buffer.getInt(12);
+        this.mask = tableSize - 1;
+        this.dataStart = HEADER_SIZE + tableSize * SLOT_SIZE;
+    }
+
+    /**
+     * Memory-map a dictionary file
+     * @param file: the dictionary file (built with {@link #build(Iterable, Path)})
+     * @return mapped dictionary
+     * @throws IOException
+     */
+    public static MappedDictionary open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Mapped dictionary too large: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedDictionary(buffer);
+        }
+    }
+
+    /** The number of entries in the dictionary **/
+    public int size() {
+        return this.size;
+    }
+
+    /** Checks if a certain string is in the dictionary **/
+    public boolean contains(CharSequence s) {
+        if (s == null)
+            return false;
+        return this.contains(new Parts() {
+            @Override public int count() { return 1; }
+            @Override public CharSequence get(int i) { return s; }
+        });
+    }
+
+    /**
+     * Checks if the words (or their lemmas), joined with a space, are in the dictionary. Same as checking the string
+     * of the words (e.g. CoreNLPUtils.listOfWordsToLemmaString()), but without building it.
+     * @param words: list of words
+     * @param lemmas: if true, the lemmas of the words are used, else the words themselves
+     * @return true if the joined words are in the dictionary
+     */
+    public boolean containsWords(List<IndexedWord> words, boolean lemmas) {
+        return this.contains(new Parts() {
+            @Override public int count() { return words.size(); }
+            @Override public CharSequence get(int i) {
+                return lemmas ? words.get(i).lemma() : words.get(i).word();
+            }
+        });
+    }
+
+    private boolean contains(Parts parts) {
+        // Hash and length of the UTF-8 bytes
+        long hash = FNV_OFFSET;
+        int length = 0;
+        for (int p = 0; p < parts.count(); p++) {
+            if (p > 0) {
+                hash = (hash ^ ' ') * FNV_PRIME;
+                length++;
+            }
+            CharSequence s = part(parts, p);
+            for (int i = 0; i < s.length(); ) {
+                int raw = Character.codePointAt(s, i);
+                int cp = encodable(raw);
+                int n = utf8Length(cp);
+                for (int k = 0; k < n; k++) {
+                    hash = (hash ^ utf8Byte(cp, n, k)) * FNV_PRIME;
+                }
+                length += n;
+                i += Character.charCount(raw);
+            }
+        }
+
+        int upper = (int) (hash >>> 32);
+        for (int slot = (int) HashCommon.mix(hash) & this.mask; ; slot = (slot + 1) & this.mask) {
+            int pos = HEADER_SIZE + slot * SLOT_SIZE;
+            int offset = this.buffer.getInt(pos);
+            if (offset == 0)
+                return false;
+            if (this.buffer.getInt(pos + 4) == upper && this.equalsAt(this.dataStart + offset - 1, parts, length))
+                return true;
+        }
+    }
+
+    /** Checks if the entry at the given position of the data section is equal to the joined parts **/
+    private boolean equalsAt(int pos, Parts parts, int length) {
+        if (this.buffer.getInt(pos) != length)
+            return false;
+        pos += 4;
+        for (int p = 0; p < parts.count(); p++) {
+            if (p > 0 && this.buffer.get(pos++) != ' ')
+                return false;
+            CharSequence s = part(parts, p);
+            for (int i = 0; i < s.length(); ) {
+                int raw = Character.codePointAt(s, i);
+                int cp = encodable(raw);
+                int n = utf8Length(cp);
+                for (int k = 0; k < n; k++) {
+                    if (this.buffer.get(pos++) != (byte) utf8Byte(cp, n, k))
+                        return false;
+                }
+                i += Character.charCount(raw);
+            }
+        }
+        return true;
+    }
+
+    /** A null part is treated as the string "null" (as when appending it to a StringBuilder) **/
+    private static CharSequence part(Parts parts, int p) {
+        CharSequence s = parts.get(p);
+        return s == null ? "null" : s;
+    }
+
+    /** Unpaired surrogates are encoded as '?' (as by String.getBytes()) **/
+    private static int encodable(int cp) {
+        return cp < Character.MIN_SUPPLEMENTARY_CODE_POINT && Character.isSurrogate((char) cp) ? '?' : cp;
+    }
+
+    private static int utf8Length(int cp) {
+        return cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+    }
+
+    /** The k-th byte of the n-byte UTF-8 encoding of the code point **/
+    private static int utf8Byte(int cp, int n, int k) {
+        if (n == 1)
+            return cp;
+        int shift = 6 * (n - 1 - k);
+        if (k == 0)
+            return (n == 2 ? 0xC0 : n == 3 ? 0xE0 : 0xF0) | (cp >> shift);
+        return 0x80 | ((cp >> shift) & 0x3F);
+    }
+
+    /** 64-bit FNV-1a hash of the bytes **/
+    private static long hash(byte [] bytes) {
+        long hash = FNV_OFFSET;
+        for (byte b: bytes) {
+            hash = (hash ^ (b & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Build a mapped dictionary file out of the given entries (duplicates are stored once)
+     * @param entries: the entries of the dictionary
+     * @param file: the output file
+     * @return the number of entries written
+     * @throws IOException
+     */
+    public static int build(Iterable<String> entries, Path file) throws IOException {
+        // Encode the (unique) entries
+        ObjectArrayList<byte []> encoded = new ObjectArrayList<>();
+        ObjectOpenHashSet<String> seen = new ObjectOpenHashSet<>();
+        long dataSize = 0;
+        for (String entry: entries) {
+            if (seen.add(entry)) {
+                byte [] bytes = entry.getBytes(StandardCharsets.UTF_8);
+                encoded.add(bytes);
+                dataSize += 4 + bytes.length;
+            }
+        }
+
+        // Fill the hash table (load factor <= 0.5)
+        int tableSize = Integer.highestOneBit(Math.max(2, encoded.size() * 2 - 1)) << 1;
+        if (HEADER_SIZE + (long) tableSize * SLOT_SIZE + dataSize > Integer.MAX_VALUE) {
+            throw new IOException("Too many entries for a mapped dictionary");
+        }
+        int mask = tableSize - 1;
+        int [] offsets = new int[tableSize];
+        int [] uppers = new int[tableSize];
+        int offset = 0;
+        for (byte [] bytes: encoded) {
+            long hash = hash(bytes);
+            int slot = (int) HashCommon.mix(hash) & mask;
+            while (offsets[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            offsets[slot] = offset + 1;
+            uppers[slot] = (int) (hash >>> 32);
+            offset += 4 + bytes.length;
+        }
+
+        // Write the file
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer out = ByteBuffer.allocateDirect(1 << 16);
+            out.putInt(MAGIC).putInt(VERSION).putInt(encoded.size()).putInt(tableSize);
+            for (int slot = 0; slot < tableSize; slot++) {
+                if (out.remaining() < SLOT_SIZE) drain(out, channel);
+                out.putInt(offsets[slot]).putInt(uppers[slot]);
+            }
+            for (byte [] bytes: encoded) {
+                if (out.remaining() < 4) drain(out, channel);
+                out.putInt(bytes.length);
+                for (int i = 0; i < bytes.length; ) {
+                    if (!out.hasRemaining()) drain(out, channel);
+                    int n = Math.min(out.remaining(), bytes.length - i);
+                    out.put(bytes, i, n);
+                    i += n;
+                }
+            }
+            drain(out, channel);
+        }
+        return encoded.size();
+    }
+
+    private static void drain(ByteBuffer out, FileChannel channel) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+}
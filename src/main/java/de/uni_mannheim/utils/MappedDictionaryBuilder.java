@@ -0,0 +1,85 @@
+package de.uni_mannheim.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+import joptsimple.OptionException;
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+
+/**
+ * Console interface for converting text dictionaries (one entry per line, as read by {@link Dictionary}) into a
+ * memory-mapped dictionary (see {@link MappedDictionary}). E.g.:
+ * <pre>
+ * java de.uni_mannheim.utils.MappedDictionaryBuilder -o mwe.mwed /minie-resources/wn-mwe.txt my-mwe.txt
+ * </pre>
+ * Each input is read from the file system, or else from the class path (as the default MinIE dictionaries).
+ */
+public class MappedDictionaryBuilder {
+    public static void main(String[] args) throws IOException {
+        OptionParser optionParser = new OptionParser();
+        optionParser
+                .accepts("o", "output file (should end with " + MappedDictionary.EXTENSION + ")")
+                .withRequiredArg()
+                .describedAs("file")
+                .ofType(String.class)
+                .required();
+        optionParser
+                .accepts("h", "show help");
+        optionParser.nonOptions("input dictionaries (text files, one entry per line)").ofType(String.class);
+
+        OptionSet options;
+        try {
+            options = optionParser.parse(args);
+        } catch (OptionException e) {
+            System.err.println(e.getMessage());
+            System.out.println("");
+            optionParser.printHelpOn(System.out);
+            return;
+        }
+        if (options.has("h") || options.nonOptionArguments().isEmpty()) {
+            optionParser.printHelpOn(System.out);
+            return;
+        }
+
+        ObjectArrayList<String> entries = new ObjectArrayList<>();
+        for (Object input: options.nonOptionArguments()) {
+            readEntries((String) input, entries);
+        }
+        Path output = Paths.get((String) options.valueOf("o"));
+        int size = MappedDictionary.build(entries, output);
+        System.out.println("Wrote " + size + " entries to " + output);
+    }
+
+    /**
+     * read the entries of a text dictionary (each line is trimmed, empty lines are skipped)
+     * @param input: file or class path resource
+     * @param entries: the entries are added to this list
+     * @throws IOException
+     */
+    public static void readEntries(String input, List<String> entries) throws IOException {
+        Path path = Paths.get(input);
+        InputStream in = Files.exists(path) ? Files.newInputStream(path) : MappedDictionaryBuilder.class.getResourceAsStream(input);
+        if (in == null) {
+            throw new IOException("Dictionary not found: " + input);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.length() > 0) {
+                    entries.add(line);
+                }
+            }
+        }
+    }
+}
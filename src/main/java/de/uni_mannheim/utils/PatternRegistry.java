@@ -0,0 +1,124 @@
+package de.uni_mannheim.utils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import de.uni_mannheim.constant.REGEX;
+
+import edu.stanford.nlp.ling.tokensregex.TokenSequenceMatcher;
+import edu.stanford.nlp.ling.tokensregex.TokenSequencePattern;
+import edu.stanford.nlp.util.CoreMap;
+
+/**
+ * Immutable registry of the compiled patterns for the constants in {@link REGEX}. All the patterns are compiled once,
+ * when the class is loaded, and are afterwards shared (read-only) between all minimizers and extractors, regardless
+ * of the thread they are running in. The registry is keyed by the {@link REGEX} constant itself.
+ */
+public class PatternRegistry {
+    /** Compiled token regex patterns, keyed by their REGEX constant **/
+    private static final Map<String, TokenSequencePattern> TOKEN_PATTERNS;
+    /** Compiled (java.util.regex) patterns, keyed by their REGEX constant **/
+    private static final Map<String, Pattern> STRING_PATTERNS;
+
+    static {
+        Map<String, TokenSequencePattern> tokenPatterns = new HashMap<>();
+        registerTokenPattern(tokenPatterns, REGEX.T_DT_VB_NN_END);
+        registerTokenPattern(tokenPatterns, REGEX.T_TO_VB_NP_NER);
+        registerTokenPattern(tokenPatterns, REGEX.T_NP_POS_NP);
+        registerTokenPattern(tokenPatterns, REGEX.T_NP_PERSON);
+        registerTokenPattern(tokenPatterns, REGEX.T_ORG_NP_PERSON);
+        registerTokenPattern(tokenPatterns, REGEX.T_ORG_IN_LOC);
+        registerTokenPattern(tokenPatterns, REGEX.T_ORG_PERSON);
+        registerTokenPattern(tokenPatterns, REGEX.T_PERSON_AMONG_NP);
+        registerTokenPattern(tokenPatterns, REGEX.T_HEARST_1);
+        registerTokenPattern(tokenPatterns, REGEX.T_HEARST_2);
+        registerTokenPattern(tokenPatterns, REGEX.T_HEARST_2_2);
+        registerTokenPattern(tokenPatterns, REGEX.T_HEARST_3);
+        registerTokenPattern(tokenPatterns, REGEX.T_HEARST_4);
+        registerTokenPattern(tokenPatterns, REGEX.T_CITY_OF_LOC);
+        registerTokenPattern(tokenPatterns, REGEX.T_POSS_VP);
+        registerTokenPattern(tokenPatterns, REGEX.T_RB_VB);
+        registerTokenPattern(tokenPatterns, REGEX.T_DT_OPT_RB_JJ_VB_OPT_NN);
+        registerTokenPattern(tokenPatterns, REGEX.T_VB_RB_VB);
+        registerTokenPattern(tokenPatterns, REGEX.T_PREP_ALL_PREP);
+        registerTokenPattern(tokenPatterns, REGEX.T_VB_TO_VB);
+        registerTokenPattern(tokenPatterns, REGEX.T_VB_RB);
+        registerTokenPattern(tokenPatterns, REGEX.T_DT_RB_JJ_PR_NN);
+        registerTokenPattern(tokenPatterns, REGEX.T_RB_OPT_IN_TO_OPT);
+        registerTokenPattern(tokenPatterns, REGEX.T_PR_NP);
+        registerTokenPattern(tokenPatterns, REGEX.T_DT_OPT_RB_JJ_OPT_ENTITY);
+        registerTokenPattern(tokenPatterns, REGEX.T_NP_IN_OPT_DT_RB_JJ_OPT_ENTITY);
+        registerTokenPattern(tokenPatterns, REGEX.T_TO_VP_IN);
+        registerTokenPattern(tokenPatterns, REGEX.T_RB_JJ_NER);
+        registerTokenPattern(tokenPatterns, REGEX.ADJACENT_QUANTITIES);
+        registerTokenPattern(tokenPatterns, REGEX.QUANTITY_SEQUENCE);
+        registerTokenPattern(tokenPatterns, REGEX.QUANTITY_SEQUENCE_WITH_NO);
+        registerTokenPattern(tokenPatterns, REGEX.SAFE_DETERMINER);
+        TOKEN_PATTERNS = Collections.unmodifiableMap(tokenPatterns);
+
+        Map<String, Pattern> stringPatterns = new HashMap<>();
+        registerStringPattern(stringPatterns, REGEX.MULTI_WORD_ENTITY);
+        registerStringPattern(stringPatterns, REGEX.MULTI_WORD_NOUN);
+        STRING_PATTERNS = Collections.unmodifiableMap(stringPatterns);
+    }
+
+    private PatternRegistry() {}
+
+    /**
+     * Get the compiled token regex pattern for a REGEX constant
+     * @param regex: one of the token regex constants in {@link REGEX}
+     * @return the (shared) compiled pattern
+     */
+    public static TokenSequencePattern getTokenPattern(String regex) {
+        TokenSequencePattern pattern = TOKEN_PATTERNS.get(regex);
+        if (pattern == null) {
+            throw new IllegalArgumentException("Not a registered token regex constant: " + regex);
+        }
+        return pattern;
+    }
+
+    /**
+     * Get a matcher of the compiled token regex pattern over a list of tokens
+     * @param regex: one of the token regex constants in {@link REGEX}
+     * @param tokens: the list of tokens being matched
+     * @return a new matcher (matchers are not thread-safe, the pattern is)
+     */
+    public static TokenSequenceMatcher getTokenMatcher(String regex, List<? extends CoreMap> tokens) {
+        return getTokenPattern(regex).getMatcher(tokens);
+    }
+
+    /**
+     * Get the compiled java.util.regex pattern for a REGEX constant
+     * @param regex: one of the string regex constants in {@link REGEX}
+     * @return the (shared) compiled pattern
+     */
+    public static Pattern getPattern(String regex) {
+        Pattern pattern = STRING_PATTERNS.get(regex);
+        if (pattern == null) {
+            throw new IllegalArgumentException("Not a registered regex constant: " + regex);
+        }
+        return pattern;
+    }
+
+    /**
+     * Checks if the whole input matches the compiled pattern of a REGEX constant (same as {@link String#matches},
+     * but without compiling the pattern each time)
+     * @param regex: one of the string regex constants in {@link REGEX}
+     * @param input: the input sequence
+     * @return true, if the whole input matches the pattern
+     */
+    public static boolean matches(String regex, CharSequence input) {
+        return getPattern(regex).matcher(input).matches();
+    }
+
+    private static void registerTokenPattern(Map<String, TokenSequencePattern> patterns, String regex) {
+        patterns.put(regex, TokenSequencePattern.compile(regex));
+    }
+
+    private static void registerStringPattern(Map<String, Pattern> patterns, String regex) {
+        patterns.put(regex, Pattern.compile(regex));
+    }
+}
@@ -0,0 +1,159 @@
+package de.uni_mannheim.utils;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/**
+ * Loads independent resources (e.g. the CoreNLP models and the dictionaries) in parallel, one thread per resource, and
+ * keeps a timeline of the loads. A resource is loaded as soon as it is submitted with {@link #load(String, Callable)};
+ * the result is obtained with {@link #get(CompletableFuture)}, which waits for the load. Loaders may submit (and wait
+ * for) other resources.
+ */
+public class Startup implements AutoCloseable {
+    /** A load of a resource, for the timeline **/
+    private static final class Entry {
+        private final String name;
+        private final long begin;
+        private volatile long end = -1;
+        private volatile boolean failed = false;
+
+        private Entry(String name, long begin) {
+            this.name = name;
+            this.begin = begin;
+        }
+    }
+
+    private final long start = System.nanoTime();
+    private final ExecutorService executor;
+    private final ObjectArrayList<Entry> entries = new ObjectArrayList<>();
+    private final ObjectArrayList<CompletableFuture<?>> loads = new ObjectArrayList<>();
+
+    public Startup() {
+        AtomicInteger count = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "minie-startup-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Start loading a resource in its own thread
+     * @param name - name of the resource (for the timeline)
+     * @param loader - loads the resource
+     * @return the resource, once loaded
+     */
+    public <T> CompletableFuture<T> load(String name, Callable<T> loader) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+            Entry entry = new Entry(name, System.nanoTime());
+            synchronized (this.entries) {
+                this.entries.add(entry);
+            }
+            try {
+                return loader.call();
+            } catch (RuntimeException | Error e) {
+                entry.failed = true;
+                throw e;
+            } catch (Exception e) {
+                entry.failed = true;
+                throw new CompletionException(e);
+            } finally {
+                entry.end = System.nanoTime();
+            }
+        }, this.executor);
+        synchronized (this.loads) {
+            this.loads.add(future);
+        }
+        return future;
+    }
+
+    /**
+     * Start initializing classes (i.e. running their static initializers, which e.g. load dictionaries) in their own
+     * thread
+     * @param name - name of the resource (for the timeline)
+     * @param classes - the classes to initialize
+     * @return completed once the classes are initialized
+     */
+    public CompletableFuture<Void> initialize(String name, Class<?>... classes) {
+        return this.load(name, () -> {
+            for (Class<?> c: classes) {
+                Class.forName(c.getName(), true, c.getClassLoader());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Wait for a resource
+     * @param future - the resource (see {@link #load(String, Callable)})
+     * @return the resource
+     * @throws RuntimeException if the resource could not be loaded (with the exception of the loader as its cause)
+     */
+    public static <T> T get(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Wait for all the resources submitted so far (including the ones submitted while waiting)
+     * @throws RuntimeException if a resource could not be loaded
+     */
+    public void awaitAll() {
+        int done = 0;
+        while (true) {
+            CompletableFuture<?> future;
+            synchronized (this.loads) {
+                if (done == this.loads.size())
+                    return;
+                future = this.loads.get(done);
+            }
+            get(future);
+            done++;
+        }
+    }
+
+    /** @return the time since the start, in ms **/
+    public long getElapsedMillis() {
+        return (System.nanoTime() - this.start) / 1000000;
+    }
+
+    /** @return the start and end time (since the start of the startup) and duration of each load, in start order **/
+    public String getTimeline() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "Startup timeline (%.2f s):", this.getElapsedMillis() / 1000.0));
+        synchronized (this.entries) {
+            for (Entry entry: this.entries) {
+                double begin = (entry.begin - this.start) / 1e9;
+                if (entry.end < 0) {
+                    sb.append(String.format(Locale.ROOT, "%n  %-32s %7.2f s -> (loading)", entry.name, begin));
+                    continue;
+                }
+                double end = (entry.end - this.start) / 1e9;
+                sb.append(String.format(Locale.ROOT, "%n  %-32s %7.2f s -> %7.2f s  %7.2f s%s", entry.name, begin, end,
+                        end - begin, entry.failed ? "  FAILED" : ""));
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Stop the loader threads (the running loads are not interrupted) **/
+    @Override
+    public void close() {
+        this.executor.shutdown();
+    }
+}
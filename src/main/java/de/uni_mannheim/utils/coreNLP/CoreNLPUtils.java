@@ -1,13 +1,18 @@
 package de.uni_mannheim.utils.coreNLP;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import edu.stanford.nlp.ling.CoreLabel;
 import edu.stanford.nlp.ling.IndexedWord;
 import edu.stanford.nlp.ling.CoreAnnotations.SentencesAnnotation;
 import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.pipeline.Annotator;
+import edu.stanford.nlp.pipeline.AnnotatorImplementations;
 import edu.stanford.nlp.pipeline.StanfordCoreNLP;
 import edu.stanford.nlp.semgraph.SemanticGraph;
 import edu.stanford.nlp.semgraph.SemanticGraphEdge;
@@ -29,27 +34,112 @@ import de.uni_mannheim.constant.NE_TYPE;
 import de.uni_mannheim.constant.POS_TAG;
 import de.uni_mannheim.constant.SEPARATOR;
 import de.uni_mannheim.constant.WORDS;
+import de.uni_mannheim.minie.metrics.Metrics;
+import de.uni_mannheim.utils.Startup;
 import de.uni_mannheim.utils.fastutils.FastUtil;
 
 /**
  * @author Kiril Gashteovski
  */
 public class CoreNLPUtils {
+    /** If set, the sentence parses are looked up in (and added to) this cache **/
+    private static volatile ParseCache parseCache;
+    
+    /**
+     * Set the cache of the parses of {@link #parse(StanfordCoreNLP, String)} and 
+     * {@link #parse(StanfordCoreNLP, List, int)}; the document annotations are not cached
+     * @param cache - the parse cache (null for none)
+     */
+    public static void setParseCache(ParseCache cache) {
+        parseCache = cache;
+    }
+    
+    /**
+     * @return the parse cache, or null if the parses are not cached
+     */
+    public static ParseCache getParseCache() {
+        return parseCache;
+    }
+    
     /**
      * Initializes and returns StanfordCoreNLP pipeline
      * @return StanfordCoreNLP pipeline
      */
     public static StanfordCoreNLP StanfordDepNNParser(){
+        return StanfordDepNNParser(PipelineProfile.FULL);
+    }
+    
+    /**
+     * Initializes and returns StanfordCoreNLP pipeline with the annotators of the given profile (e.g. without NER)
+     * @param profile - pipeline profile
+     * @return StanfordCoreNLP pipeline
+     */
+    public static StanfordCoreNLP StanfordDepNNParser(PipelineProfile profile){
+        StanfordCoreNLP pipeline =  new StanfordCoreNLP(profile.getProperties());
+
+        return pipeline;
+    }
+    
+    /**
+     * Initializes and returns StanfordCoreNLP pipeline with the annotators of the given profile, loading the models of
+     * the annotators (POS tagger, NER classifiers, dependency parser) in parallel, as resources of the startup. The
+     * pipeline is the same as the one of {@link #StanfordDepNNParser(PipelineProfile)}, but its annotators are not
+     * shared with other pipelines.
+     * @param profile - pipeline profile
+     * @param startup - loads the models
+     * @return StanfordCoreNLP pipeline
+     */
+    public static StanfordCoreNLP StanfordDepNNParser(PipelineProfile profile, Startup startup){
+        Properties props = profile.getProperties();
+        AnnotatorImplementations annotators = new PreloadedAnnotators(props, startup);
+        return new StanfordCoreNLP(props, StanfordCoreNLP.constructAnnotatorPool(props, annotators));
+    }
+    
+    /** Annotators whose models are loaded in parallel (as soon as this object is created) **/
+    private static class PreloadedAnnotators extends AnnotatorImplementations {
+        private final CompletableFuture<Annotator> posTagger;
+        private final CompletableFuture<Annotator> ner;
+        private final CompletableFuture<Annotator> dependencies;
+        
+        private PreloadedAnnotators(Properties props, Startup startup) {
+            AnnotatorImplementations annotators = new AnnotatorImplementations();
+            List<String> names = Arrays.asList(props.getProperty("annotators").split("\\s*,\\s*"));
+            this.posTagger = names.contains(Annotator.STANFORD_POS) ? 
+                    startup.load("POS tagger", () -> annotators.posTagger(props)) : null;
+            this.ner = names.contains(Annotator.STANFORD_NER) ? 
+                    startup.load("NER classifiers", () -> annotators.ner(props)) : null;
+            this.dependencies = names.contains(Annotator.STANFORD_DEPENDENCIES) ? 
+                    startup.load("dependency parser", () -> annotators.dependencies(props)) : null;
+        }
+        
+        @Override
+        public Annotator posTagger(Properties props) {
+            return this.posTagger != null ? Startup.get(this.posTagger) : super.posTagger(props);
+        }
+        
+        @Override
+        public Annotator ner(Properties props) {
+            return this.ner != null ? Startup.get(this.ner) : super.ner(props);
+        }
+        
+        @Override
+        public Annotator dependencies(Properties props) {
+            return this.dependencies != null ? Startup.get(this.dependencies) : super.dependencies(props);
+        }
+    }
+    
+    /**
+     * Initializes and returns a StanfordCoreNLP pipeline which only tokenizes and splits sentences (e.g. for splitting a
+     * document before parsing its sentences one by one)
+     * @return StanfordCoreNLP pipeline
+     */
+    public static StanfordCoreNLP StanfordSentenceSplitter(){
         Properties props = new Properties();
 
         props.put("language", "english");
-        props.setProperty("annotators", "tokenize, ssplit, pos, lemma, ner, depparse");
-        props.put("depparse.model", "edu/stanford/nlp/models/parser/nndep/english_SD.gz");
-        props.put("parse.originalDependencies", true);
+        props.setProperty("annotators", "tokenize, ssplit");
 
-        StanfordCoreNLP pipeline =  new StanfordCoreNLP(props);
-
-        return pipeline;
+        return new StanfordCoreNLP(props);
     }
     
     /**
@@ -60,8 +150,18 @@ public class CoreNLPUtils {
      * @return dependency parse in SemanticGraph object
      */
     public static SemanticGraph parse(StanfordCoreNLP pipeline, String snt) {
+        ParseCache cache = parseCache;
+        if (cache != null) {
+            SemanticGraph cached = cache.get(pipeline, snt);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        
+        long t = Metrics.start();
         Annotation document = new Annotation(snt);
         pipeline.annotate(document);
+        Metrics.record(Metrics.Stage.PARSE, t);
         
         //A CoreMap is a sentence with annotations
         List<CoreMap> sentences = document.get(SentencesAnnotation.class);
@@ -70,7 +170,112 @@ public class CoreNLPUtils {
             semanticGraph = sentence.get(BasicDependenciesAnnotation.class);
         }
         
-        return semanticGraphUniversalEnglishToEnglish(semanticGraph);
+        semanticGraph = semanticGraphUniversalEnglishToEnglish(semanticGraph);
+        setMissingNER(semanticGraph);
+        cache(cache, pipeline, snt, semanticGraph);
+        return semanticGraph;
+    }
+    
+    /** Add a parse to the cache (if any); the errors are only reported, as the cache is an optimization **/
+    private static void cache(ParseCache cache, StanfordCoreNLP pipeline, String snt, SemanticGraph semanticGraph) {
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.put(pipeline, snt, semanticGraph);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Given a CoreNLP pipeline and an input document, annotate the whole document once (tokenization, sentence 
+     * splitting, tagging and parsing) and return all of its sentences. The dependency parse of each sentence can be
+     * obtained with {@link #getSemanticGraph(CoreMap)}.
+     * @param pipeline - CoreNLP pipeline
+     * @param text - input document (one or more sentences)
+     * @return the annotated sentences of the document
+     */
+    public static List<CoreMap> annotateDocument(StanfordCoreNLP pipeline, String text) {
+        long t = Metrics.start();
+        Annotation document = new Annotation(text);
+        pipeline.annotate(document);
+        List<CoreMap> sentences = document.get(SentencesAnnotation.class);
+        Metrics.record(Metrics.Stage.PARSE, t, sentences.size());
+        return sentences;
+    }
+    
+    /**
+     * Given an annotated sentence (as obtained from {@link #annotateDocument(StanfordCoreNLP, String)}), return its 
+     * dependency parse
+     * @param sentence - annotated sentence
+     * @return dependency parse in SemanticGraph object
+     */
+    public static SemanticGraph getSemanticGraph(CoreMap sentence) {
+        SemanticGraph semanticGraph = semanticGraphUniversalEnglishToEnglish(sentence.get(BasicDependenciesAnnotation.class));
+        setMissingNER(semanticGraph);
+        return semanticGraph;
+    }
+    
+    /**
+     * Given a CoreNLP pipeline and a list of input sentences, generate the dependency parses of all the sentences with
+     * one (single-threaded) call to the pipeline. 
+     * @param pipeline - CoreNLP pipeline
+     * @param snts - input sentences
+     * @return dependency parses in SemanticGraph objects (in the same order as the input sentences)
+     */
+    public static ObjectArrayList<SemanticGraph> parse(StanfordCoreNLP pipeline, List<String> snts) {
+        return parse(pipeline, snts, 1);
+    }
+    
+    /**
+     * Given a CoreNLP pipeline and a list of input sentences, generate the dependency parses of all the sentences with
+     * one call to the pipeline, which annotates the sentences with 'threads' threads. As with 
+     * {@link #parse(StanfordCoreNLP, String)}, each input string is expected to be one sentence.
+     * @param pipeline - CoreNLP pipeline
+     * @param snts - input sentences
+     * @param threads - number of threads used by the pipeline
+     * @return dependency parses in SemanticGraph objects (in the same order as the input sentences)
+     */
+    public static ObjectArrayList<SemanticGraph> parse(StanfordCoreNLP pipeline, List<String> snts, int threads) {
+        // look up the cached parses first, and only parse the others
+        ParseCache cache = parseCache;
+        ObjectArrayList<SemanticGraph> semanticGraphs = new ObjectArrayList<>(snts.size());
+        IntArrayList missing = new IntArrayList();
+        for (int i = 0; i < snts.size(); i++) {
+            semanticGraphs.add(cache == null ? null : cache.get(pipeline, snts.get(i)));
+            if (semanticGraphs.get(i) == null) {
+                missing.add(i);
+            }
+        }
+        if (missing.isEmpty()) {
+            return semanticGraphs;
+        }
+        
+        long t = Metrics.start();
+        ObjectArrayList<Annotation> documents = new ObjectArrayList<>(missing.size());
+        for (int i: missing) {
+            documents.add(new Annotation(snts.get(i)));
+        }
+        if (threads > 1) {
+            pipeline.annotate(documents, threads);
+        } else {
+            pipeline.annotate(documents);
+        }
+        Metrics.record(Metrics.Stage.PARSE, t, documents.size());
+        
+        for (int j = 0; j < documents.size(); j++) {
+            SemanticGraph semanticGraph = null;
+            for (CoreMap sentence: documents.get(j).get(SentencesAnnotation.class)) {
+                semanticGraph = sentence.get(BasicDependenciesAnnotation.class);
+            }
+            semanticGraph = semanticGraphUniversalEnglishToEnglish(semanticGraph);
+            setMissingNER(semanticGraph);
+            semanticGraphs.set(missing.getInt(j), semanticGraph);
+            cache(cache, pipeline, snts.get(missing.getInt(j)), semanticGraph);
+        }
+        
+        return semanticGraphs;
     }
     
     /**
@@ -1063,6 +1268,19 @@ public class CoreNLPUtils {
         return semanticGraph;
     }
 
+    /**
+     * Set the NER tag of the words without one to "O" (e.g. when the pipeline has no NER annotator, see
+     * {@link PipelineProfile#NO_NER}), as MinIE expects every word to have a NER tag
+     * @param semanticGraph - dependency parse
+     */
+    private static void setMissingNER(SemanticGraph semanticGraph) {
+        for (IndexedWord word: semanticGraph.vertexSet()) {
+            if (word.ner() == null) {
+                word.setNER(NE_TYPE.NO_NER);
+            }
+        }
+    }
+
     public static boolean isOneNER(ObjectArrayList<IndexedWord> wordList) {
         String firstType = wordList.get(0).ner();
         if (firstType.equals(NE_TYPE.NO_NER)) {
@@ -0,0 +1,390 @@
+package de.uni_mannheim.utils.coreNLP;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.ling.IndexedWord;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import edu.stanford.nlp.semgraph.SemanticGraph;
+import edu.stanford.nlp.semgraph.SemanticGraphEdge;
+import edu.stanford.nlp.trees.EnglishGrammaticalRelations;
+import edu.stanford.nlp.trees.GrammaticalRelation;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/**
+ * Persistent cache of dependency parses, so that re-running MinIE over the same sentences (e.g. with another mode,
+ * dictionary or ClausIE options) does not parse them again. The parses are keyed by a 64-bit hash of the sentence and of
+ * the pipeline configuration (its properties), so a pipeline with other annotators or models does not see them. The
+ * sentence itself is stored as well and compared on lookup, so hash collisions are misses and not wrong parses.
+ *
+ * The cache is a directory of append-only segments ("parses-NNNNN.seg"), each one memory-mapped in full. A parse is
+ * stored compactly, as the words of the graph (word, value, original text, lemma, POS, NER, index, sentence index and
+ * character offsets) and its edges (governor, dependent, relation). Segment format (big-endian):
+ * <pre>
+ * int magic ("MPSC"), int version, then the records: int length of the record, long key, record
+ * record: string sentence, int #words, (string word, string value, string original text, string lemma, string POS,
+ *         string NER, int index, int sentence index, int begin, int end)*, int #edges, (int governor, int dependent,
+ *         string relation, double weight, boolean extra)*, int #roots, (int root)*
+ * </pre>
+ * where the strings are an int length (-1 for null) and the UTF-8 bytes, and the words of the edges and roots are
+ * given by position. The length of a record is written after the record itself, and a length of 0 ends the segment,
+ * so a record which was only partially written (e.g. the process was killed) is never read.
+ *
+ * Lookups are lock-free and can run concurrently with appends. Only one process can append to a cache directory (it
+ * holds a file lock); other processes open it read-only.
+ */
+public class ParseCache implements Closeable {
+    /** Default size of a segment **/
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    private static final int MAGIC = ('M' << 24) | ('P' << 16) | ('S' << 8) | 'C';
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    /** Record length and key **/
+    private static final int RECORD_HEADER_SIZE = 12;
+    private static final String SEGMENT_PREFIX = "parses-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String LOCK_FILE = "cache.lock";
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Path dir;
+    private final int segmentSize;
+    /** The mapped segments, in order (copy-on-write, as they are read without locking) **/
+    private final CopyOnWriteArrayList<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+    /** key -> (segment << 32 | offset of the record) **/
+    private final ConcurrentHashMap<Long, Long> index = new ConcurrentHashMap<>();
+    /** Append position in the last segment **/
+    private int position;
+    /** Null if another process appends to the cache **/
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+
+    /** Hashes of the configurations of the pipelines seen so far **/
+    private final Map<StanfordCoreNLP, Long> configurations = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Open a cache (creating it if needed) with segments of the default size
+     * @param dir: the cache directory
+     * @throws IOException
+     */
+    public ParseCache(Path dir) throws IOException {
+        this(dir, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Open a cache (creating it if needed)
+     * @param dir: the cache directory
+     * @param segmentSize: size of the new segments in bytes
+     * @throws IOException
+     */
+    public ParseCache(Path dir, int segmentSize) throws IOException {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(dir);
+
+        FileChannel channel = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        FileLock fileLock;
+        try {
+            fileLock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            fileLock = null;
+        }
+        if (fileLock == null) {
+            channel.close();
+            this.lockChannel = null;
+        } else {
+            this.lockChannel = channel;
+        }
+        this.lock = fileLock;
+
+        TreeMap<String, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file: stream) {
+                files.put(file.getFileName().toString(), file);
+            }
+        }
+        for (Path file: files.values()) {
+            this.position = this.load(this.map(file, 0));
+        }
+    }
+
+    /** @return true if this process can add parses to the cache **/
+    public boolean isWritable() {
+        return this.lock != null;
+    }
+
+    private MappedByteBuffer map(Path file, int size) throws IOException {
+        boolean writable = this.isWritable();
+        try (FileChannel channel = writable
+                ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = Math.max(channel.size(), size);
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Parse cache segment too large: " + file);
+            }
+            return channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+    }
+
+    /**
+     * Index the records of a segment
+     * @param segment: the mapped segment
+     * @return the end of the last record
+     * @throws IOException
+     */
+    private int load(MappedByteBuffer segment) throws IOException {
+        if (segment.capacity() < HEADER_SIZE || segment.getInt(0) != MAGIC) {
+            throw new IOException("Not a parse cache segment in " + this.dir);
+        }
+        if (segment.getInt(4) != VERSION) {
+            throw new IOException("Unsupported parse cache version: " + segment.getInt(4));
+        }
+        long number = this.segments.size();
+        this.segments.add(segment);
+        int offset = HEADER_SIZE;
+        while (offset + RECORD_HEADER_SIZE <= segment.capacity()) {
+            int length = segment.getInt(offset);
+            if (length <= 0 || offset + RECORD_HEADER_SIZE + length > segment.capacity())
+                break;
+            this.index.put(segment.getLong(offset + 4), (number << 32) | offset);
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+    /**
+     * Look up the parse of a sentence
+     * @param pipeline: the pipeline which parses the sentence
+     * @param sentence: the sentence
+     * @return the parse, or null if it is not in the cache
+     */
+    public SemanticGraph get(StanfordCoreNLP pipeline, String sentence) {
+        Long location = this.index.get(this.key(pipeline, sentence));
+        if (location != null) {
+            ByteBuffer record = this.segments.get((int) (location >>> 32)).duplicate();
+            record.position((int) (location & 0xffffffffL) + RECORD_HEADER_SIZE);
+            if (sentence.equals(readString(record))) {
+                this.hits.increment();
+                return decode(record);
+            }
+        }
+        this.misses.increment();
+        return null;
+    }
+
+    /**
+     * Add the parse of a sentence (nothing happens if the cache is read-only)
+     * @param pipeline: the pipeline which parsed the sentence
+     * @param sentence: the sentence
+     * @param sg: its parse
+     * @throws IOException
+     */
+    public void put(StanfordCoreNLP pipeline, String sentence, SemanticGraph sg) throws IOException {
+        if (!this.isWritable() || sg == null)
+            return;
+        long key = this.key(pipeline, sentence);
+        byte [] record = encode(sentence, sg);
+        if (HEADER_SIZE + RECORD_HEADER_SIZE + record.length > this.segmentSize)
+            return;
+
+        synchronized (this) {
+            if (this.segments.isEmpty() || this.position + RECORD_HEADER_SIZE + record.length
+                    > this.segments.get(this.segments.size() - 1).capacity()) {
+                this.newSegment();
+            }
+            MappedByteBuffer segment = this.segments.get(this.segments.size() - 1);
+            int offset = this.position;
+            ByteBuffer out = segment.duplicate();
+            out.position(offset + 4);
+            out.putLong(key);
+            out.put(record);
+            // publish the record: the length goes last
+            segment.putInt(offset, record.length);
+            this.position = offset + RECORD_HEADER_SIZE + record.length;
+            this.index.put(key, ((long) (this.segments.size() - 1) << 32) | offset);
+        }
+    }
+
+    private void newSegment() throws IOException {
+        Path file = this.dir.resolve(String.format("%s%05d%s", SEGMENT_PREFIX, this.segments.size(), SEGMENT_SUFFIX));
+        MappedByteBuffer segment = this.map(file, this.segmentSize);
+        segment.putInt(0, MAGIC);
+        segment.putInt(4, VERSION);
+        this.segments.add(segment);
+        this.position = HEADER_SIZE;
+    }
+
+    /** The key of a sentence: the hash of the pipeline configuration, continued with the sentence **/
+    private long key(StanfordCoreNLP pipeline, String sentence) {
+        Long configuration = this.configurations.get(pipeline);
+        if (configuration == null) {
+            // sorted, so that the hash does not depend on the order of the properties
+            Properties properties = pipeline.getProperties();
+            TreeMap<String, String> sorted = new TreeMap<>();
+            for (String name: properties.stringPropertyNames()) {
+                sorted.put(name, properties.getProperty(name));
+            }
+            configuration = hash(FNV_OFFSET, sorted.toString());
+            this.configurations.put(pipeline, configuration);
+        }
+        return hash(hash(configuration, "\n"), sentence);
+    }
+
+    /** FNV-1a over the chars of a string **/
+    private static long hash(long h, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            h = (h ^ (c & 0xff)) * FNV_PRIME;
+            h = (h ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    private static byte [] encode(String sentence, SemanticGraph sg) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * (sg.size() + 1));
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeString(out, sentence);
+
+        ObjectArrayList<IndexedWord> words = new ObjectArrayList<>(sg.vertexListSorted());
+        Object2IntOpenHashMap<IndexedWord> positions = new Object2IntOpenHashMap<>(words.size());
+        out.writeInt(words.size());
+        for (IndexedWord word: words) {
+            positions.put(word, positions.size());
+            writeString(out, word.word());
+            writeString(out, word.value());
+            writeString(out, word.originalText());
+            writeString(out, word.lemma());
+            writeString(out, word.tag());
+            writeString(out, word.ner());
+            out.writeInt(word.index());
+            out.writeInt(word.sentIndex());
+            out.writeInt(word.beginPosition());
+            out.writeInt(word.endPosition());
+        }
+
+        ObjectArrayList<SemanticGraphEdge> edges = new ObjectArrayList<>(sg.edgeListSorted());
+        out.writeInt(edges.size());
+        for (SemanticGraphEdge edge: edges) {
+            out.writeInt(positions.getInt(edge.getGovernor()));
+            out.writeInt(positions.getInt(edge.getDependent()));
+            writeString(out, edge.getRelation() == null ? null : edge.getRelation().getShortName());
+            out.writeDouble(edge.getWeight());
+            out.writeBoolean(edge.isExtra());
+        }
+
+        out.writeInt(sg.getRoots().size());
+        for (IndexedWord root: sg.getRoots()) {
+            out.writeInt(positions.getInt(root));
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static SemanticGraph decode(ByteBuffer in) {
+        SemanticGraph sg = new SemanticGraph();
+        IndexedWord [] words = new IndexedWord[in.getInt()];
+        for (int i = 0; i < words.length; i++) {
+            CoreLabel label = new CoreLabel();
+            label.setWord(readString(in));
+            label.setValue(readString(in));
+            label.setOriginalText(readString(in));
+            label.setLemma(readString(in));
+            label.setTag(readString(in));
+            label.setNER(readString(in));
+            label.setIndex(in.getInt());
+            label.setSentIndex(in.getInt());
+            label.setBeginPosition(in.getInt());
+            label.setEndPosition(in.getInt());
+            words[i] = new IndexedWord(label);
+            sg.addVertex(words[i]);
+        }
+
+        int edges = in.getInt();
+        for (int i = 0; i < edges; i++) {
+            IndexedWord governor = words[in.getInt()];
+            IndexedWord dependent = words[in.getInt()];
+            String relation = readString(in);
+            // the relations are those of CoreNLPUtils.semanticGraphUniversalEnglishToEnglish
+            GrammaticalRelation rel = relation == null ? null : EnglishGrammaticalRelations.shortNameToGRel.get(relation);
+            sg.addEdge(governor, dependent, rel, in.getDouble(), in.get() != 0);
+        }
+
+        int roots = in.getInt();
+        ObjectArrayList<IndexedWord> rootWords = new ObjectArrayList<>(roots);
+        for (int i = 0; i < roots; i++) {
+            rootWords.add(words[in.getInt()]);
+        }
+        sg.setRoots(rootWords);
+        return sg;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+        } else {
+            byte [] bytes = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0)
+            return null;
+        byte [] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** @return number of parses in the cache **/
+    public int size() {
+        return this.index.size();
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /** Release the lock of the cache directory (the mapped segments are unmapped when garbage collected) **/
+    @Override
+    public void close() throws IOException {
+        if (this.lock != null) {
+            this.lock.release();
+            this.lockChannel.close();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package de.uni_mannheim.utils.coreNLP;
+
+import java.util.EnumSet;
+import java.util.Properties;
+
+/**
+ * Profiles of the CoreNLP pipeline built by {@link CoreNLPUtils#StanfordDepNNParser(PipelineProfile)}. The NER
+ * annotator (with its numeric classifiers and SUTime) is the most expensive stage of the pipeline. The lighter profiles
+ * skip parts of it: the components of MinIE which read the skipped NER tags (see {@link Requirement}) still run, but
+ * see the words as if they were not (numeric) named entities / temporal expressions, so their extractions differ.
+ * The profile is chosen manually (e.g. with --profile): ClausIE reads the temporal NER tags for every sentence, so no
+ * combination of modes and extraction features keeps the exact output of MinIE without the full profile.
+ *
+ * The cost estimates were measured with CoreNLP 3.8.0 on one core (annotation time over the benchmark corpus, heap
+ * after loading the models); they are only meant to compare the profiles.
+ */
+public enum PipelineProfile {
+    /** The default pipeline: all NER classifiers (CRF, numeric classifiers and SUTime) **/
+    FULL("full", EnumSet.allOf(Requirement.class), 100, 680),
+    /** NER with the CRF and numeric classifiers, without SUTime ("ner.useSUTime=false") **/
+    NO_SUTIME("no-sutime", EnumSet.of(Requirement.NAMED_ENTITIES, Requirement.NUMERIC_ENTITIES), 60, 670),
+    /** NER with the CRF classifiers only ("ner.applyNumericClassifiers=false", which turns off SUTime as well) **/
+    NO_NUMERIC("no-numeric", EnumSet.of(Requirement.NAMED_ENTITIES), 60, 670),
+    /** No NER at all: all the words get the NER tag "O" **/
+    NO_NER("no-ner", EnumSet.noneOf(Requirement.class), 30, 335);
+
+    /** The NER tags which MinIE reads, by the NER classifiers which produce them **/
+    public enum Requirement {
+        /**
+         * PERSON, LOCATION, ORGANIZATION and MISC (CRF classifiers), read by the clause types of ClausIE, the implicit
+         * extractions and the phrase construction and minimization rules, which keep the named entities intact
+         */
+        NAMED_ENTITIES,
+        /**
+         * NUMBER, ORDINAL, PERCENT and MONEY (numeric classifiers), read by the quantities and the phrase
+         * construction and minimization rules
+         */
+        NUMERIC_ENTITIES,
+        /**
+         * DATE, TIME and DURATION of the temporal expressions (e.g. "last week") recognized by SUTime, read by the
+         * clause types of ClausIE
+         */
+        TEMPORAL_EXPRESSIONS
+    }
+
+    private final String name;
+    private final EnumSet<Requirement> provided;
+    /** Estimated annotation time, in percent of the one of FULL **/
+    private final int parseCost;
+    /** Estimated heap of the loaded models, in MB **/
+    private final int modelMemory;
+
+    PipelineProfile(String name, EnumSet<Requirement> provided, int parseCost, int modelMemory) {
+        this.name = name;
+        this.provided = provided;
+        this.parseCost = parseCost;
+        this.modelMemory = modelMemory;
+    }
+
+    /** @return the name of the profile (e.g. "no-ner") **/
+    public String getName() {
+        return this.name;
+    }
+
+    /** @return the NER tags produced by the pipeline of this profile **/
+    public EnumSet<Requirement> getProvided() {
+        return EnumSet.copyOf(this.provided);
+    }
+
+    /** @return the NER tags which MinIE reads but the pipeline of this profile does not produce **/
+    public EnumSet<Requirement> getMissing() {
+        return EnumSet.complementOf(this.provided);
+    }
+
+    /**
+     * @return the annotators of the pipeline
+     */
+    public String getAnnotators() {
+        return this == NO_NER ? "tokenize, ssplit, pos, lemma, depparse" : "tokenize, ssplit, pos, lemma, ner, depparse";
+    }
+
+    /**
+     * @return the properties of the CoreNLP pipeline of this profile
+     */
+    public Properties getProperties() {
+        Properties props = new Properties();
+        props.put("language", "english");
+        props.setProperty("annotators", this.getAnnotators());
+        props.put("depparse.model", "edu/stanford/nlp/models/parser/nndep/english_SD.gz");
+        props.put("parse.originalDependencies", true);
+        if (this == NO_SUTIME) {
+            props.setProperty("ner.useSUTime", "false");
+        } else if (this == NO_NUMERIC) {
+            props.setProperty("ner.useSUTime", "false");
+            props.setProperty("ner.applyNumericClassifiers", "false");
+        }
+        return props;
+    }
+
+    /**
+     * @return the estimated cost of the pipeline compared to the full one, and the NER tags it does not produce
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Parser profile ").append(this.name).append(" (").append(this.getAnnotators()).append("): ");
+        sb.append("estimated parse time ").append(this.parseCost).append("% and model memory ~");
+        sb.append(this.modelMemory).append(" MB of the full profile (~").append(FULL.modelMemory).append(" MB)");
+        EnumSet<Requirement> missing = this.getMissing();
+        if (!missing.isEmpty()) {
+            sb.append("; missing NER tags: ").append(missing);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param name - name of a profile (case-insensitive), e.g. "no-ner"
+     * @return the profile with that name
+     * @throws IllegalArgumentException if there is no profile with that name
+     */
+    public static PipelineProfile forName(String name) {
+        for (PipelineProfile profile: values()) {
+            if (profile.name.equalsIgnoreCase(name)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown parser profile: " + name + " (available: " + names() + ")");
+    }
+
+    /** @return the names of the profiles, separated by ", " **/
+    public static String names() {
+        StringBuilder sb = new StringBuilder();
+        for (PipelineProfile profile: values()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(profile.name);
+        }
+        return sb.toString();
+    }
+}
@@ -10,11 +10,16 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.StringJoiner;
 
+import de.uni_mannheim.clausie.Options;
+import de.uni_mannheim.constant.WORDS;
 import de.uni_mannheim.minie.MinIE;
 import de.uni_mannheim.minie.annotation.AnnotatedProposition;
 import de.uni_mannheim.minie.annotation.Attribution;
+import de.uni_mannheim.minie.annotation.Modality;
+import de.uni_mannheim.minie.annotation.Polarity;
 import de.uni_mannheim.minie.annotation.Quantity;
 import de.uni_mannheim.utils.Dictionary;
+import de.uni_mannheim.utils.Startup;
 
 /**
  * Helper class for MinIE
@@ -154,4 +159,18 @@ public class Utils {
         //logger.info("Finished loading dictionaries");
         return collocationDictionary;
     }
+
+    /**
+     * start loading the resources of the extraction and annotation of the propositions (the default ClausIE options and
+     * the dictionaries of polarity, modality, quantities and non-subsective adjectives), each in its own thread. They
+     * are otherwise loaded on the first sentence.
+     * @param startup: loads the resources
+     */
+    public static void loadAnnotationResources(Startup startup) {
+        startup.load("ClausIE options", Options::getDefault);
+        startup.initialize("polarity dictionaries", Polarity.class);
+        startup.initialize("modality dictionaries", Modality.class);
+        startup.initialize("quantity dictionaries", Quantity.class);
+        startup.initialize("word dictionaries", WORDS.class);
+    }
 }
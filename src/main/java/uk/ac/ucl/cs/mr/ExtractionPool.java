@@ -0,0 +1,344 @@
+package uk.ac.ucl.cs.mr;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import de.uni_mannheim.minie.main.ConcurrentExtractor;
+import de.uni_mannheim.utils.Dictionary;
+import de.uni_mannheim.utils.Startup;
+import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+import de.uni_mannheim.utils.coreNLP.PipelineProfile;
+
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+
+/**
+ * Bounded executor on which the service runs the extractions, so that the Grizzly worker threads only accept and
+ * dispatch requests. The pool has a fixed number of threads and a bounded queue; a request is rejected (503 with
+ * Retry-After) when the queue is full, or when the estimated time it would wait in the queue exceeds a threshold.
+ * Each request also has a deadline, after which it is answered with 503 and its task is cancelled.
+ *
+ * The pool is configured with system properties:
+ * <pre>
+ * minie.threads      number of extraction threads (default: number of cores)
+ * minie.queue.size   maximum number of queued requests (default: 256)
+ * minie.timeout.ms   default request deadline in ms (default: 30000)
+ * minie.max.wait.ms  maximum estimated queue wait in ms before shedding load (default: 10000)
+ * minie.profile      profile of the parser, see PipelineProfile (default: full)
+ * minie.dict         comma-separated multi-word dictionaries for the dictionary mode of the jobs (default: none,
+ *                    the dictionary mode is rejected)
+ * minie.jobs.threads maximum number of threads a bulk job uses at a time (default: one less than minie.threads,
+ *                    so that a job leaves a thread to the requests)
+ * </pre>
+ */
+
+public class ExtractionPool {
+
+    private static ExtractionPool instance = null;
+
+    /** Time to wait before retrying a background task when the queue is full, in ms **/
+    private static final long RETRY_MILLIS = 50;
+
+    private final StanfordCoreNLP parser;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final long timeoutMillis;
+    private final long maxWaitMillis;
+
+    private ConcurrentExtractor extractor = null;
+    private StanfordCoreNLP splitter = null;
+
+    /** Moving average (weight 1/8) of the task service time, in ns **/
+    private final AtomicLong serviceTimeNanos = new AtomicLong(0);
+
+    public ExtractionPool(StanfordCoreNLP parser, int threads, int queueSize, long timeoutMillis, long maxWaitMillis) {
+        this.parser = parser;
+        this.threads = threads;
+        this.timeoutMillis = timeoutMillis;
+        this.maxWaitMillis = maxWaitMillis;
+
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, "minie-extraction-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), factory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** The shared pool of the service, configured from the system properties **/
+    public static synchronized ExtractionPool getInstance() {
+        if (instance == null) {
+            instance = create(CoreNLPUtils.StanfordDepNNParser(getProfile()));
+        }
+        return instance;
+    }
+
+    /**
+     * Create the shared pool of the service (if not created yet), loading the models of its parser in parallel
+     * @param startup - loads the models
+     * @return the shared pool
+     */
+    public static synchronized ExtractionPool initialize(Startup startup) {
+        if (instance == null) {
+            instance = create(CoreNLPUtils.StanfordDepNNParser(getProfile(), startup));
+        }
+        return instance;
+    }
+
+    private static PipelineProfile getProfile() {
+        return PipelineProfile.forName(System.getProperty("minie.profile", PipelineProfile.FULL.getName()));
+    }
+
+    private static ExtractionPool create(StanfordCoreNLP parser) {
+        return new ExtractionPool(parser,
+                Integer.getInteger("minie.threads", Runtime.getRuntime().availableProcessors()),
+                Integer.getInteger("minie.queue.size", 256),
+                Long.getLong("minie.timeout.ms", 30000L),
+                Long.getLong("minie.max.wait.ms", 10000L));
+    }
+
+    public StanfordCoreNLP getParser() {
+        return this.parser;
+    }
+
+    /** Pipeline which only splits sentences (created on first use) **/
+    public synchronized StanfordCoreNLP getSplitter() {
+        if (this.splitter == null) {
+            this.splitter = CoreNLPUtils.StanfordSentenceSplitter();
+        }
+        return this.splitter;
+    }
+
+    /**
+     * Extractor sharing the parser of the pool, with one MinIE instance per pool thread, and the multi-word
+     * dictionaries of minie.dict (if set) for the dictionary mode
+     */
+    public synchronized ConcurrentExtractor getExtractor() {
+        if (this.extractor == null) {
+            Dictionary dictionary = new Dictionary();
+            String dict = System.getProperty("minie.dict");
+            if (hasDictionary()) {
+                try {
+                    dictionary = new Dictionary(dict.split(","));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            this.extractor = new ConcurrentExtractor(this.parser, dictionary, this.executor);
+        }
+        return this.extractor;
+    }
+
+    /** @return whether multi-word dictionaries are configured (minie.dict), i.e. the dictionary mode can be used **/
+    public static boolean hasDictionary() {
+        String dict = System.getProperty("minie.dict");
+        return dict != null && !dict.trim().isEmpty();
+    }
+
+    /** @return the number of threads of the pool **/
+    public int getThreads() {
+        return this.threads;
+    }
+
+    /** @return the maximum number of background tasks a bulk job runs at a time (minie.jobs.threads, at least 1) **/
+    public int getJobThreads() {
+        return Math.max(1, Math.min(this.threads, Integer.getInteger("minie.jobs.threads", this.threads - 1)));
+    }
+
+    public long getTimeoutMillis() {
+        return this.timeoutMillis;
+    }
+
+    /**
+     * Estimated time a newly submitted task waits in the queue: the tasks ahead of it, spread over the threads, times
+     * the average service time
+     * @return estimated queue wait in ms
+     */
+    public long estimatedWaitMillis() {
+        long ahead = this.executor.getQueue().size() + this.executor.getActiveCount() - this.threads + 1;
+        if (ahead <= 0)
+            return 0;
+        long rounds = (ahead + this.threads - 1) / this.threads;
+        return TimeUnit.NANOSECONDS.toMillis(rounds * this.serviceTimeNanos.get());
+    }
+
+    /** @return whether new requests are shed, because the estimated queue wait is too long **/
+    public boolean isOverloaded() {
+        return this.estimatedWaitMillis() > this.maxWaitMillis;
+    }
+
+    /**
+     * Run a task on the pool and resume the response with its result. The response is resumed with 503 and
+     * Retry-After when the request is shed (full queue or too long an estimated wait) or when the deadline passes
+     * before the task is done; in the latter case the task is cancelled.
+     * @param response: the suspended response
+     * @param timeoutMillis: deadline of the request in ms (0 or less: the default deadline)
+     * @param task: the extraction; its result is the response entity
+     */
+    public <T> void submit(AsyncResponse response, long timeoutMillis, Callable<T> task) {
+        long wait = this.estimatedWaitMillis();
+        if (wait > this.maxWaitMillis) {
+            response.resume(unavailable(wait));
+            return;
+        }
+
+        long timeout = timeoutMillis > 0 ? timeoutMillis : this.timeoutMillis;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        // The timeout is armed before submitting (it cannot be set once the response is resumed)
+        AtomicReference<Future<?>> future = new AtomicReference<>();
+        response.setTimeoutHandler(r -> {
+            Future<?> f = future.get();
+            if (f != null)
+                f.cancel(true);
+            r.resume(unavailable(this.estimatedWaitMillis()));
+        });
+        response.setTimeout(timeout, TimeUnit.MILLISECONDS);
+
+        try {
+            future.set(this.executor.submit(() -> {
+                // Skip the work if the deadline passed while queued
+                if (System.nanoTime() - deadline >= 0 || response.isDone())
+                    return;
+                long start = System.nanoTime();
+                try {
+                    response.resume(task.call());
+                } catch (Throwable e) {
+                    response.resume(e);
+                } finally {
+                    this.record(System.nanoTime() - start);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            response.resume(unavailable(this.estimatedWaitMillis()));
+        }
+    }
+
+    /**
+     * Shed a request which is run synchronously (e.g. a streamed response) if the estimated queue wait is too long
+     * @throws ServiceUnavailableException with the estimated wait as Retry-After
+     */
+    public void checkAdmission() {
+        long wait = this.estimatedWaitMillis();
+        if (wait > this.maxWaitMillis) {
+            throw new ServiceUnavailableException(retryAfterSeconds(wait));
+        }
+    }
+
+    /**
+     * Submit a background task to the pool. While the queue is full the task is retried, so that background work
+     * (e.g. bulk jobs) is never shed. The service time of the task is recorded per sentence, so that a task over many
+     * sentences does not inflate the estimated queue wait of the requests.
+     * @param task: the task to run
+     * @param sentences: number of sentences the task extracts
+     * @return the result of the task
+     * @throws InterruptedException if interrupted while waiting for room in the queue
+     */
+    public <T> Future<T> submitBackground(Callable<T> task, int sentences) throws InterruptedException {
+        Callable<T> timed = this.timed(task, sentences);
+        while (true) {
+            try {
+                return this.executor.submit(timed);
+            } catch (RejectedExecutionException e) {
+                if (this.executor.isShutdown())
+                    throw e;
+                Thread.sleep(RETRY_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Run a task of a streamed request on the pool and wait for its result, until the deadline of the request. Each
+     * task is admitted like a request: it is shed when the queue is full or the estimated queue wait is too long, and
+     * cancelled when the deadline passes.
+     * @param task: the task to run
+     * @param deadline: deadline of the request (see {@link #deadline(long)})
+     * @return the result of the task
+     * @throws RejectedExecutionException if the task was shed
+     * @throws TimeoutException if the deadline passed (the task is then cancelled)
+     * @throws InterruptedException if interrupted while waiting (the task is then cancelled)
+     * @throws ExecutionException if the task failed
+     */
+    public <T> T invoke(Callable<T> task, long deadline)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        if (this.isOverloaded())
+            throw new RejectedExecutionException("Service overloaded");
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0)
+            throw new TimeoutException("Deadline exceeded");
+        Future<T> future = this.executor.submit(this.timed(task, 1));
+        try {
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new TimeoutException("Deadline exceeded");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        }
+    }
+
+    /**
+     * @param timeoutMillis: timeout of a request in ms (0 or less: the default deadline)
+     * @return the deadline of a request starting now (System.nanoTime() based)
+     */
+    public long deadline(long timeoutMillis) {
+        long timeout = timeoutMillis > 0 ? timeoutMillis : this.timeoutMillis;
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+    }
+
+    /** The task, adding its service time per sentence to the moving average **/
+    private <T> Callable<T> timed(Callable<T> task, int sentences) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return task.call();
+            } finally {
+                this.record((System.nanoTime() - start) / Math.max(1, sentences));
+            }
+        };
+    }
+
+    /** Add a sample to the moving average of the service time **/
+    private void record(long nanos) {
+        long old;
+        long updated;
+        do {
+            old = this.serviceTimeNanos.get();
+            updated = old == 0 ? nanos : old + (nanos - old) / 8;
+        } while (!this.serviceTimeNanos.compareAndSet(old, updated));
+    }
+
+    /** 503 response, with the estimated wait (rounded up to seconds, at least 1) as Retry-After **/
+    private static Response unavailable(long waitMillis) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(waitMillis))
+                .build();
+    }
+
+    private static long retryAfterSeconds(long waitMillis) {
+        return Math.max(1, (waitMillis + 999) / 1000);
+    }
+
+    /** Stop accepting tasks and interrupt the running ones **/
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+}
@@ -1,19 +1,51 @@
 package uk.ac.ucl.cs.mr;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.sse.OutboundSseEvent;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import de.uni_mannheim.minie.ExtractionFeatures;
 import de.uni_mannheim.minie.MinIE;
 import de.uni_mannheim.minie.annotation.AnnotatedPhrase;
 import de.uni_mannheim.minie.annotation.AnnotatedProposition;
+import de.uni_mannheim.utils.Dictionary;
 import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
 
+import edu.stanford.nlp.ling.CoreAnnotations.CharacterOffsetBeginAnnotation;
+import edu.stanford.nlp.ling.CoreAnnotations.CharacterOffsetEndAnnotation;
+import edu.stanford.nlp.ling.CoreAnnotations.TextAnnotation;
 import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import edu.stanford.nlp.semgraph.SemanticGraph;
+import edu.stanford.nlp.util.CoreMap;
 
 /**
  * @author Pasquale Minervini
@@ -22,15 +54,218 @@ import edu.stanford.nlp.pipeline.StanfordCoreNLP;
 @Path("/query")
 public class FactsResource {
 
-    private static final StanfordCoreNLP parser = CoreNLPUtils.StanfordDepNNParser();
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Threads which produce the streamed responses (the extractions themselves run on the pool), at most minie.streams
+     * (default: 16) at a time; further streams are shed with 503
+     */
+    private static final ExecutorService streams = new ThreadPoolExecutor(0, Integer.getInteger("minie.streams", 16),
+            60L, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+        Thread t = new Thread(r, "minie-stream");
+        t.setDaemon(true);
+        return t;
+    });
 
+    /**
+     * Extract the facts asynchronously on the extraction pool (see {@link ExtractionPool})
+     * @param timeout: deadline of the request in ms (default: minie.timeout.ms)
+     * @param features: the optional annotation stages, see {@link ExtractionFeatures#parse(String)} (default: all)
+     */
     @POST
     @Produces({MediaType.APPLICATION_JSON})
-    public FactsBean query(String sentence) {
-        MinIE minie = new MinIE(sentence, FactsResource.parser, MinIE.Mode.SAFE);
+    public void query(String sentence, @QueryParam("timeout") @DefaultValue("0") long timeout,
+                      @QueryParam("features") @DefaultValue("all") String features,
+                      @Suspended AsyncResponse response) {
+        ExtractionFeatures extractionFeatures = parseFeatures(features);
+        ExtractionPool pool = ExtractionPool.getInstance();
+        pool.submit(response, timeout, () -> extract(pool.getParser(), sentence, extractionFeatures));
+    }
+
+    /**
+     * Streaming variant of the query: the facts of each sentence are written as one line of JSON (see
+     * {@link SentenceFacts}) as soon as the sentence is extracted. As with the query, the facts are extracted in the
+     * safe mode of MinIE (see {@link #extract(CoreMap, ExtractionFeatures)}). If the extraction fails, is shed or
+     * passes the deadline, the stream ends with a line {"error": message}.
+     * @param timeout: deadline of the whole stream in ms (default: minie.timeout.ms)
+     */
+    @POST
+    @Path("/stream")
+    @Produces({NDJSON})
+    public void stream(String text, @QueryParam("timeout") @DefaultValue("0") long timeout,
+                       @QueryParam("features") @DefaultValue("all") String features,
+                       @Suspended AsyncResponse response) {
+        ExtractionFeatures extractionFeatures = parseFeatures(features);
+        ExtractionPool pool = ExtractionPool.getInstance();
+        pool.checkAdmission();
+        long deadline = pool.deadline(timeout);
+        ObjectWriter writer = MAPPER.writerFor(SentenceFacts.class);
+        // the response is written by the stream thread which resumes it, not by the request thread
+        StreamingOutput output = out -> {
+            try {
+                forEachSentence(pool, text, extractionFeatures, deadline, sentenceFacts -> {
+                    out.write(writer.writeValueAsBytes(sentenceFacts));
+                    out.write('\n');
+                    out.flush();
+                });
+            } catch (StreamError e) {
+                out.write(MAPPER.writeValueAsBytes(Collections.singletonMap("error", e.getMessage())));
+                out.write('\n');
+                out.flush();
+            }
+        };
+        produce(() -> response.resume(output));
+    }
+
+    /**
+     * Server-sent events variant of the query: one "facts" event (with a {@link SentenceFacts}) per sentence, as soon
+     * as the sentence is extracted, then an "end" event (or an "error" event if the extraction failed, was shed or
+     * passed the deadline). As with the query, the facts are extracted in the safe mode of MinIE.
+     * @param timeout: deadline of the whole stream in ms (default: minie.timeout.ms)
+     */
+    @POST
+    @Path("/events")
+    @Produces({MediaType.SERVER_SENT_EVENTS})
+    public void events(String text, @QueryParam("timeout") @DefaultValue("0") long timeout,
+                       @QueryParam("features") @DefaultValue("all") String features,
+                       @Context SseEventSink sink, @Context Sse sse) {
+        ExtractionFeatures extractionFeatures = parseFeatures(features);
+        ExtractionPool pool = ExtractionPool.getInstance();
+        pool.checkAdmission();
+        long deadline = pool.deadline(timeout);
+        produce(() -> {
+            try (SseEventSink eventSink = sink) {
+                try {
+                    forEachSentence(pool, text, extractionFeatures, deadline, sentenceFacts -> send(eventSink,
+                            sse.newEventBuilder()
+                                    .name("facts")
+                                    .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                                    .data(SentenceFacts.class, sentenceFacts)
+                                    .build()));
+                    send(eventSink, sse.newEvent("end", ""));
+                } catch (StreamError e) {
+                    if (!eventSink.isClosed())
+                        eventSink.send(sse.newEvent("error", String.valueOf(e.getMessage())));
+                } catch (IOException e) {
+                    // the client went away
+                }
+            }
+        });
+    }
+
+    /** Produce a streamed response on a stream thread; 503 if all the stream threads are busy **/
+    private static void produce(Runnable producer) {
+        try {
+            streams.execute(producer);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException(1L);
+        }
+    }
+
+    /** The optional annotation stages of a request; 400 if the list is malformed **/
+    private static ExtractionFeatures parseFeatures(String features) {
+        try {
+            return ExtractionFeatures.parse(features);
+        } catch (IllegalArgumentException e) {
+            throw new WebApplicationException(e.getMessage(), Response.Status.BAD_REQUEST);
+        }
+    }
+
+    /** Send an event and wait until it is written (so that at most one event per request is buffered) **/
+    private static void send(SseEventSink sink, OutboundSseEvent event) throws IOException {
+        try {
+            sink.send(event).toCompletableFuture().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /** Receives the facts of the sentences of a document, one sentence at a time **/
+    private interface SentenceFactsSink {
+        void accept(SentenceFacts sentenceFacts) throws IOException;
+    }
 
+    /** Failure of the extraction of a streamed text, reported to the client at the end of the stream **/
+    private static class StreamError extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        StreamError(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Split the text into sentences, then annotate and extract the sentences one by one on the extraction pool, so that
+     * only one sentence is annotated at a time. Each sentence is admitted like a request (see
+     * {@link ExtractionPool#invoke(Callable, long)}).
+     * @param pool: the extraction pool
+     * @param text: the text to extract from
+     * @param features: the optional annotation stages
+     * @param deadline: deadline of the stream (see {@link ExtractionPool#deadline(long)})
+     * @param sink: receives the facts of each sentence, in order
+     * @throws IOException if the sink fails
+     * @throws StreamError if the extraction fails, is shed, passes the deadline or is interrupted
+     */
+    private static void forEachSentence(ExtractionPool pool, String text, ExtractionFeatures features, long deadline,
+                                        SentenceFactsSink sink) throws IOException, StreamError {
+        List<CoreMap> sentences = CoreNLPUtils.annotateDocument(pool.getSplitter(), text);
+        for (int i = 0; i < sentences.size(); i++) {
+            int begin = sentences.get(i).get(CharacterOffsetBeginAnnotation.class);
+            int end = sentences.get(i).get(CharacterOffsetEndAnnotation.class);
+            String sentence = text.substring(begin, end);
+
+            List<Fact> facts;
+            try {
+                facts = pool.invoke(() -> extract(pool.getParser(), sentence, features).facts, deadline);
+            } catch (RejectedExecutionException | TimeoutException e) {
+                throw new StreamError(e.getMessage(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new StreamError("Interrupted", e);
+            } catch (ExecutionException e) {
+                throw new StreamError(String.valueOf(e.getCause()), e.getCause());
+            }
+            sink.accept(new SentenceFacts(i, begin, end, facts));
+        }
+    }
+
+    public static FactsBean extract(StanfordCoreNLP parser, String text) {
+        return extract(parser, text, ExtractionFeatures.ALL);
+    }
+
+    public static FactsBean extract(StanfordCoreNLP parser, String text, ExtractionFeatures features) {
         List<Fact> facts = new ArrayList<>();
 
+        // The input may contain several sentences: annotate it once and extract from every sentence
+        for (CoreMap cm: CoreNLPUtils.annotateDocument(parser, text)) {
+            facts.addAll(extract(cm, features));
+        }
+
+        return new FactsBean(facts);
+    }
+
+    /** Extract the facts of an annotated sentence **/
+    public static List<Fact> extract(CoreMap cm) {
+        return extract(cm, ExtractionFeatures.ALL);
+    }
+
+    /**
+     * Extract the facts of an annotated sentence, running only the given optional annotation stages. The facts of the
+     * query and of the streamed responses are all extracted in the safe mode of MinIE, which does not use the
+     * dictionary (the other modes are only available to the bulk jobs, see {@link JobsResource}).
+     */
+    public static List<Fact> extract(CoreMap cm, ExtractionFeatures features) {
+        List<Fact> facts = new ArrayList<>();
+        SemanticGraph sg = CoreNLPUtils.getSemanticGraph(cm);
+        MinIE minie = new MinIE();
+        minie.setExtractionFeatures(features);
+        minie.minimize(cm.get(TextAnnotation.class), sg, MinIE.Mode.SAFE, new Dictionary());
+
         for (AnnotatedProposition ap: minie.getPropositions()) {
             List<AnnotatedPhrase> triple = ap.getTriple();
 
@@ -41,7 +276,6 @@ public class FactsResource {
             Fact fact = new Fact(s, p, o);
             facts.add(fact);
         }
-
-        return new FactsBean(facts);
+        return facts;
     }
 }
@@ -0,0 +1,56 @@
+package uk.ac.ucl.cs.mr;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+/**
+ * Health checks for load balancers and orchestrators. The service is live as long as it answers; it is ready once
+ * the warm-up is done (see {@link Warmup}) and as long as the extraction pool does not shed requests (see
+ * {@link ExtractionPool#isOverloaded()}). A service which is not ready is answered with 503.
+ */
+
+@Path("/health")
+public class HealthResource {
+
+    @GET
+    @Path("/live")
+    @Produces({MediaType.APPLICATION_JSON})
+    public HealthStatus live() {
+        HealthStatus status = warmupStatus();
+        status.status = "live";
+        return status;
+    }
+
+    @GET
+    @Path("/ready")
+    @Produces({MediaType.APPLICATION_JSON})
+    public Response ready() {
+        HealthStatus status = warmupStatus();
+        Warmup warmup = Warmup.getInstance();
+        if (warmup.getState() == Warmup.State.FAILED) {
+            status.status = "failed";
+        } else if (!warmup.isDone()) {
+            status.status = "warming up";
+        } else {
+            ExtractionPool pool = ExtractionPool.getInstance();
+            status.estimatedWaitMillis = pool.estimatedWaitMillis();
+            status.status = pool.isOverloaded() ? "overloaded" : "ready";
+        }
+        Response.Status code = status.status.equals("ready") ? Response.Status.OK : Response.Status.SERVICE_UNAVAILABLE;
+        return Response.status(code).entity(status).build();
+    }
+
+    private static HealthStatus warmupStatus() {
+        Warmup warmup = Warmup.getInstance();
+        HealthStatus status = new HealthStatus();
+        status.warmup = warmup.getState().name();
+        status.error = warmup.getError();
+        status.warmupRounds = warmup.getRounds();
+        status.warmupP99Millis = warmup.getP99Millis();
+        status.warmupMillis = warmup.getElapsedMillis();
+        return status;
+    }
+}
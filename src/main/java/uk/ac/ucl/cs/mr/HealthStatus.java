@@ -0,0 +1,18 @@
+package uk.ac.ucl.cs.mr;
+
+import javax.xml.bind.annotation.XmlRootElement;
+
+@XmlRootElement
+public class HealthStatus {
+
+    public String status;
+    public String error;
+
+    public String warmup;
+    public int warmupRounds;
+    public double warmupP99Millis;
+    public long warmupMillis;
+
+    public long estimatedWaitMillis;
+
+}
@@ -0,0 +1,280 @@
+package uk.ac.ucl.cs.mr;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+import de.uni_mannheim.minie.ExtractionFeatures;
+import de.uni_mannheim.minie.MinIE;
+import de.uni_mannheim.minie.annotation.AnnotatedProposition;
+import de.uni_mannheim.minie.main.ConcurrentExtractor;
+import de.uni_mannheim.minie.output.JsonLinesPropositionWriter;
+import de.uni_mannheim.minie.output.PropositionWriter;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/**
+ * A bulk extraction job: an uploaded text file (one sentence per line, optionally gzip-compressed) whose sentences are
+ * extracted in the background, in chunks which run as tasks of the {@link ExtractionPool} (up to minie.jobs.threads
+ * chunks at a time, so that a thread is left to the requests; empty lines are skipped). The propositions are
+ * appended, in input order, to a JSON Lines file (see {@link JsonLinesPropositionWriter}), which can be streamed while
+ * the job runs.
+ */
+
+public class Job implements Runnable {
+
+    public enum State { QUEUED, RUNNING, DONE, FAILED }
+
+    /** Number of sentences extracted by one task of the pool **/
+    private static final int CHUNK_SIZE = 64;
+
+    private final String id;
+    private final Path input;
+    private final Path results;
+    private final MinIE.Mode mode;
+    private final ExtractionFeatures features;
+    private final long inputSize;
+
+    private volatile State state = State.QUEUED;
+    private volatile String error = null;
+    private volatile long bytesRead = 0;
+    private volatile long sentences = 0;
+    private volatile long propositions = 0;
+    private volatile long startTime = 0;
+    private volatile long endTime = 0;
+    /** Length of the results file up to the last completed chunk (only complete lines are streamed) **/
+    private volatile long resultsSize = 0;
+
+    /** Directory of the uploaded files and results **/
+    private static Path directory = null;
+
+    /**
+     * Create a job; the upload is stored first, since the request stream is closed once the request is answered
+     * @param id: id of the job
+     * @param upload: the uploaded file
+     * @param mode: MinIE mode
+     * @param features: the optional annotation stages
+     * @throws IOException
+     */
+    public Job(String id, InputStream upload, MinIE.Mode mode, ExtractionFeatures features) throws IOException {
+        Path dir = getDirectory();
+        this.id = id;
+        this.input = dir.resolve(id + ".txt");
+        this.results = dir.resolve(id + ".jsonl");
+        this.mode = mode;
+        this.features = features;
+        Files.copy(upload, this.input, StandardCopyOption.REPLACE_EXISTING);
+        this.inputSize = Files.size(this.input);
+        Files.deleteIfExists(this.results);
+        Files.createFile(this.results);
+    }
+
+    private static synchronized Path getDirectory() throws IOException {
+        if (directory == null) {
+            String dir = System.getProperty("minie.jobs.dir");
+            directory = dir == null ? Files.createTempDirectory("minie-jobs") : Files.createDirectories(Paths.get(dir));
+        }
+        return directory;
+    }
+
+    public String getId() {
+        return this.id;
+    }
+
+    public State getState() {
+        return this.state;
+    }
+
+    public boolean isFinished() {
+        return this.state == State.DONE || this.state == State.FAILED;
+    }
+
+    @Override
+    public void run() {
+        this.state = State.RUNNING;
+        this.startTime = System.currentTimeMillis();
+        ExtractionPool pool = ExtractionPool.getInstance();
+        ConcurrentExtractor extractor = pool.getExtractor();
+
+        ArrayDeque<Future<List<ObjectArrayList<AnnotatedProposition>>>> inFlight = new ArrayDeque<>();
+        try (InputStream in = this.open();
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+             FileChannel channel = FileChannel.open(this.results, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+             PropositionWriter writer = new JsonLinesPropositionWriter(channel)) {
+            // up to minie.jobs.threads chunks are extracted at a time; the chunks are written in order
+            int maxInFlight = pool.getJobThreads();
+            List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+            String line;
+            do {
+                line = reader.readLine();
+                // skip empty lines
+                if (line != null && !line.trim().isEmpty())
+                    chunk.add(line);
+                if (chunk.size() == CHUNK_SIZE || (line == null && !chunk.isEmpty())) {
+                    if (inFlight.size() == maxInFlight)
+                        this.write(inFlight.poll().get(), writer, channel);
+                    List<String> sentences = new ArrayList<>(chunk);
+                    inFlight.add(pool.submitBackground(() -> {
+                        List<ObjectArrayList<AnnotatedProposition>> props = new ArrayList<>(sentences.size());
+                        for (String sentence: sentences) {
+                            props.add(extractor.analyzeSentence(sentence, this.mode, this.features));
+                        }
+                        return props;
+                    }, sentences.size()));
+                    chunk.clear();
+                }
+            } while (line != null);
+            while (!inFlight.isEmpty()) {
+                this.write(inFlight.poll().get(), writer, channel);
+            }
+            this.state = State.DONE;
+        } catch (InterruptedException e) {
+            this.error = "Interrupted";
+            this.state = State.FAILED;
+            Thread.currentThread().interrupt();
+        } catch (IOException | ExecutionException | RuntimeException e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            this.error = cause.toString();
+            this.state = State.FAILED;
+        } finally {
+            for (Future<?> future: inFlight) {
+                future.cancel(true);
+            }
+            this.endTime = System.currentTimeMillis();
+            synchronized (this) {
+                this.notifyAll();
+            }
+        }
+    }
+
+    /** Append the propositions of an extracted chunk to the results **/
+    private void write(List<ObjectArrayList<AnnotatedProposition>> extracted, PropositionWriter writer,
+                       FileChannel channel) throws IOException {
+        long count = 0;
+        for (ObjectArrayList<AnnotatedProposition> props: extracted) {
+            writer.write(this.sentences + count++, props);
+            this.propositions += props.size();
+        }
+        writer.flush();
+        synchronized (this) {
+            this.sentences += count;
+            this.resultsSize = channel.position();
+            this.notifyAll();
+        }
+    }
+
+    /** Open the input, decompressing it if it starts with the gzip magic number **/
+    private InputStream open() throws IOException {
+        InputStream in = new BufferedInputStream(new FilterInputStream(Files.newInputStream(this.input)) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0)
+                    Job.this.bytesRead++;
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n > 0)
+                    Job.this.bytesRead += n;
+                return n;
+            }
+        });
+        in.mark(2);
+        int magic = in.read() | (in.read() << 8);
+        in.reset();
+        return magic == GZIPInputStream.GZIP_MAGIC ? new GZIPInputStream(in) : in;
+    }
+
+    /**
+     * Write the results to the output as they become available, until the job is finished and all of them are written
+     * @param out: output stream
+     * @throws IOException
+     */
+    public void streamResults(OutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+        try (FileChannel channel = FileChannel.open(this.results, StandardOpenOption.READ)) {
+            long position = 0;
+            while (true) {
+                long available;
+                boolean finished;
+                synchronized (this) {
+                    while (position == this.resultsSize && !this.isFinished()) {
+                        try {
+                            this.wait(1000);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                    available = this.resultsSize;
+                    finished = this.isFinished();
+                }
+                while (position < available) {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(buffer.capacity(), available - position));
+                    int n = channel.read(buffer, position);
+                    if (n < 0)
+                        break;
+                    position += n;
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        target.write(buffer);
+                    }
+                }
+                out.flush();
+                if (finished && position >= available)
+                    return;
+            }
+        }
+    }
+
+    /** A snapshot of the progress of the job **/
+    public JobStatus getStatus() {
+        JobStatus status = new JobStatus();
+        status.id = this.id;
+        status.state = this.state.name();
+        status.mode = this.mode.name();
+        status.error = this.error;
+        status.bytesRead = this.bytesRead;
+        status.bytesTotal = this.inputSize;
+        status.progress = this.inputSize == 0 ? 1.0 : Math.min(1.0, (double) this.bytesRead / this.inputSize);
+        status.sentences = this.sentences;
+        status.propositions = this.propositions;
+        if (this.startTime > 0) {
+            long end = this.endTime > 0 ? this.endTime : System.currentTimeMillis();
+            status.elapsedMillis = end - this.startTime;
+            status.sentencesPerSecond = status.elapsedMillis == 0 ? 0 : this.sentences * 1000.0 / status.elapsedMillis;
+        }
+        return status;
+    }
+
+    /** Delete the files of the job **/
+    public void delete() throws IOException {
+        Files.deleteIfExists(this.input);
+        Files.deleteIfExists(this.results);
+    }
+}
@@ -0,0 +1,22 @@
+package uk.ac.ucl.cs.mr;
+
+import javax.xml.bind.annotation.XmlRootElement;
+
+@XmlRootElement
+public class JobStatus {
+
+    public String id;
+    public String state;
+    public String mode;
+    public String error;
+
+    public long bytesRead;
+    public long bytesTotal;
+    public double progress;
+
+    public long sentences;
+    public long propositions;
+    public long elapsedMillis;
+    public double sentencesPerSecond;
+
+}
@@ -0,0 +1,140 @@
+package uk.ac.ucl.cs.mr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
+
+import org.glassfish.jersey.media.multipart.FormDataParam;
+
+import de.uni_mannheim.minie.ExtractionFeatures;
+import de.uni_mannheim.minie.MinIE;
+
+/**
+ * Bulk extraction jobs:
+ * <pre>
+ * POST   /jobs               upload a text file (multipart field "file", one sentence per line, optionally gzipped;
+ *                            optional fields "mode", default SAFE, and "features", default all, see
+ *                            ExtractionFeatures.parse); answers 202 with the job status
+ * GET    /jobs/{id}          progress of the job
+ * GET    /jobs/{id}/results  the propositions as JSON Lines, streamed as the job proceeds
+ * DELETE /jobs/{id}          delete a finished job and its files
+ * </pre>
+ * The jobs run one after the other (or minie.jobs.threads at a time), each on the extraction pool, whose threads
+ * extract the chunks of a job in parallel. The dictionary mode needs multi-word dictionaries (minie.dict, see
+ * {@link ExtractionPool}). The uploaded files and results are kept in minie.jobs.dir (default: a temporary directory).
+ */
+
+@Path("/jobs")
+public class JobsResource {
+
+    private static final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private static final ExecutorService runner = Executors.newFixedThreadPool(Integer.getInteger("minie.jobs.threads", 1), r -> {
+        Thread t = new Thread(r, "minie-jobs");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @POST
+    @Consumes({MediaType.MULTIPART_FORM_DATA})
+    @Produces({MediaType.APPLICATION_JSON})
+    public Response submit(@FormDataParam("file") InputStream file,
+                           @FormDataParam("mode") @DefaultValue("SAFE") String mode,
+                           @FormDataParam("features") @DefaultValue("all") String features,
+                           @Context UriInfo uriInfo) {
+        if (file == null) {
+            throw new WebApplicationException("Missing multipart field: file", Response.Status.BAD_REQUEST);
+        }
+        MinIE.Mode minieMode;
+        try {
+            minieMode = MinIE.Mode.valueOf(mode.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new WebApplicationException("Unknown mode: " + mode, Response.Status.BAD_REQUEST);
+        }
+        if (minieMode == MinIE.Mode.DICTIONARY && !ExtractionPool.hasDictionary()) {
+            throw new WebApplicationException("Dictionary mode needs multi-word dictionaries (minie.dict)",
+                    Response.Status.BAD_REQUEST);
+        }
+
+        ExtractionFeatures extractionFeatures;
+        try {
+            extractionFeatures = ExtractionFeatures.parse(features);
+        } catch (IllegalArgumentException e) {
+            throw new WebApplicationException(e.getMessage(), Response.Status.BAD_REQUEST);
+        }
+
+        String id = UUID.randomUUID().toString();
+        Job job;
+        try {
+            job = new Job(id, file, minieMode, extractionFeatures);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        jobs.put(id, job);
+        runner.execute(job);
+
+        URI location = uriInfo.getAbsolutePathBuilder().path(id).build();
+        return Response.accepted(job.getStatus()).location(location).build();
+    }
+
+    @GET
+    @Path("/{id}")
+    @Produces({MediaType.APPLICATION_JSON})
+    public JobStatus status(@PathParam("id") String id) {
+        return getJob(id).getStatus();
+    }
+
+    @GET
+    @Path("/{id}/results")
+    @Produces({"application/x-ndjson"})
+    public StreamingOutput results(@PathParam("id") String id) {
+        Job job = getJob(id);
+        return job::streamResults;
+    }
+
+    @DELETE
+    @Path("/{id}")
+    public Response delete(@PathParam("id") String id) {
+        Job job = getJob(id);
+        if (!job.isFinished()) {
+            return Response.status(Response.Status.CONFLICT).entity("Job is still running").build();
+        }
+        jobs.remove(id);
+        try {
+            job.delete();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Response.noContent().build();
+    }
+
+    private static Job getJob(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new NotFoundException("Unknown job: " + id);
+        }
+        return job;
+    }
+}
@@ -10,6 +10,10 @@ import org.glassfish.jersey.server.ResourceConfig;
 
 import org.glassfish.grizzly.http.server.HttpServer;
 
+import de.uni_mannheim.utils.Dictionary;
+import de.uni_mannheim.utils.Startup;
+import de.uni_mannheim.utils.minie.Utils;
+
 /**
  * @author Pasquale Minervini
  */
@@ -30,6 +34,25 @@ public class Main {
                     server.shutdownNow();
                 }
             }));
+            // load the models and dictionaries (in parallel) before taking requests
+            ExtractionPool pool;
+            try (Startup startup = new Startup()) {
+                Utils.loadAnnotationResources(startup);
+                pool = ExtractionPool.initialize(startup);
+                startup.awaitAll();
+                System.out.println(startup.getTimeline());
+            }
+
+            // warm up the JIT, before taking requests or (minie.warmup.async) while the service is not ready
+            Warmup warmup = Warmup.getInstance();
+            Dictionary dictionary = ExtractionPool.hasDictionary() ? pool.getExtractor().getDictionary() : null;
+            if (Boolean.getBoolean("minie.warmup.async")) {
+                Thread thread = new Thread(() -> warmup.run(pool.getParser(), dictionary), "minie-warmup");
+                thread.setDaemon(true);
+                thread.start();
+            } else {
+                warmup.run(pool.getParser(), dictionary);
+            }
             server.start();
 
             System.out.println(String.format("Application started.%n" +
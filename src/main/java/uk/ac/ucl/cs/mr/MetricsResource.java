@@ -0,0 +1,32 @@
+package uk.ac.ucl.cs.mr;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.StreamingOutput;
+
+import de.uni_mannheim.minie.metrics.Metrics;
+
+/**
+ * The extraction metrics (see {@link Metrics}) in the Prometheus text format
+ */
+
+@Path("/metrics")
+public class MetricsResource {
+
+    public static final String PROMETHEUS = "text/plain; version=0.0.4; charset=utf-8";
+
+    @GET
+    @Produces({PROMETHEUS})
+    public StreamingOutput metrics() {
+        return out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            Metrics.writePrometheus(writer);
+            writer.flush();
+        };
+    }
+}
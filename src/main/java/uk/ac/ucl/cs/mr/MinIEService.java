@@ -1,6 +1,7 @@
 package uk.ac.ucl.cs.mr;
 
 import org.glassfish.jersey.jackson.JacksonFeature;
+import org.glassfish.jersey.media.multipart.MultiPartFeature;
 import org.glassfish.jersey.server.ResourceConfig;
 
 /**
@@ -9,6 +10,7 @@ import org.glassfish.jersey.server.ResourceConfig;
 
 public class MinIEService extends ResourceConfig {
     public MinIEService() {
-        super(FactsResource.class, JacksonFeature.class);
+        super(FactsResource.class, JobsResource.class, MetricsResource.class, HealthResource.class,
+                JacksonFeature.class, MultiPartFeature.class);
     }
 }
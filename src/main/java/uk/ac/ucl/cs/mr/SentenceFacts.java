@@ -0,0 +1,26 @@
+package uk.ac.ucl.cs.mr;
+
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * The facts of one sentence of a streamed document, with the character offsets of the sentence in the document
+ */
+
+@XmlRootElement
+public class SentenceFacts {
+
+    public int sentence;
+    public int begin;
+    public int end;
+    public List<Fact> facts;
+
+    public SentenceFacts(int sentence, int begin, int end, List<Fact> facts) {
+        this.sentence = sentence;
+        this.begin = begin;
+        this.end = end;
+        this.facts = facts;
+    }
+
+}
@@ -0,0 +1,210 @@
+package uk.ac.ucl.cs.mr;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+import de.uni_mannheim.minie.MinIE;
+import de.uni_mannheim.minie.metrics.Metrics;
+import de.uni_mannheim.utils.Dictionary;
+import de.uni_mannheim.utils.coreNLP.CoreNLPUtils;
+
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import edu.stanford.nlp.semgraph.SemanticGraph;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/**
+ * Warm-up of the service before it takes traffic: a workload of sentences is parsed and extracted in every enabled
+ * mode, round after round, so that the JIT compiles the hot paths (CoreNLP, ClausIE, the minimizers). The dictionary
+ * mode runs with the multi-word dictionaries of the service (minie.dict, see {@link ExtractionPool}), and is skipped
+ * if the service has none. The warm-up stops when the p99 latency of a round is within the tolerance of the previous
+ * round, or after the maximum number of rounds. The service is ready (see {@link HealthResource}) once the warm-up is
+ * done. The metrics (see {@link Metrics}) are reset afterwards.
+ *
+ * The warm-up is configured with system properties:
+ * <pre>
+ * minie.warmup.rounds     maximum number of rounds, 0 to skip the warm-up (default: 10)
+ * minie.warmup.min.rounds minimum number of rounds (default: 2)
+ * minie.warmup.tolerance  relative change of the p99 latency between rounds at which it is settled (default: 0.1)
+ * minie.warmup.modes      comma-separated MinIE modes (default: all modes)
+ * minie.warmup.file       workload, one sentence per line (default: the bundled /minie-resources/warmup.txt)
+ * minie.warmup.async      take connections during the warm-up; the service is not ready until it is done
+ *                         (default: false)
+ * </pre>
+ */
+
+public class Warmup {
+
+    public enum State { PENDING, RUNNING, DONE, FAILED }
+
+    /** The bundled workload **/
+    public static final String WORKLOAD = "/minie-resources/warmup.txt";
+
+    private static final Logger logger = Logger.getLogger(Warmup.class.getName());
+
+    private static final Warmup instance = new Warmup(
+            Integer.getInteger("minie.warmup.rounds", 10),
+            Integer.getInteger("minie.warmup.min.rounds", 2),
+            Double.parseDouble(System.getProperty("minie.warmup.tolerance", "0.1")),
+            parseModes(System.getProperty("minie.warmup.modes", "")));
+
+    private final int maxRounds;
+    private final int minRounds;
+    private final double tolerance;
+    private final EnumSet<MinIE.Mode> modes;
+
+    private volatile State state = State.PENDING;
+    private volatile String error = null;
+    private volatile int rounds = 0;
+    private volatile double p99Millis = 0;
+    private volatile long startMillis = 0;
+    private volatile long elapsedMillis = 0;
+
+    public Warmup(int maxRounds, int minRounds, double tolerance, EnumSet<MinIE.Mode> modes) {
+        this.maxRounds = maxRounds;
+        this.minRounds = minRounds;
+        this.tolerance = tolerance;
+        this.modes = modes;
+        if (maxRounds <= 0) {
+            this.state = State.DONE;
+        }
+    }
+
+    /** The warm-up of the service, configured from the system properties **/
+    public static Warmup getInstance() {
+        return instance;
+    }
+
+    public State getState() {
+        return this.state;
+    }
+
+    /** @return whether the warm-up is done (or skipped) **/
+    public boolean isDone() {
+        return this.state == State.DONE;
+    }
+
+    public String getError() {
+        return this.error;
+    }
+
+    public int getRounds() {
+        return this.rounds;
+    }
+
+    /** @return the p99 latency of a sentence (parsed and extracted in all the modes) in the last round, in ms **/
+    public double getP99Millis() {
+        return this.p99Millis;
+    }
+
+    /** @return the duration of the warm-up (so far, if it is running), in ms **/
+    public long getElapsedMillis() {
+        return this.state == State.RUNNING ? System.currentTimeMillis() - this.startMillis : this.elapsedMillis;
+    }
+
+    public EnumSet<MinIE.Mode> getModes() {
+        return EnumSet.copyOf(this.modes);
+    }
+
+    /**
+     * Run the warm-up with the parser and dictionary of the service (does nothing if it is done already)
+     * @param parser: the parser of the service
+     * @param dictionary: the multi-word dictionary of the service; null if it has none (the dictionary mode is then
+     *                    skipped)
+     */
+    public synchronized void run(StanfordCoreNLP parser, Dictionary dictionary) {
+        if (this.state == State.DONE)
+            return;
+        long start = System.currentTimeMillis();
+        this.startMillis = start;
+        this.state = State.RUNNING;
+        try {
+            ObjectArrayList<String> sentences = readWorkload();
+            EnumSet<MinIE.Mode> modes = EnumSet.copyOf(this.modes);
+            if (dictionary == null) {
+                modes.remove(MinIE.Mode.DICTIONARY);
+            }
+            double previous = -1;
+            while (this.rounds < this.maxRounds) {
+                double p99 = this.round(parser, dictionary, modes, sentences);
+                this.rounds++;
+                this.p99Millis = p99;
+                if (this.rounds >= this.minRounds && previous > 0
+                        && Math.abs(p99 - previous) <= this.tolerance * previous)
+                    break;
+                previous = p99;
+            }
+            Metrics.reset();
+            this.elapsedMillis = System.currentTimeMillis() - start;
+            this.state = State.DONE;
+            logger.info(String.format(Locale.ROOT, "Warm-up done: %d rounds in %d ms (modes %s), p99 %.1f ms",
+                    this.rounds, this.elapsedMillis, modes, this.p99Millis));
+        } catch (Exception e) {
+            this.error = e.getMessage();
+            this.elapsedMillis = System.currentTimeMillis() - start;
+            this.state = State.FAILED;
+            throw new RuntimeException("Warm-up failed", e);
+        }
+    }
+
+    /** Parse and extract each sentence in all the modes; returns the p99 latency of a sentence, in ms **/
+    private double round(StanfordCoreNLP parser, Dictionary dictionary, EnumSet<MinIE.Mode> modes,
+                         ObjectArrayList<String> sentences) {
+        long [] latencies = new long[sentences.size()];
+        for (int i = 0; i < sentences.size(); i++) {
+            String sentence = sentences.get(i);
+            long start = System.nanoTime();
+            SemanticGraph sg = CoreNLPUtils.parse(parser, sentence);
+            for (MinIE.Mode mode: modes) {
+                new MinIE(sentence, sg, mode, dictionary);
+            }
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        int index = (int) Math.ceil(0.99 * latencies.length) - 1;
+        return latencies[Math.max(index, 0)] / 1e6;
+    }
+
+    /** The sentences of the workload (minie.warmup.file, else the bundled one) **/
+    private static ObjectArrayList<String> readWorkload() throws IOException {
+        String file = System.getProperty("minie.warmup.file");
+        InputStream in = file != null ? Files.newInputStream(Paths.get(file)) : Warmup.class.getResourceAsStream(WORKLOAD);
+        if (in == null) {
+            throw new IOException("Warm-up workload not found: " + WORKLOAD);
+        }
+        ObjectArrayList<String> sentences = new ObjectArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    sentences.add(line);
+                }
+            }
+        }
+        if (sentences.isEmpty()) {
+            throw new IOException("Empty warm-up workload");
+        }
+        return sentences;
+    }
+
+    /** Comma-separated MinIE modes; all modes if empty **/
+    private static EnumSet<MinIE.Mode> parseModes(String modes) {
+        EnumSet<MinIE.Mode> parsed = EnumSet.noneOf(MinIE.Mode.class);
+        for (String mode: modes.split(",")) {
+            if (!mode.trim().isEmpty()) {
+                parsed.add(MinIE.Mode.valueOf(mode.trim().toUpperCase()));
+            }
+        }
+        return parsed.isEmpty() ? EnumSet.allOf(MinIE.Mode.class) : parsed;
+    }
+}
@@ -0,0 +1,110 @@
+package de.uni_mannheim.clausie.phrase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.ling.IndexedWord;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/** Tests for the memoized word/lemma strings of {@link Phrase} **/
+public class PhraseTest {
+    private static IndexedWord word(String word, String lemma, int index) {
+        CoreLabel cl = new CoreLabel();
+        cl.setWord(word);
+        cl.setValue(word);
+        cl.setLemma(lemma);
+        cl.setIndex(index);
+        return new IndexedWord(cl);
+    }
+
+    private static Phrase phrase() {
+        ObjectArrayList<IndexedWord> words = new ObjectArrayList<IndexedWord>();
+        words.add(word("The", "the", 1));
+        words.add(word("Cats", "cat", 2));
+        words.add(word("Sleep", "sleep", 3));
+        return new Phrase(words);
+    }
+
+    @Test
+    public void stringsAreBuiltFromWordsAndLemmas() {
+        Phrase p = phrase();
+        assertEquals("The Cats Sleep", p.getWords());
+        assertEquals("the cats sleep", p.getWordsLowercase());
+        assertEquals("the cat sleep", p.getWordsLemma());
+        assertEquals("the cat sleep", p.getWordsLemmaLowercase());
+        assertEquals("", new Phrase().getWords());
+    }
+
+    @Test
+    public void unchangedPhraseReusesCachedStrings() {
+        Phrase p = phrase();
+        assertSame(p.getWords(), p.getWords());
+        assertSame(p.getWordsLowercase(), p.getWordsLowercase());
+        assertSame(p.getWordsLemma(), p.getWordsLemma());
+        assertSame(p.getWordsLemmaLowercase(), p.getWordsLemmaLowercase());
+        assertEquals(p.getWordsHash(), p.getWordsHash());
+    }
+
+    @Test
+    public void cacheIsInvalidatedByListChanges() {
+        Phrase p = phrase();
+        long hash = p.getWordsHash();
+        assertEquals("The Cats Sleep", p.getWords());
+
+        p.addWordToList(word("Soundly", "soundly", 4));
+        assertEquals("The Cats Sleep Soundly", p.getWords());
+        assertNotEquals(hash, p.getWordsHash());
+
+        p.removeWordFromList(0);
+        assertEquals("Cats Sleep Soundly", p.getWords());
+        assertEquals("cat sleep soundly", p.getWordsLemmaLowercase());
+
+        p.setWordInWordList(0, word("Dogs", "dog", 2));
+        assertEquals("Dogs Sleep Soundly", p.getWords());
+        assertEquals("dog sleep soundly", p.getWordsLemma());
+
+        // Mutating the list handed out by getWordList()
+        p.getWordList().remove(2);
+        assertEquals("dogs sleep", p.getWordsLowercase());
+
+        ObjectArrayList<IndexedWord> words = new ObjectArrayList<IndexedWord>();
+        words.add(word("Birds", "bird", 1));
+        p.setWordList(words);
+        assertEquals("Birds", p.getWords());
+        assertEquals("bird", p.getWordsLemmaLowercase());
+    }
+
+    @Test
+    public void cacheIsInvalidatedByWordChanges() {
+        Phrase p = phrase();
+        long hash = p.getWordsLemmaLowercaseHash();
+        assertEquals("The Cats Sleep", p.getWords());
+        assertEquals("the cat sleep", p.getWordsLemmaLowercase());
+
+        // CoreLabel.setWord() drops the lemma, so set both
+        p.getWordList().get(1).setWord("Dogs");
+        p.getWordList().get(1).setLemma("dog");
+        assertEquals("The Dogs Sleep", p.getWords());
+        assertEquals("the dogs sleep", p.getWordsLowercase());
+        assertEquals("the dog sleep", p.getWordsLemmaLowercase());
+        assertNotEquals(hash, p.getWordsLemmaLowercaseHash());
+
+        p.getWordList().get(2).setLemma("Nap");
+        assertEquals("The Dogs Sleep", p.getWords());
+        assertEquals("the dog Nap", p.getWordsLemma());
+        assertEquals("the dog nap", p.getWordsLemmaLowercase());
+    }
+
+    @Test
+    public void hashesFollowTheStrings() {
+        Phrase p = phrase();
+        Phrase q = phrase();
+        assertEquals(p.getWordsHash(), q.getWordsHash());
+        assertEquals(p.getWordsLemmaLowercaseHash(), q.getWordsLemmaLowercaseHash());
+        assertNotEquals(p.getWordsHash(), p.getWordsLemmaLowercaseHash());
+    }
+}
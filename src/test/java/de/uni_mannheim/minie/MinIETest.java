@@ -0,0 +1,125 @@
+package de.uni_mannheim.minie;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import de.uni_mannheim.minie.annotation.AnnotatedPhrase;
+import de.uni_mannheim.minie.annotation.AnnotatedProposition;
+import de.uni_mannheim.minie.annotation.Modality;
+import de.uni_mannheim.minie.annotation.Polarity;
+import de.uni_mannheim.minie.annotation.Quantity;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.ling.IndexedWord;
+import edu.stanford.nlp.semgraph.SemanticGraphEdge;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/** Tests for the fingerprint-based {@link MinIE#removeDuplicates()} **/
+public class MinIETest {
+    private static IndexedWord word(String word) {
+        CoreLabel cl = new CoreLabel();
+        cl.setWord(word);
+        cl.setValue(word);
+        cl.setLemma(word.toLowerCase());
+        return new IndexedWord(cl);
+    }
+
+    private static AnnotatedPhrase phrase(String words) {
+        ObjectArrayList<IndexedWord> wordList = new ObjectArrayList<IndexedWord>();
+        for (String w: words.split(" ")) {
+            if (!w.isEmpty())
+                wordList.add(word(w));
+        }
+        return new AnnotatedPhrase(wordList);
+    }
+
+    private static AnnotatedProposition prop(String... phrases) {
+        ObjectArrayList<AnnotatedPhrase> triple = new ObjectArrayList<AnnotatedPhrase>();
+        for (String p: phrases)
+            triple.add(phrase(p));
+        return new AnnotatedProposition(triple);
+    }
+
+    private static ObjectArrayList<AnnotatedProposition> dedup(AnnotatedProposition... props) {
+        MinIE minie = new MinIE(new ObjectArrayList<AnnotatedProposition>(props));
+        minie.removeDuplicates();
+        return minie.getPropositions();
+    }
+
+    @Test
+    public void removesDuplicatesKeepingTheFirstOccurrence() {
+        AnnotatedProposition first = prop("John", "lives in", "Canada");
+        AnnotatedProposition other = prop("John", "works in", "Canada");
+        ObjectArrayList<AnnotatedProposition> props = dedup(first, prop("John", "lives in", "Canada"), other,
+                prop("John", "lives in", "Canada"));
+        assertEquals(2, props.size());
+        assertSame(first, props.get(0));
+        assertSame(other, props.get(1));
+    }
+
+    @Test
+    public void phraseBoundariesAndOrderAreNotConfused() {
+        // Same words overall, but split differently over the phrases or in another order
+        ObjectArrayList<AnnotatedProposition> props = dedup(prop("New York", "is", "big"),
+                prop("New", "York is", "big"), prop("big", "is", "New York"), prop("New York is", "big"));
+        assertEquals(4, props.size());
+        assertEquals("\"New York\"\"is\"\"big\"", props.get(0).propositionWordsToString());
+        assertEquals("\"New\"\"York is\"\"big\"", props.get(1).propositionWordsToString());
+        assertEquals("\"big\"\"is\"\"New York\"", props.get(2).propositionWordsToString());
+        assertEquals("\"New York is\"\"big\"", props.get(3).propositionWordsToString());
+    }
+
+    @Test
+    public void annotationsAreNotConfused() {
+        AnnotatedProposition positive = prop("John", "lives in", "Canada");
+        AnnotatedProposition negative = prop("John", "lives in", "Canada");
+        negative.setPolarity(new Polarity(Polarity.Type.NEGATIVE));
+        AnnotatedProposition quantified = prop("John", "has", "QUANT_O_1 cars");
+        AnnotatedProposition otherQuantity = prop("John", "has", "QUANT_O_1 cars");
+        ObjectArrayList<IndexedWord> two = new ObjectArrayList<IndexedWord>();
+        two.add(word("two"));
+        ObjectArrayList<IndexedWord> three = new ObjectArrayList<IndexedWord>();
+        three.add(word("three"));
+        quantified.getObject().addQuantity(new Quantity(two, new ObjectArrayList<SemanticGraphEdge>(), "QUANT_O_1"));
+        otherQuantity.getObject().addQuantity(
+                new Quantity(three, new ObjectArrayList<SemanticGraphEdge>(), "QUANT_O_1"));
+
+        assertEquals(positive.getWordsFingerprint(), negative.getWordsFingerprint());
+        assertNotEquals(positive.getFingerprint(), negative.getFingerprint());
+        assertNotEquals(quantified.getFingerprint(), otherQuantity.getFingerprint());
+        assertEquals(4, dedup(positive, negative, quantified, otherQuantity).size());
+    }
+
+    @Test
+    public void certaintyIsDroppedWhenPossibilityExists() {
+        AnnotatedProposition certain = prop("John", "lives in", "Canada");
+        AnnotatedProposition possible = prop("John", "lives in", "Canada");
+        possible.setModality(new Modality(Modality.Type.POSSIBILITY));
+        AnnotatedProposition unrelated = prop("John", "lives in", "Toronto");
+        ObjectArrayList<AnnotatedProposition> props = dedup(certain, possible, unrelated);
+        assertEquals(2, props.size());
+        assertSame(possible, props.get(0));
+        assertSame(unrelated, props.get(1));
+    }
+
+    @Test
+    public void emptySubjectsAndObjectsAreDropped() {
+        AnnotatedProposition twoPart = prop("John", "sleeps");
+        ObjectArrayList<AnnotatedProposition> props = dedup(prop("", "lives in", "Canada"),
+                prop("John", "lives in", ""), twoPart, prop("", "sleeps"));
+        assertEquals(1, props.size());
+        assertSame(twoPart, props.get(0));
+    }
+
+    @Test
+    public void fingerprintsFollowWordChanges() {
+        AnnotatedProposition p = prop("John", "lives in", "Canada");
+        AnnotatedProposition q = prop("John", "lives in", "Canada");
+        assertEquals(p.getFingerprint(), q.getFingerprint());
+        q.getObject().getWordList().get(0).setWord("Toronto");
+        assertNotEquals(p.getFingerprint(), q.getFingerprint());
+        assertEquals(2, dedup(p, q).size());
+    }
+}
@@ -0,0 +1,143 @@
+package de.uni_mannheim.minie.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.uni_mannheim.constant.NE_TYPE;
+import edu.stanford.nlp.ling.IndexedWord;
+import edu.stanford.nlp.semgraph.SemanticGraph;
+import edu.stanford.nlp.trees.EnglishGrammaticalRelations;
+
+/** Tests for reading CoNLL-U input with {@link ConllUReader} **/
+public class ConllUReaderTest {
+    private static ConllUReader reader(String... lines) {
+        return new ConllUReader(new BufferedReader(new StringReader(String.join("\n", lines))));
+    }
+
+    private static String row(String... columns) {
+        return String.join("\t", columns);
+    }
+
+    @Test
+    public void readsSentencesOneAtATime() throws IOException {
+        try (ConllUReader reader = reader(
+                "",
+                "# sent_id = 1",
+                "# text = John loves Mary.",
+                row("1", "John", "John", "PROPN", "NNP", "_", "2", "nsubj", "_", "_", "PERSON"),
+                row("2", "loves", "love", "VERB", "VBZ", "_", "0", "root", "_", "_", "O"),
+                row("3", "Mary", "Mary", "PROPN", "NNP", "_", "2", "dobj", "_", "SpaceAfter=No", "PERSON"),
+                row("4", ".", ".", "PUNCT", ".", "_", "2", "punct", "_", "_", "O"),
+                "",
+                "",
+                row("1", "It", "it", "PRON", "PRP", "_", "2", "nsubj", "_", "_"),
+                row("2", "rains", "rain", "VERB", "_", "_", "0", "root", "_", "SpaceAfter=No")
+                )) {
+            ParsedSentence first = reader.read();
+            assertEquals("John loves Mary.", first.getText());
+            SemanticGraph sg = first.getSemanticGraph();
+            assertEquals(4, sg.size());
+            IndexedWord loves = sg.getNodeByIndex(2);
+            assertSame(loves, sg.getFirstRoot());
+            assertEquals("love", loves.lemma());
+            assertEquals("VBZ", loves.tag());
+            assertEquals(EnglishGrammaticalRelations.NOMINAL_SUBJECT,
+                    sg.getEdge(loves, sg.getNodeByIndex(1)).getRelation());
+            assertEquals(EnglishGrammaticalRelations.DIRECT_OBJECT,
+                    sg.getEdge(loves, sg.getNodeByIndex(3)).getRelation());
+            assertEquals("PERSON", sg.getNodeByIndex(3).ner());
+            // Character offsets within the words joined by spaces (except for SpaceAfter=No)
+            assertEquals(11, sg.getNodeByIndex(3).beginPosition());
+            assertEquals(15, sg.getNodeByIndex(3).endPosition());
+            assertEquals(15, sg.getNodeByIndex(4).beginPosition());
+
+            // No "# text", no XPOS (UPOS is used) and no NER
+            ParsedSentence second = reader.read();
+            assertEquals("It rains", second.getText());
+            assertEquals("VERB", second.getSemanticGraph().getNodeByIndex(2).tag());
+            assertEquals(NE_TYPE.NO_NER, second.getSemanticGraph().getNodeByIndex(1).ner());
+
+            assertNull(reader.read());
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void skipsMultiWordTokensAndEmptyNodes() throws IOException {
+        try (ConllUReader reader = reader(
+                row("1-2", "Don't", "_", "_", "_", "_", "_", "_", "_", "_"),
+                row("1", "Do", "do", "AUX", "VBP", "_", "3", "aux", "_", "_"),
+                row("2", "n't", "not", "PART", "RB", "_", "3", "neg", "_", "_"),
+                row("2.1", "go", "go", "VERB", "VB", "_", "_", "_", "3:conj", "_"),
+                row("3", "go", "go", "VERB", "VB", "_", "0", "root", "_", "_")
+                )) {
+            ParsedSentence sentence = reader.read();
+            assertEquals(3, sentence.getSemanticGraph().size());
+            assertEquals("Do n't go", sentence.getText());
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void readsNerFromMiscAndRelationSubtypes() throws IOException {
+        try (ConllUReader reader = reader(
+                row("1", "Paris", "Paris", "PROPN", "NNP", "_", "2", "nsubj", "_", "NER=LOCATION|SpaceAfter=No"),
+                row("2", "sleeps", "sleep", "VERB", "VBZ", "_", "0", "root", "_", "NER=_"),
+                row("3", "well", "well", "ADV", "RB", "_", "2", "advmod:foo", "_", "_"),
+                row("4", "now", "now", "ADV", "RB", "_", "2", "case", "_", "_")
+                )) {
+            SemanticGraph sg = reader.read().getSemanticGraph();
+            assertEquals("LOCATION", sg.getNodeByIndex(1).ner());
+            assertEquals(NE_TYPE.NO_NER, sg.getNodeByIndex(2).ner());
+            // An unknown subtype falls back to its main type, other relations are kept by name
+            assertEquals(EnglishGrammaticalRelations.ADVERBIAL_MODIFIER,
+                    sg.getEdge(sg.getNodeByIndex(2), sg.getNodeByIndex(3)).getRelation());
+            assertEquals("case", sg.getEdge(sg.getNodeByIndex(2), sg.getNodeByIndex(4)).getRelation().getShortName());
+        }
+    }
+
+    @Test
+    public void reportsMalformedLines() {
+        assertFails(row("1", "John", "John", "PROPN", "NNP", "_", "0"));
+        assertFails(row("x", "John", "John", "PROPN", "NNP", "_", "0", "root", "_", "_"));
+        assertFails(row("1", "John", "John", "PROPN", "NNP", "_", "5", "nsubj", "_", "_"));
+    }
+
+    private static void assertFails(String line) {
+        try (ConllUReader reader = reader(line)) {
+            reader.read();
+            fail("Expected an IOException for: " + line);
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().toLowerCase().contains("line 1"));
+        }
+    }
+
+    @Test
+    public void formatsAreRegistered() throws IOException {
+        List<String> formats = new ArrayList<String>(ParsedSentenceReaders.getFormats());
+        assertEquals(ParsedSentenceReaders.TEXT, formats.get(0));
+        assertTrue(formats.contains(ParsedSentenceReaders.CONLLU));
+        assertTrue(formats.contains(ParsedSentenceReaders.CORENLP_JSON));
+        try (ParsedSentenceReader reader = ParsedSentenceReaders.create("CoNLLU",
+                new BufferedReader(new StringReader("")))) {
+            assertTrue(reader instanceof ConllUReader);
+            assertNull(reader.read());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownFormat() throws IOException {
+        ParsedSentenceReaders.create("xml", new BufferedReader(new StringReader("")));
+    }
+}
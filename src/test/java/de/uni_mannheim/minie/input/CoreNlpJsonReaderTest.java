@@ -0,0 +1,110 @@
+package de.uni_mannheim.minie.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import de.uni_mannheim.constant.NE_TYPE;
+import edu.stanford.nlp.ling.IndexedWord;
+import edu.stanford.nlp.semgraph.SemanticGraph;
+import edu.stanford.nlp.trees.EnglishGrammaticalRelations;
+
+/** Tests for reading CoreNLP's JSON output with {@link CoreNlpJsonReader} **/
+public class CoreNlpJsonReaderTest {
+    private static String token(int index, String word, String lemma, String pos, String ner, int begin,
+            String after) {
+        return "{\"index\": " + index + ", \"word\": \"" + word + "\", \"originalText\": \"" + word
+                + "\", \"lemma\": \"" + lemma + "\", \"pos\": \"" + pos + "\""
+                + (ner == null ? "" : ", \"ner\": \"" + ner + "\"")
+                + ", \"characterOffsetBegin\": " + begin + ", \"characterOffsetEnd\": " + (begin + word.length())
+                + ", \"after\": \"" + after + "\"}";
+    }
+
+    private static String dependency(String dep, int governor, int dependent) {
+        return "{\"dep\": \"" + dep + "\", \"governor\": " + governor + ", \"dependent\": " + dependent + "}";
+    }
+
+    private static final String JOHN_LOVES_MARY = "{\"index\": 0, "
+            + "\"basicDependencies\": [" + dependency("ROOT", 0, 2) + ", " + dependency("nsubj", 2, 1) + ", "
+            + dependency("dobj", 2, 3) + ", " + dependency("punct", 2, 4) + "], "
+            + "\"enhancedDependencies\": [" + dependency("nsubj", 2, 1) + "], "
+            + "\"tokens\": [" + token(1, "John", "John", "NNP", "PERSON", 0, " ") + ", "
+            + token(2, "loves", "love", "VBZ", "O", 5, " ") + ", "
+            + token(3, "Mary", "Mary", "NNP", "PERSON", 11, "") + ", "
+            + token(4, ".", ".", ".", "O", 15, "") + "]}";
+
+    private static final String IT_RAINS = "{\"index\": 0, "
+            + "\"basicDependencies\": [" + dependency("ROOT", 0, 2) + ", " + dependency("nsubj", 2, 1) + "], "
+            + "\"tokens\": [" + token(1, "It", "it", "PRP", null, 0, "  ") + ", "
+            + token(2, "rains", "rain", "VBZ", null, 4, "") + ", "
+            + token(3, "!", "!", ".", null, 9, "") + "]}";
+
+    @Test
+    public void readsSentencesOfSeveralDocuments() throws IOException {
+        // Two documents (one per line); other fields, including nested "sentences", are skipped
+        String input = "{\"docId\": \"a\", \"corefs\": {\"1\": [{\"sentences\": [" + IT_RAINS + "]}]}, "
+                + "\"sentences\": [" + JOHN_LOVES_MARY + ", " + IT_RAINS + "]}\n"
+                + "{\"sentences\": [" + IT_RAINS + "], \"other\": [1, 2, {\"x\": []}]}\n";
+        try (CoreNlpJsonReader reader = new CoreNlpJsonReader(new StringReader(input))) {
+            ParsedSentence first = reader.read();
+            assertEquals("John loves Mary.", first.getText());
+            SemanticGraph sg = first.getSemanticGraph();
+            assertEquals(4, sg.size());
+            IndexedWord loves = sg.getNodeByIndex(2);
+            assertSame(loves, sg.getFirstRoot());
+            assertEquals("love", loves.lemma());
+            assertEquals("VBZ", loves.tag());
+            assertEquals("PERSON", sg.getNodeByIndex(1).ner());
+            assertEquals(11, sg.getNodeByIndex(3).beginPosition());
+            assertEquals(15, sg.getNodeByIndex(3).endPosition());
+            assertEquals(EnglishGrammaticalRelations.NOMINAL_SUBJECT,
+                    sg.getEdge(loves, sg.getNodeByIndex(1)).getRelation());
+            assertEquals(EnglishGrammaticalRelations.DIRECT_OBJECT,
+                    sg.getEdge(loves, sg.getNodeByIndex(3)).getRelation());
+            assertEquals(3, sg.edgeCount());
+
+            for (int i = 0; i < 2; i++) {
+                ParsedSentence sentence = reader.read();
+                // The text keeps the whitespace after the tokens; tokens without a head are not in the parse
+                assertEquals("It  rains!", sentence.getText());
+                assertEquals(2, sentence.getSemanticGraph().size());
+                assertEquals(NE_TYPE.NO_NER, sentence.getSemanticGraph().getNodeByIndex(1).ner());
+            }
+            assertNull(reader.read());
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void emptyInput() throws IOException {
+        try (CoreNlpJsonReader reader = new CoreNlpJsonReader(new StringReader("{\"sentences\": []}"))) {
+            assertNull(reader.read());
+        }
+        try (CoreNlpJsonReader reader = new CoreNlpJsonReader(new StringReader(""))) {
+            assertNull(reader.read());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void sentenceWithoutDependencies() throws IOException {
+        String input = "{\"sentences\": [{\"index\": 0, \"tokens\": [" + token(1, "Hi", "hi", "UH", "O", 0, "")
+                + "]}]}";
+        try (CoreNlpJsonReader reader = new CoreNlpJsonReader(new StringReader(input))) {
+            reader.read();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void unknownHead() throws IOException {
+        String input = "{\"sentences\": [{\"index\": 0, \"basicDependencies\": [" + dependency("nsubj", 5, 1)
+                + "], \"tokens\": [" + token(1, "Hi", "hi", "UH", "O", 0, "") + "]}]}";
+        try (CoreNlpJsonReader reader = new CoreNlpJsonReader(new StringReader(input))) {
+            reader.read();
+        }
+    }
+}
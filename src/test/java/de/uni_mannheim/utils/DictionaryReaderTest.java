@@ -0,0 +1,141 @@
+package de.uni_mannheim.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+
+/** Tests for reading text dictionaries with {@link DictionaryReader} **/
+public class DictionaryReaderTest {
+    /** A channel which returns at most the given number of bytes per read **/
+    private static class TrickleChannel implements ReadableByteChannel {
+        private final ByteBuffer in;
+        private final int maxRead;
+
+        TrickleChannel(byte [] bytes, int maxRead) {
+            this.in = ByteBuffer.wrap(bytes);
+            this.maxRead = maxRead;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (!this.in.hasRemaining())
+                return -1;
+            int n = Math.min(this.maxRead, Math.min(dst.remaining(), this.in.remaining()));
+            ByteBuffer slice = this.in.duplicate();
+            slice.limit(slice.position() + n);
+            dst.put(slice);
+            this.in.position(this.in.position() + n);
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    /** The entries of a text dictionary, as split by String methods **/
+    private static ObjectOpenHashSet<String> expected(String text) {
+        ObjectOpenHashSet<String> entries = new ObjectOpenHashSet<String>();
+        for (String line: text.split("[\r\n]")) {
+            if (!line.trim().isEmpty())
+                entries.add(line.trim());
+        }
+        return entries;
+    }
+
+    /** Read the text through channels returning whole chunks and small pieces, with and without a size hint **/
+    private static void assertReads(String text) throws IOException {
+        byte [] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ObjectOpenHashSet<String> expected = expected(text);
+        assertEquals(expected, DictionaryReader.read(new TrickleChannel(bytes, Integer.MAX_VALUE), bytes.length));
+        assertEquals(expected, DictionaryReader.read(new TrickleChannel(bytes, Integer.MAX_VALUE), -1));
+        assertEquals(expected, DictionaryReader.read(new TrickleChannel(bytes, 7777), bytes.length));
+        assertEquals(expected, DictionaryReader.read(Channels.newChannel(new ByteArrayInputStream(bytes)), -1));
+        // A wrong size hint only affects the pre-sizing
+        assertEquals(expected, DictionaryReader.read(new TrickleChannel(bytes, Integer.MAX_VALUE), 10));
+    }
+
+    @Test
+    public void linesAreTrimmedAndSplitOnAnyLineEnding() throws IOException {
+        String text = "  new york \nunited states\r\n\r\n\tlos angeles\rnew york\n\n last line without newline ";
+        ObjectOpenHashSet<String> entries = DictionaryReader.read(
+                new TrickleChannel(text.getBytes(StandardCharsets.UTF_8), 3), -1);
+        assertEquals(new ObjectOpenHashSet<String>(Arrays.asList("new york", "united states", "los angeles",
+                "last line without newline")), entries);
+        assertReads(text);
+        assertReads("");
+        assertReads("\n\n");
+        assertReads("single");
+    }
+
+    @Test
+    public void linesCrossingChunkBoundaries() throws IOException {
+        // Dense lines with 2-, 3- and 4-byte UTF-8 characters, over several chunks
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; sb.length() < 2 * DictionaryReader.CHUNK_SIZE; i++) {
+            sb.append("entr\u00E9e ").append(i).append(" \u20AC\uD83D\uDE00").append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        String lines = sb.toString();
+        assertTrue(lines.getBytes(StandardCharsets.UTF_8).length > 2 * DictionaryReader.CHUNK_SIZE);
+
+        // Shift the lines, so that the chunk boundaries fall on each byte of the characters and line endings
+        for (int shift = 0; shift < 6; shift++) {
+            char [] padding = new char[shift];
+            Arrays.fill(padding, ' ');
+            assertReads(new String(padding) + lines);
+        }
+    }
+
+    @Test
+    public void linesLongerThanAChunk() throws IOException {
+        char [] longLine = new char[DictionaryReader.CHUNK_SIZE + 123];
+        Arrays.fill(longLine, '\u00E9');
+        String text = "before\n" + new String(longLine) + " end\nafter\n" + new String(longLine, 0, 5) + "\n";
+        ObjectOpenHashSet<String> entries = DictionaryReader.read(
+                new TrickleChannel(text.getBytes(StandardCharsets.UTF_8), Integer.MAX_VALUE), -1);
+        assertEquals(4, entries.size());
+        assertTrue(entries.contains(new String(longLine) + " end"));
+        assertReads(text);
+    }
+
+    @Test
+    public void dictionaryLoadsUtf8() throws IOException {
+        String text = "caf\u00E9 cr\u00E8me\n\u65E5\u672C\nsmile \uD83D\uDE00\n";
+        Dictionary dict = new Dictionary(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(3, dict.size());
+        assertTrue(dict.contains("caf\u00E9 cr\u00E8me"));
+        assertTrue(dict.contains("\u65E5\u672C"));
+        assertTrue(dict.contains("smile \uD83D\uDE00"));
+    }
+
+    @Test
+    public void readsClassPathResources() throws IOException {
+        String resource = "/minie-resources/poss-adverbs.dict";
+        List<ObjectOpenHashSet<String>> all = DictionaryReader.readAll(
+                Arrays.asList(resource, "/minie-resources/certainty-words.dict"));
+        assertEquals(2, all.size());
+        assertEquals(DictionaryReader.read(resource), all.get(0));
+        assertTrue(!all.get(0).isEmpty() && !all.get(1).isEmpty());
+    }
+
+    @Test(expected = IOException.class)
+    public void missingResource() throws IOException {
+        DictionaryReader.readAll(Arrays.asList("/minie-resources/poss-adverbs.dict", "/no/such/dictionary.txt"));
+    }
+}
@@ -0,0 +1,159 @@
+package de.uni_mannheim.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.ling.IndexedWord;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/** Tests for building and querying a {@link MappedDictionary} **/
+public class MappedDictionaryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MappedDictionary build(String... entries) throws IOException {
+        Path file = this.folder.newFile("dict" + MappedDictionary.EXTENSION).toPath();
+        MappedDictionary.build(Arrays.asList(entries), file);
+        return MappedDictionary.open(file);
+    }
+
+    private static IndexedWord word(String word, String lemma) {
+        CoreLabel cl = new CoreLabel();
+        cl.setWord(word);
+        cl.setValue(word);
+        cl.setLemma(lemma);
+        return new IndexedWord(cl);
+    }
+
+    @Test
+    public void containsTheBuiltEntriesOnly() throws IOException {
+        MappedDictionary dict = this.build("new york", "united states", "a", "new york");
+        assertEquals(3, dict.size());
+        assertTrue(dict.contains("new york"));
+        assertTrue(dict.contains("united states"));
+        assertTrue(dict.contains("a"));
+        assertFalse(dict.contains("new"));
+        assertFalse(dict.contains("new york "));
+        assertFalse(dict.contains("New York"));
+        assertFalse(dict.contains(""));
+        assertFalse(dict.contains(null));
+    }
+
+    @Test
+    public void emptyDictionary() throws IOException {
+        MappedDictionary dict = this.build();
+        assertEquals(0, dict.size());
+        assertFalse(dict.contains("a"));
+        assertFalse(dict.contains(""));
+    }
+
+    @Test
+    public void manyEntries() throws IOException {
+        String [] entries = new String[10000];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = "entry " + i;
+        }
+        MappedDictionary dict = this.build(entries);
+        assertEquals(entries.length, dict.size());
+        for (int i = 0; i < entries.length; i++) {
+            assertTrue(dict.contains(entries[i]));
+            assertFalse(dict.contains("entry " + (i + entries.length)));
+        }
+    }
+
+    @Test
+    public void multiByteCharacters() throws IOException {
+        // 2-, 3- and 4-byte UTF-8 sequences (the latter a surrogate pair in Java)
+        MappedDictionary dict = this.build("caf\u00E9", "cr\u00E8me br\u00FBl\u00E9e", "10 \u20AC", "\u65E5\u672C",
+                "smile \uD83D\uDE00");
+        assertTrue(dict.contains("caf\u00E9"));
+        assertTrue(dict.contains("cr\u00E8me br\u00FBl\u00E9e"));
+        assertTrue(dict.contains("10 \u20AC"));
+        assertTrue(dict.contains("\u65E5\u672C"));
+        assertTrue(dict.contains("smile \uD83D\uDE00"));
+        assertTrue(dict.contains(new StringBuilder("caf").append('\u00E9')));
+        assertFalse(dict.contains("cafe"));
+        assertFalse(dict.contains("\u65E5"));
+        assertFalse(dict.contains("smile \uD83D\uDE01"));
+        assertFalse(dict.contains("smile"));
+    }
+
+    @Test
+    public void unpairedSurrogatesAreEncodedAsQuestionMarks() throws IOException {
+        // As with String.getBytes(): a lone surrogate is stored (and looked up) as '?'
+        MappedDictionary dict = this.build("a\uD800b", "c\uDC00");
+        assertTrue(dict.contains("a\uD800b"));
+        assertTrue(dict.contains("a?b"));
+        assertTrue(dict.contains("c\uDC00"));
+        assertTrue(dict.contains("c?"));
+        assertTrue(dict.contains("a\uDBFFb"));
+        assertFalse(dict.contains("ab"));
+        assertFalse(dict.contains("a\uD800\uDC00b"));
+    }
+
+    @Test
+    public void containsWordsJoinsWithSpaces() throws IOException {
+        MappedDictionary dict = this.build("new york", "go to", "caf\u00E9 cr\u00E8me", "null");
+        ObjectArrayList<IndexedWord> words = new ObjectArrayList<IndexedWord>();
+        words.add(word("New", "new"));
+        words.add(word("york", "york"));
+        assertFalse(dict.containsWords(words, false));
+        assertTrue(dict.containsWords(words, true));
+
+        words.clear();
+        words.add(word("went", "go"));
+        words.add(word("to", "to"));
+        assertTrue(dict.containsWords(words, true));
+        assertFalse(dict.containsWords(words, false));
+        assertFalse(dict.containsWords(words.subList(0, 1), true));
+
+        words.clear();
+        words.add(word("caf\u00E9", "caf\u00E9"));
+        words.add(word("cr\u00E8me", "cr\u00E8me"));
+        assertTrue(dict.containsWords(words, false));
+
+        // A missing lemma is treated as "null", as when joining the lemmas to a string
+        words.clear();
+        words.add(word("x", null));
+        assertTrue(dict.containsWords(words, true));
+    }
+
+    @Test
+    public void agreesWithTheDictionaryStrings() throws IOException {
+        Path text = this.folder.newFile("dict.txt").toPath();
+        Files.write(text, Arrays.asList("  new york ", "", "cr\u00E8me br\u00FBl\u00E9e", "new york"),
+                StandardCharsets.UTF_8);
+        ObjectArrayList<String> entries = new ObjectArrayList<String>();
+        MappedDictionaryBuilder.readEntries(text.toString(), entries);
+        assertEquals(Arrays.asList("new york", "cr\u00E8me br\u00FBl\u00E9e", "new york"), entries);
+
+        Path file = this.folder.newFile("text" + MappedDictionary.EXTENSION).toPath();
+        assertEquals(2, MappedDictionary.build(entries, file));
+
+        Dictionary dict = new Dictionary();
+        dict.load(file.toString());
+        assertEquals(2, dict.size());
+        assertTrue(dict.contains("new york"));
+        assertTrue(dict.contains("cr\u00E8me br\u00FBl\u00E9e"));
+        assertFalse(dict.contains("york"));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFiles() throws IOException {
+        Path file = this.folder.newFile("other" + MappedDictionary.EXTENSION).toPath();
+        Files.write(file, "not a dictionary".getBytes(StandardCharsets.UTF_8));
+        MappedDictionary.open(file);
+    }
+}
@@ -0,0 +1,207 @@
+package de.uni_mannheim.utils.coreNLP;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.ling.IndexedWord;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import edu.stanford.nlp.semgraph.SemanticGraph;
+import edu.stanford.nlp.semgraph.SemanticGraphEdge;
+import edu.stanford.nlp.trees.EnglishGrammaticalRelations;
+
+/** Tests for storing parses in a {@link ParseCache} and reading them back after reopening it **/
+public class ParseCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /** Pipelines without models, only their configurations matter for the cache **/
+    private static StanfordCoreNLP pipeline;
+    private static StanfordCoreNLP otherPipeline;
+
+    @BeforeClass
+    public static void createPipelines() {
+        Properties props = new Properties();
+        props.setProperty("annotators", "tokenize");
+        pipeline = new StanfordCoreNLP(props);
+        Properties otherProps = new Properties();
+        otherProps.setProperty("annotators", "tokenize");
+        otherProps.setProperty("tokenize.whitespace", "true");
+        otherPipeline = new StanfordCoreNLP(otherProps);
+    }
+
+    private static IndexedWord word(String word, String lemma, String tag, String ner, int index, int begin) {
+        CoreLabel cl = new CoreLabel();
+        cl.setWord(word);
+        cl.setValue(word);
+        cl.setOriginalText(word);
+        cl.setLemma(lemma);
+        cl.setTag(tag);
+        cl.setNER(ner);
+        cl.setIndex(index);
+        cl.setSentIndex(0);
+        cl.setBeginPosition(begin);
+        cl.setEndPosition(begin + word.length());
+        return new IndexedWord(cl);
+    }
+
+    /** The parse of "John loves caf&eacute;s ." (hand-built, with a non-ASCII word and a null NER tag) **/
+    private static SemanticGraph graph() {
+        IndexedWord john = word("John", "John", "NNP", "PERSON", 1, 0);
+        IndexedWord loves = word("loves", "love", "VBZ", null, 2, 5);
+        IndexedWord cafes = word("caf\u00E9s", "caf\u00E9", "NNS", "O", 3, 11);
+        IndexedWord dot = word(".", ".", ".", "O", 4, 17);
+        SemanticGraph sg = new SemanticGraph();
+        sg.addVertex(john);
+        sg.addVertex(loves);
+        sg.addVertex(cafes);
+        sg.addVertex(dot);
+        sg.addEdge(loves, john, EnglishGrammaticalRelations.NOMINAL_SUBJECT, 1.0, false);
+        sg.addEdge(loves, cafes, EnglishGrammaticalRelations.DIRECT_OBJECT, 1.0, false);
+        sg.addEdge(loves, dot, EnglishGrammaticalRelations.PUNCTUATION, 0.5, true);
+        sg.setRoot(loves);
+        return sg;
+    }
+
+    private static void assertSameGraph(SemanticGraph expected, SemanticGraph actual) {
+        assertNotNull(actual);
+        List<IndexedWord> expectedWords = expected.vertexListSorted();
+        List<IndexedWord> actualWords = actual.vertexListSorted();
+        assertEquals(expectedWords.size(), actualWords.size());
+        for (int i = 0; i < expectedWords.size(); i++) {
+            IndexedWord e = expectedWords.get(i);
+            IndexedWord a = actualWords.get(i);
+            assertEquals(e.word(), a.word());
+            assertEquals(e.value(), a.value());
+            assertEquals(e.originalText(), a.originalText());
+            assertEquals(e.lemma(), a.lemma());
+            assertEquals(e.tag(), a.tag());
+            assertEquals(e.ner(), a.ner());
+            assertEquals(e.index(), a.index());
+            assertEquals(e.sentIndex(), a.sentIndex());
+            assertEquals(e.beginPosition(), a.beginPosition());
+            assertEquals(e.endPosition(), a.endPosition());
+        }
+
+        List<SemanticGraphEdge> expectedEdges = expected.edgeListSorted();
+        List<SemanticGraphEdge> actualEdges = actual.edgeListSorted();
+        assertEquals(expectedEdges.size(), actualEdges.size());
+        for (int i = 0; i < expectedEdges.size(); i++) {
+            SemanticGraphEdge e = expectedEdges.get(i);
+            SemanticGraphEdge a = actualEdges.get(i);
+            assertEquals(e.getGovernor().index(), a.getGovernor().index());
+            assertEquals(e.getDependent().index(), a.getDependent().index());
+            assertEquals(e.getRelation(), a.getRelation());
+            assertEquals(e.getWeight(), a.getWeight(), 0.0);
+            assertEquals(e.isExtra(), a.isExtra());
+        }
+        assertEquals(expected.getFirstRoot().index(), actual.getFirstRoot().index());
+        assertEquals(expected.toCompactString(), actual.toCompactString());
+    }
+
+    private static int segments(Path dir) throws IOException {
+        int count = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "parses-*.seg")) {
+            for (Path file: stream) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void roundTripThroughReopening() throws IOException {
+        Path dir = this.folder.newFolder("cache").toPath();
+        String sentence = "John loves caf\u00E9s.";
+        try (ParseCache cache = new ParseCache(dir)) {
+            assertTrue(cache.isWritable());
+            assertNull(cache.get(pipeline, sentence));
+            cache.put(pipeline, sentence, graph());
+            assertEquals(1, cache.size());
+            assertSameGraph(graph(), cache.get(pipeline, sentence));
+            assertEquals(1, cache.getHits());
+            assertEquals(1, cache.getMisses());
+        }
+
+        try (ParseCache cache = new ParseCache(dir)) {
+            assertEquals(1, cache.size());
+            assertSameGraph(graph(), cache.get(pipeline, sentence));
+            // Keyed by the sentence and the pipeline configuration
+            assertNull(cache.get(pipeline, "John loves cafes."));
+            assertNull(cache.get(otherPipeline, sentence));
+            assertEquals(1, cache.getHits());
+            assertEquals(2, cache.getMisses());
+
+            // Appending after reopening
+            cache.put(otherPipeline, sentence, graph());
+            assertEquals(2, cache.size());
+        }
+
+        try (ParseCache cache = new ParseCache(dir)) {
+            assertEquals(2, cache.size());
+            assertSameGraph(graph(), cache.get(otherPipeline, sentence));
+        }
+    }
+
+    @Test
+    public void recordsSpanSeveralSegments() throws IOException {
+        Path dir = this.folder.newFolder("segments").toPath();
+        int sentences = 50;
+        try (ParseCache cache = new ParseCache(dir, 2048)) {
+            for (int i = 0; i < sentences; i++) {
+                cache.put(pipeline, "Sentence " + i, graph());
+            }
+            assertEquals(sentences, cache.size());
+        }
+        assertTrue(segments(dir) > 1);
+
+        try (ParseCache cache = new ParseCache(dir, 2048)) {
+            assertEquals(sentences, cache.size());
+            for (int i = 0; i < sentences; i++) {
+                assertSameGraph(graph(), cache.get(pipeline, "Sentence " + i));
+            }
+            assertNull(cache.get(pipeline, "Sentence " + sentences));
+        }
+    }
+
+    @Test
+    public void recordsLargerThanASegmentAreSkipped() throws IOException {
+        Path dir = this.folder.newFolder("small").toPath();
+        try (ParseCache cache = new ParseCache(dir, 64)) {
+            cache.put(pipeline, "John loves caf\u00E9s.", graph());
+            assertEquals(0, cache.size());
+            assertNull(cache.get(pipeline, "John loves caf\u00E9s."));
+        }
+    }
+
+    @Test
+    public void secondInstanceIsReadOnly() throws IOException {
+        Path dir = this.folder.newFolder("shared").toPath();
+        try (ParseCache writer = new ParseCache(dir)) {
+            writer.put(pipeline, "first", graph());
+            try (ParseCache reader = new ParseCache(dir)) {
+                assertFalse(reader.isWritable());
+                assertSameGraph(graph(), reader.get(pipeline, "first"));
+                reader.put(pipeline, "second", graph());
+                assertEquals(1, reader.size());
+            }
+            writer.put(pipeline, "second", graph());
+            assertEquals(2, writer.size());
+        }
+    }
+}